@@ -0,0 +1,95 @@
+package schnerry.seymouranalyzer.data;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import schnerry.seymouranalyzer.data.BestSetsCalculator.ArmorSet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Incremental best-set maintenance and resumed searches must pick exactly what one full greedy pass picks
+ */
+class BestSetsServiceTest {
+    private static final long SEED = 42;
+    private static final IntConsumer NO_PROGRESS = value -> {};
+
+    private static Path directory;
+
+    @BeforeAll
+    static void useScratchDirectory() throws IOException {
+        directory = Files.createTempDirectory("seymour-bestsets");
+        DataDirectory.set(directory);
+    }
+
+    /**
+     * 6000 pieces hold more valid sets than one pass keeps, so the service works on a bounded prefix
+     */
+    @Test
+    void incrementalUpdatesMatchFullCalculation() {
+        List<ArmorPiece> pieces = SyntheticCollection.generate(6000, SEED, false);
+        CollectionManager collection = CollectionManager.openScratch(directory.resolve("incremental").toFile());
+        BestSetsService service = BestSetsService.getInstance();
+
+        collection.addPieces(pieces.subList(0, 5000));
+        assertSameSets(BestSetsCalculator.calculate(collection.getSnapshot(), NO_PROGRESS),
+            service.update(collection.getSnapshot(), true), "initial build");
+
+        collection.addPieces(pieces.subList(5000, 5600));
+        assertSameSets(BestSetsCalculator.calculate(collection.getSnapshot(), NO_PROGRESS),
+            service.update(collection.getSnapshot(), false), "after adds");
+
+        // Removing members of selected sets forces the graph to fall back on lower candidates
+        Random random = new Random(SEED);
+        List<ArmorSet> selected = service.getResults();
+        for (int i = 0; i < 40 && !selected.isEmpty(); i++) {
+            ArmorSet set = selected.get(random.nextInt(selected.size()));
+            collection.removePiece(set.chestplate.getUuid());
+        }
+        for (int i = 0; i < 300; i++) {
+            collection.removePiece(pieces.get(random.nextInt(5600)).getUuid());
+        }
+        assertSameSets(BestSetsCalculator.calculate(collection.getSnapshot(), NO_PROGRESS),
+            service.update(collection.getSnapshot(), false), "after removals");
+
+        collection.addPieces(pieces.subList(5600, 6000));
+        for (int i = 0; i < 200; i++) {
+            collection.removePiece(pieces.get(random.nextInt(6000)).getUuid());
+        }
+        assertSameSets(BestSetsCalculator.calculate(collection.getSnapshot(), NO_PROGRESS),
+            service.update(collection.getSnapshot(), false), "after mixed changes");
+    }
+
+    @Test
+    void resumedSearchMatchesSinglePass() {
+        CollectionSnapshot snapshot = CollectionSnapshot.build(1, SyntheticCollection.generate(3000, SEED + 1, false), null);
+
+        // A tiny pass size runs out of candidates many times before MAX_SETS sets are picked
+        List<ArmorSet> resumed = BestSetsCalculator.calculate(snapshot, 64, NO_PROGRESS);
+        List<ArmorSet> singlePass = BestSetsCalculator.calculate(snapshot, Integer.MAX_VALUE / 4, NO_PROGRESS);
+
+        assertTrue(singlePass.size() > 0, "collection should contain sets");
+        assertSameSets(singlePass, resumed, "resumed search");
+    }
+
+    private static void assertSameSets(List<ArmorSet> expected, List<ArmorSet> actual, String stage) {
+        assertEquals(describe(expected), describe(actual), stage);
+    }
+
+    private static List<String> describe(List<ArmorSet> sets) {
+        List<String> described = new ArrayList<>(sets.size());
+        for (ArmorSet set : sets) {
+            described.add(set.helmet.getUuid() + " " + set.chestplate.getUuid() + " " + set.leggings.getUuid()
+                + " " + set.boots.getUuid() + " " + set.avgDeltaE);
+        }
+        return described;
+    }
+}
@@ -0,0 +1,91 @@
+package schnerry.seymouranalyzer.data;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A derived target index must list exactly what a fresh build and a brute-force scan list
+ */
+class TargetIndexTest {
+    private static final long SEED = 7;
+
+    private static Path directory;
+
+    @BeforeAll
+    static void useScratchDirectory() throws IOException {
+        directory = Files.createTempDirectory("seymour-targets");
+        DataDirectory.set(directory);
+    }
+
+    @Test
+    void buildMatchesBruteForce() {
+        CollectionSnapshot snapshot = CollectionSnapshot.build(1, SyntheticCollection.generate(3000, SEED, false), null);
+        TargetPalette palette = TargetPalette.current();
+        TargetIndex index = snapshot.getTargetIndex(palette);
+
+        for (int target = 0; target < palette.size(); target++) {
+            assertEquals(bruteForce(snapshot, palette, target), listed(index, target), palette.hex(target));
+        }
+    }
+
+    @Test
+    void derivedIndexMatchesFreshBuild() {
+        List<ArmorPiece> pieces = SyntheticCollection.generate(3600, SEED + 1, false);
+        CollectionManager collection = CollectionManager.openScratch(directory.resolve("derive").toFile());
+        TargetPalette palette = TargetPalette.current();
+
+        collection.addPieces(pieces.subList(0, 3000));
+        collection.getSnapshot().getTargetIndex(palette); // Base the next snapshot's index derives from
+
+        // Adds and removals small enough to derive instead of rebuilding
+        collection.addPieces(pieces.subList(3000, 3600));
+        Random random = new Random(SEED);
+        for (int i = 0; i < 200; i++) {
+            collection.removePiece(pieces.get(random.nextInt(3600)).getUuid());
+        }
+
+        CollectionSnapshot snapshot = collection.getSnapshot();
+        TargetIndex derived = snapshot.getTargetIndex(palette);
+        TargetIndex built = TargetIndex.build(snapshot, palette);
+
+        long total = 0;
+        for (int target = 0; target < palette.size(); target++) {
+            assertEquals(listed(built, target), listed(derived, target), palette.hex(target));
+            total += built.count(target);
+        }
+        assertTrue(total > 0, "collection should be near some targets");
+    }
+
+    private static List<String> listed(TargetIndex index, int target) {
+        List<String> entries = new ArrayList<>();
+        CollectionSnapshot snapshot = index.getSnapshot();
+        index.forEachNear(target, (row, deltaE) -> entries.add(snapshot.uuid(row) + " " + deltaE));
+        return entries;
+    }
+
+    private static List<String> bruteForce(CollectionSnapshot snapshot, TargetPalette palette, int target) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (snapshot.deltaE(row, palette.lab(target)) <= TargetIndex.MAX_DELTA_E) rows.add(row);
+        }
+        rows.sort(Comparator.<Integer>comparingDouble(row -> snapshot.deltaE(row, palette.lab(target)))
+            .thenComparingInt(row -> row));
+
+        List<String> entries = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            entries.add(snapshot.uuid(row) + " " + snapshot.deltaE(row, palette.lab(target)));
+        }
+        return entries;
+    }
+}
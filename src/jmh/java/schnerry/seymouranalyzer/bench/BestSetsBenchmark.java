@@ -0,0 +1,49 @@
+package schnerry.seymouranalyzer.bench;
+
+import org.openjdk.jmh.annotations.*;
+import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.data.BestSetsCalculator;
+import schnerry.seymouranalyzer.data.ChecklistCacheGenerator;
+import schnerry.seymouranalyzer.data.ColorDatabase;
+import schnerry.seymouranalyzer.data.SyntheticCollection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-collection passes on a seeded synthetic collection - best sets and full checklist generation
+ * Single-shot since one pass over 50k pieces takes seconds
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BestSetsBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private List<ArmorPiece> pieces;
+    private Map<String, ArmorPiece> collection;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ColorDatabase.getInstance().rebuildLabCache();
+        pieces = SyntheticCollection.generate(size, 42L);
+        collection = new HashMap<>();
+        pieces.forEach(piece -> collection.put(piece.getUuid(), piece));
+    }
+
+    @Benchmark
+    public List<BestSetsCalculator.ArmorSet> bestSets() {
+        return BestSetsCalculator.calculate(pieces, progress -> {});
+    }
+
+    @Benchmark
+    public int checklistCaches() {
+        return ChecklistCacheGenerator.computeAllCaches(collection);
+    }
+}
@@ -0,0 +1,47 @@
+package schnerry.seymouranalyzer.bench;
+
+import org.openjdk.jmh.annotations.*;
+import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
+import schnerry.seymouranalyzer.data.ColorDatabase;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full match analysis of one piece against the bundled colors.json (targets and fade dyes)
+ * Runs with default settings - no custom colors, fades and high fades enabled
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorAnalyzerBenchmark {
+    private static final int HEX_POOL = 4096;
+    private static final String[] PIECE_NAMES = {
+        "Velvet Top Hat", "Cashmere Jacket", "Satin Trousers", "Oxford Shoes"
+    };
+
+    private ColorAnalyzer analyzer;
+    private String[] hexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        ColorDatabase.getInstance().rebuildLabCache();
+        analyzer = ColorAnalyzer.getInstance();
+
+        Random random = new Random(42);
+        hexes = new String[HEX_POOL];
+        for (int i = 0; i < HEX_POOL; i++) {
+            hexes[i] = String.format("%06X", random.nextInt(0x1000000));
+        }
+    }
+
+    @Benchmark
+    public ColorAnalyzer.AnalysisResult analyzeArmorColor() {
+        cursor = (cursor + 1) & (HEX_POOL - 1);
+        return analyzer.analyzeArmorColor(hexes[cursor], PIECE_NAMES[cursor & 3]);
+    }
+}
@@ -0,0 +1,85 @@
+package schnerry.seymouranalyzer.bench;
+
+import org.openjdk.jmh.annotations.*;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hex to LAB conversion and ΔE, both per call and as a full collection scan
+ * The scan is the inner loop of best-sets and checklist matching, run against precomputed LAB values
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorMathBenchmark {
+    private static final int HEX_POOL = 4096;
+    private static final String QUERY_HEX = "7FB2E5";
+
+    private String[] hexes;
+    private int cursor;
+
+    /**
+     * Precomputed LAB values for a random collection of the given size
+     */
+    @State(Scope.Benchmark)
+    public static class Collection {
+        @Param({"1000", "10000", "50000"})
+        public int size;
+
+        ColorMath.LAB[] labs;
+        ColorMath.LAB query;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(size);
+            labs = new ColorMath.LAB[size];
+            for (int i = 0; i < size; i++) {
+                labs[i] = ColorMath.hexToLab(String.format("%06X", random.nextInt(0x1000000)));
+            }
+            query = ColorMath.hexToLab(QUERY_HEX);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        hexes = new String[HEX_POOL];
+        for (int i = 0; i < HEX_POOL; i++) {
+            hexes[i] = String.format("%06X", random.nextInt(0x1000000));
+        }
+    }
+
+    private String nextHex() {
+        cursor = (cursor + 1) & (HEX_POOL - 1);
+        return hexes[cursor];
+    }
+
+    @Benchmark
+    public ColorMath.LAB hexToLab() {
+        return ColorMath.hexToLab(nextHex());
+    }
+
+    @Benchmark
+    public double deltaEFromHex() {
+        return ColorMath.calculateDeltaE(nextHex(), QUERY_HEX);
+    }
+
+    /**
+     * One query against every piece - ops/s here is queries per second at that collection size
+     */
+    @Benchmark
+    public int scanCollection(Collection collection) {
+        int withinT2 = 0;
+        for (ColorMath.LAB lab : collection.labs) {
+            if (ColorMath.calculateDeltaEWithLab(lab, collection.query) <= 5.0) {
+                withinT2++;
+            }
+        }
+        return withinT2;
+    }
+}
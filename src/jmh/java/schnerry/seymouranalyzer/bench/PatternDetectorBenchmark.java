@@ -0,0 +1,71 @@
+package schnerry.seymouranalyzer.bench;
+
+import org.openjdk.jmh.annotations.*;
+import schnerry.seymouranalyzer.analyzer.PatternDetector;
+import schnerry.seymouranalyzer.config.ConfigSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern and word detection per hex, with word lists far larger than a typical config
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternDetectorBenchmark {
+    private static final int HEX_POOL = 4096;
+    private static final String PATTERN_CHARS = "0123456789ABCDEFX";
+
+    @Param({"100", "1000", "10000"})
+    public int wordCount;
+
+    private PatternDetector detector;
+    private String[] hexes;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(wordCount);
+
+        // Word patterns of 3-6 chars, roughly one in six chars an X wildcard
+        Map<String, String> words = new HashMap<>();
+        while (words.size() < wordCount) {
+            int length = 3 + random.nextInt(4);
+            StringBuilder pattern = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                pattern.append(PATTERN_CHARS.charAt(random.nextInt(PATTERN_CHARS.length())));
+            }
+            words.put("word" + words.size(), pattern.toString());
+        }
+
+        detector = PatternDetector.getInstance();
+        ConfigSnapshot settings = ConfigSnapshot.defaults().withWordList(words);
+        detector.setSettings(() -> settings);
+
+        hexes = new String[HEX_POOL];
+        for (int i = 0; i < HEX_POOL; i++) {
+            hexes[i] = String.format("%06X", random.nextInt(0x1000000));
+        }
+    }
+
+    private String nextHex() {
+        cursor = (cursor + 1) & (HEX_POOL - 1);
+        return hexes[cursor];
+    }
+
+    @Benchmark
+    public String detectPattern() {
+        return detector.detectPattern(nextHex());
+    }
+
+    @Benchmark
+    public String detectWordMatch() {
+        return detector.detectWordMatch(nextHex());
+    }
+}
@@ -14,8 +14,17 @@ public class Seymouranalyzer implements ModInitializer {
 	public void onInitialize() {
 		LOGGER.info("Initializing Seymour Analyzer...");
 
+		// Collection and checklist cache live next to the config
+		schnerry.seymouranalyzer.data.DataDirectory.set(
+			net.fabricmc.loader.api.FabricLoader.getInstance().getConfigDir().resolve(MOD_ID));
+
 		// Load config
-		schnerry.seymouranalyzer.config.ClothConfig.getInstance().load();
+		schnerry.seymouranalyzer.config.ClothConfig config = schnerry.seymouranalyzer.config.ClothConfig.getInstance();
+		config.load();
+
+		// Analyzers read one immutable config snapshot per operation
+		schnerry.seymouranalyzer.analyzer.ColorAnalyzer.getInstance().setSettings(config::getSnapshot);
+		schnerry.seymouranalyzer.analyzer.PatternDetector.getInstance().setSettings(config::getSnapshot);
 
 		// Initialize color database
 		ColorDatabase.getInstance();
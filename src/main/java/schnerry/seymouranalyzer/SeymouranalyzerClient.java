@@ -21,6 +21,10 @@ public class SeymouranalyzerClient implements ClientModInitializer {
         // Initialize scanner
         chestScanner = new ChestScanner();
 
+        // Initialize ItemFrameTracker (registers entity load/unload events)
+        schnerry.seymouranalyzer.scanner.ItemFrameTracker.getInstance();
+        Seymouranalyzer.LOGGER.info("Initialized ItemFrameTracker");
+
         // Initialize BlockHighlighter (registers render events)
         schnerry.seymouranalyzer.render.BlockHighlighter.getInstance();
         Seymouranalyzer.LOGGER.info("Initialized BlockHighlighter");
@@ -45,6 +49,15 @@ public class SeymouranalyzerClient implements ClientModInitializer {
         schnerry.seymouranalyzer.gui.GuiScaleManager.getInstance();
         Seymouranalyzer.LOGGER.info("Initialized GuiScaleManager");
 
+        // Hold back checklist regeneration during scanning/exporting or while browsing a mod GUI, to avoid lag
+        CollectionManager.getInstance().setRegenerationPaused(() ->
+            chestScanner.isScanningEnabled() || chestScanner.isExportingEnabled() ||
+            schnerry.seymouranalyzer.gui.GuiScaleManager.getInstance().isInModGui());
+
+        // Clear InfoBoxRenderer's cached hover data whenever the checklist cache is regenerated
+        schnerry.seymouranalyzer.data.ChecklistCacheGenerator.setOnCachesGenerated(
+            schnerry.seymouranalyzer.render.InfoBoxRenderer::forceCloseHoveredDataCache);
+
         // Generate checklist caches on startup (runs async to avoid blocking)
         new Thread(() -> {
             try {
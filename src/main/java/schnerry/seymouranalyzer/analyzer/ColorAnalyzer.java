@@ -1,19 +1,25 @@
 package schnerry.seymouranalyzer.analyzer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.ColorDatabase;
-import schnerry.seymouranalyzer.config.ClothConfig;
+import schnerry.seymouranalyzer.config.ConfigSnapshot;
 import schnerry.seymouranalyzer.config.MatchPriority;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Analyzes armor colors and finds best matches from the database
  */
 public class ColorAnalyzer {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
     private static ColorAnalyzer INSTANCE;
     private final ColorDatabase colorDatabase;
+    private volatile Supplier<ConfigSnapshot> settings = ConfigSnapshot::defaults;
 
     private ColorAnalyzer() {
         this.colorDatabase = ColorDatabase.getInstance();
@@ -26,6 +32,20 @@ public class ColorAnalyzer {
         return INSTANCE;
     }
 
+    /**
+     * Set where config snapshots are read from - ClothConfig in game, fixed values headless
+     */
+    public void setSettings(Supplier<ConfigSnapshot> settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Config snapshot analysis currently runs against
+     */
+    public ConfigSnapshot getSettings() {
+        return settings.get();
+    }
+
     /**
      * Analyze an armor piece and find best color matches
      *
@@ -42,7 +62,8 @@ public class ColorAnalyzer {
      * many fade dye matches, which was causing issues when showHighFades was enabled.
      */
     public AnalysisResult analyzeArmorColor(String hexcode, String pieceName) {
-        ClothConfig config = ClothConfig.getInstance();
+        // One snapshot for the whole analysis - toggles and priorities can't change mid-way
+        ConfigSnapshot config = settings.get();
         String pieceType = detectPieceType(pieceName);
 
         // Collect matches from each category separately to prevent one category from crowding out others
@@ -52,17 +73,17 @@ public class ColorAnalyzer {
 
         // Check custom colors first if enabled
         if (config.isCustomColorsEnabled()) {
-            customMatches = findMatchesInMap(hexcode, pieceType, config.getCustomColors(), true, false);
+            customMatches = findMatchesInMap(config, hexcode, pieceType, config.getCustomColors(), true, false);
             customMatches.sort(Comparator.comparingDouble(m -> m.deltaE));
         }
 
         // Check target colors
-        normalMatches = findMatchesInMap(hexcode, pieceType, colorDatabase.getTargetColors(), false, false);
+        normalMatches = findMatchesInMap(config, hexcode, pieceType, colorDatabase.getTargetColors(), false, false);
         normalMatches.sort(Comparator.comparingDouble(m -> m.deltaE));
 
         // Check fade dyes if enabled
         if (config.isFadeDyesEnabled()) {
-            fadeMatches = findMatchesInMap(hexcode, pieceType, colorDatabase.getFadeDyes(), false, true);
+            fadeMatches = findMatchesInMap(config, hexcode, pieceType, colorDatabase.getFadeDyes(), false, true);
 
             // Apply high fade filtering - only show T0/T1 fades (deltaE <= 2.0) when disabled
             if (!config.isShowHighFades()) {
@@ -119,9 +140,8 @@ public class ColorAnalyzer {
             MatchPriority p1 = getMatchPriority(m1);
             MatchPriority p2 = getMatchPriority(m2);
 
-            ClothConfig clothConfig = ClothConfig.getInstance();
-            int idx1 = clothConfig.getPriorityIndex(p1);
-            int idx2 = clothConfig.getPriorityIndex(p2);
+            int idx1 = config.getPriorityRank(p1);
+            int idx2 = config.getPriorityRank(p2);
 
             // If priorities are different, sort by priority (lower index = higher priority)
             if (idx1 != idx2) {
@@ -145,7 +165,7 @@ public class ColorAnalyzer {
             .collect(Collectors.toList());
 
         if (top3.isEmpty()) {
-            schnerry.seymouranalyzer.Seymouranalyzer.LOGGER.warn("[ColorAnalyzer] No matches found for hex: " + hexcode);
+            LOGGER.warn("[ColorAnalyzer] No matches found for hex: " + hexcode);
             return null;
         }
 
@@ -155,27 +175,79 @@ public class ColorAnalyzer {
         return new AnalysisResult(best, top3, tier);
     }
 
-    private List<ColorMatch> findMatchesInMap(String itemHex, String pieceType,
+    /**
+     * Build a fully analyzed collection entry (best match, top 3, word and pattern) for a piece
+     * Returns null if no match was found; the caller fills in the chest location
+     */
+    public ArmorPiece analyzePiece(String uuid, String pieceName, int rgb, long timestamp) {
+        String itemHex = String.format("%06X", rgb);
+
+        AnalysisResult analysis = analyzeArmorColor(itemHex, pieceName);
+        if (analysis == null) return null;
+
+        ColorMatch best = analysis.bestMatch;
+        PatternDetector patternDetector = PatternDetector.getInstance();
+
+        // Store top 3 matches
+        List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
+        for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
+            ColorMatch match = analysis.top3Matches.get(m);
+            top3Matches.add(new ArmorPiece.ColorMatch(
+                match.name,
+                match.targetHex,
+                match.deltaE,
+                rgbDistance(rgb, Integer.parseInt(match.targetHex, 16)),
+                match.tier
+            ));
+        }
+
+        ArmorPiece piece = new ArmorPiece();
+        piece.setPieceName(pieceName);
+        piece.setUuid(uuid);
+        piece.setHexcode(itemHex);
+        piece.setSpecialPattern(patternDetector.detectPattern(itemHex));
+        piece.setBestMatch(new ArmorPiece.BestMatch(
+            best.name,
+            best.targetHex,
+            best.deltaE,
+            rgbDistance(rgb, Integer.parseInt(best.targetHex, 16)),
+            analysis.tier
+        ));
+        piece.setAllMatches(top3Matches);
+        piece.setWordMatch(patternDetector.detectWordMatch(itemHex));
+        piece.setTimestamp(timestamp);
+        return piece;
+    }
+
+    /**
+     * Absolute RGB distance between two packed colors
+     */
+    private static int rgbDistance(int rgb1, int rgb2) {
+        return Math.abs(((rgb1 >> 16) & 0xFF) - ((rgb2 >> 16) & 0xFF)) +
+               Math.abs(((rgb1 >> 8) & 0xFF) - ((rgb2 >> 8) & 0xFF)) +
+               Math.abs((rgb1 & 0xFF) - (rgb2 & 0xFF));
+    }
+
+    private List<ColorMatch> findMatchesInMap(ConfigSnapshot config, String itemHex, String pieceType,
                                                Map<String, String> colorMap,
                                                boolean isCustom, boolean isFade) {
-        ClothConfig config = ClothConfig.getInstance();
         List<ColorMatch> matches = new ArrayList<>();
         ColorMath.LAB itemLab = colorDatabase.getLabForHex(itemHex);
+        boolean pieceSpecific = config.isPieceSpecificEnabled();
+        boolean skipThreePiece = !config.isThreePieceSetsEnabled() && "helmet".equals(pieceType);
 
         for (Map.Entry<String, String> entry : colorMap.entrySet()) {
             String colorName = entry.getKey();
             String targetHex = entry.getValue();
 
             // Piece-specific filtering
-            if (config.isPieceSpecificEnabled() && !canMatchPiece(colorName, pieceType)) {
+            if (pieceSpecific && !canMatchPiece(colorName, pieceType)) {
                 continue;
             }
 
             // 3-piece set filtering: skip 3p entries on helmets when disabled
-            if (!config.isThreePieceSetsEnabled() && pieceType != null && pieceType.equals("helmet")) {
-                if (colorName.contains("3p")) {
-                    continue;
-                }
+            if (skipThreePiece && colorName.contains("3p")) {
+                continue;
             }
 
             ColorMath.LAB targetLab = colorDatabase.getLabForHex(targetHex);
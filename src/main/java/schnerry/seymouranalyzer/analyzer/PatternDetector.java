@@ -1,16 +1,18 @@
 package schnerry.seymouranalyzer.analyzer;
 
-import schnerry.seymouranalyzer.config.ClothConfig;
+import schnerry.seymouranalyzer.config.ConfigSnapshot;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Detects special hex patterns (paired, repeating, palindrome, AxBxCx) and word matches
  */
 public class PatternDetector {
     private static PatternDetector INSTANCE;
+    private volatile Supplier<ConfigSnapshot> settings = ConfigSnapshot::defaults;
 
     private PatternDetector() {}
 
@@ -21,6 +23,13 @@ public class PatternDetector {
         return INSTANCE;
     }
 
+    /**
+     * Set where the word list and toggle are read from - ClothConfig in game, fixed values headless
+     */
+    public void setSettings(Supplier<ConfigSnapshot> settings) {
+        this.settings = settings;
+    }
+
     /**
      * Detect special hex pattern
      * Returns: "paired", "repeating", "palindrome", "axbxcx", or null
@@ -59,31 +68,22 @@ public class PatternDetector {
      * Prioritizes longer word matches over shorter ones
      */
     public String detectWordMatch(String hex) {
-        ClothConfig config = ClothConfig.getInstance();
+        ConfigSnapshot config = settings.get();
         if (!config.isWordsEnabled()) return null;
 
         hex = hex.toUpperCase();
-        Map<String, String> wordList = config.getWordList();
 
-        String longestMatch = null;
-        int longestMatchLength = 0;
+        // Compiled words are sorted longest first, so the first hit is the longest match
+        for (ConfigSnapshot.Word word : config.getWords()) {
+            // All-wildcard patterns never count as a match
+            if (word.effectiveLength == 0) break;
 
-        for (Map.Entry<String, String> entry : wordList.entrySet()) {
-            String word = entry.getKey();
-            String pattern = entry.getValue().toUpperCase();
-
-            if (matchesPattern(hex, pattern)) {
-                // Count non-wildcard characters in the pattern to determine "length"
-                int effectiveLength = pattern.replace("X", "").length();
-
-                if (effectiveLength > longestMatchLength) {
-                    longestMatch = word;
-                    longestMatchLength = effectiveLength;
-                }
+            if (matchesPattern(hex, word.pattern, word.hasWildcard)) {
+                return word.word;
             }
         }
 
-        return longestMatch;
+        return null;
     }
 
     /**
@@ -91,9 +91,9 @@ public class PatternDetector {
      * Supports patterns shorter than hex (substring matching)
      * Matches old ChatTriggers behavior: checks if pattern exists anywhere in hex
      */
-    private boolean matchesPattern(String hex, String pattern) {
+    private boolean matchesPattern(String hex, String pattern, boolean hasWildcard) {
         // If pattern has wildcards (X), use sliding window with regex-style matching
-        if (pattern.contains("X")) {
+        if (hasWildcard) {
             int patternLen = pattern.length();
             // Try all possible positions in the hex where this pattern could fit
             for (int startIdx = 0; startIdx + patternLen <= hex.length(); startIdx++) {
@@ -2,6 +2,7 @@ package schnerry.seymouranalyzer.command;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
@@ -12,8 +13,12 @@ import net.minecraft.text.Text;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.CollectionStats;
 import schnerry.seymouranalyzer.data.ColorDatabase;
+import schnerry.seymouranalyzer.debug.LoadTest;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 import schnerry.seymouranalyzer.gui.*;
+import schnerry.seymouranalyzer.scanner.ItemFrameTracker;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.ArrayList;
@@ -132,10 +137,16 @@ public class SeymourCommand {
 
             // /seymour search <hex> - search for pieces with specific hex code
             // /seymour search clear - clear search highlights
+            // /seymour search closest <hex> [count] - list the pieces closest to a hex by ΔE
             .then(literal("search")
                 .executes(SeymourCommand::showSearchHelp)
                 .then(literal("clear")
                     .executes(SeymourCommand::clearSearch))
+                .then(literal("closest")
+                    .then(argument("target", StringArgumentType.word())
+                        .executes(ctx -> searchClosest(ctx, 10))
+                        .then(argument("count", IntegerArgumentType.integer(1, 50))
+                            .executes(ctx -> searchClosest(ctx, IntegerArgumentType.getInteger(ctx, "count"))))))
                 .then(argument("hex", StringArgumentType.greedyString())
                     .executes(SeymourCommand::searchPieces)))
 
@@ -145,8 +156,24 @@ public class SeymourCommand {
                     .executes(SeymourCommand::compareHexes)))
 
             // /seymour debug - log all data from next hovered item
+            // /seymour debug loadtest <n> - time heavy paths on a synthetic scratch collection
             .then(literal("debug")
-                .executes(SeymourCommand::enableDebugMode))
+                .executes(SeymourCommand::enableDebugMode)
+                .then(literal("loadtest")
+                    .then(argument("count", IntegerArgumentType.integer(1, 200000))
+                        .executes(ctx -> runLoadTest(ctx, IntegerArgumentType.getInteger(ctx, "count"))))))
+
+            // /seymour perf [on|off|reset|overlay] - render hook timings
+            .then(literal("perf")
+                .executes(SeymourCommand::showPerf)
+                .then(literal("on")
+                    .executes(ctx -> setPerfEnabled(ctx, true)))
+                .then(literal("off")
+                    .executes(ctx -> setPerfEnabled(ctx, false)))
+                .then(literal("reset")
+                    .executes(SeymourCommand::resetPerf))
+                .then(literal("overlay")
+                    .executes(SeymourCommand::togglePerfOverlay)))
 
             // /seymour rebuild <type> - rebuild collection data
             .then(literal("rebuild")
@@ -177,6 +204,8 @@ public class SeymourCommand {
         ctx.getSource().sendFeedback(Text.literal("§2/seymour toggle <option> §7- Toggle settings"));
         ctx.getSource().sendFeedback(Text.literal("§4/seymour clear §7- Clear all caches & collection"));
         ctx.getSource().sendFeedback(Text.literal("§8/seymour stats §7- Print the amount of T1/T2/Dupes"));
+        ctx.getSource().sendFeedback(Text.literal("§8/seymour perf [on|off|reset|overlay] §7- Render hook timings"));
+        ctx.getSource().sendFeedback(Text.literal("§8/seymour debug loadtest <n> §7- Time heavy paths on n synthetic pieces"));
 
         int size = CollectionManager.getInstance().size();
         ctx.getSource().sendFeedback(Text.literal("§7Collection: §e" + size + " §7pieces"));
@@ -184,6 +213,55 @@ public class SeymourCommand {
         return 1;
     }
 
+    private static int showPerf(CommandContext<FabricClientCommandSource> ctx) {
+        ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Perf timing: " +
+            (PerfMonitor.isEnabled() ? "§aON" : "§cOFF") + " §7| Overlay: " +
+            (PerfMonitor.isOverlayEnabled() ? "§aON" : "§cOFF")));
+
+        for (PerfMonitor.Stats stats : PerfMonitor.getStats()) {
+            if (stats.calls == 0) {
+                ctx.getSource().sendFeedback(Text.literal("§7" + stats.name + ": §8no samples"));
+                continue;
+            }
+            ctx.getSource().sendFeedback(Text.literal("§7" + stats.name + " §8(" + stats.calls + " calls)§7: " +
+                "mean §f" + PerfMonitor.formatMicros(stats.mean) +
+                " §7p50 §f" + PerfMonitor.formatMicros(stats.p50) +
+                " §7p95 §e" + PerfMonitor.formatMicros(stats.p95) +
+                " §7p99 §c" + PerfMonitor.formatMicros(stats.p99) +
+                " §7max §c" + PerfMonitor.formatMicros(stats.max)));
+        }
+
+        ItemFrameTracker frames = ItemFrameTracker.getInstance();
+        ctx.getSource().sendFeedback(Text.literal("§7Tracked item frames: §e" + frames.getTrackedFrameCount() +
+            " §7(§e" + frames.getSeymourFrameCount() + " §7Seymour)"));
+
+        if (!PerfMonitor.isEnabled()) {
+            ctx.getSource().sendFeedback(Text.literal("§7Use §e/seymour perf on §7to start timing"));
+        }
+        return 1;
+    }
+
+    private static int setPerfEnabled(CommandContext<FabricClientCommandSource> ctx, boolean enabled) {
+        PerfMonitor.setEnabled(enabled);
+        ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Perf timing " +
+            (enabled ? "§aenabled" : "§cdisabled")));
+        return 1;
+    }
+
+    private static int resetPerf(CommandContext<FabricClientCommandSource> ctx) {
+        PerfMonitor.reset();
+        ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Perf timings reset"));
+        return 1;
+    }
+
+    private static int togglePerfOverlay(CommandContext<FabricClientCommandSource> ctx) {
+        boolean enabled = !PerfMonitor.isOverlayEnabled();
+        PerfMonitor.setOverlayEnabled(enabled);
+        ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Perf overlay " +
+            (enabled ? "§aenabled" : "§cdisabled")));
+        return 1;
+    }
+
     private static int toggleOption(CommandContext<FabricClientCommandSource> ctx) {
         String option = StringArgumentType.getString(ctx, "option").toLowerCase();
         schnerry.seymouranalyzer.config.ClothConfig config = schnerry.seymouranalyzer.config.ClothConfig.getInstance();
@@ -329,6 +407,7 @@ public class SeymourCommand {
     private static int showSearchHelp(CommandContext<FabricClientCommandSource> ctx) {
         ctx.getSource().sendFeedback(Text.literal("§c[Seymour] §7Usage: §f/seymour search <hex>"));
         ctx.getSource().sendFeedback(Text.literal("  §f/seymour search <hex> §8- Search for pieces with hex"));
+        ctx.getSource().sendFeedback(Text.literal("  §f/seymour search closest <hex> [count] §8- List closest pieces by ΔE"));
         ctx.getSource().sendFeedback(Text.literal("  §f/seymour search clear §8- Clear search highlights"));
         ctx.getSource().sendFeedback(Text.literal("§7Example: §f/seymour search FF5733"));
         return 0;
@@ -504,73 +583,20 @@ public class SeymourCommand {
             return 1;
         }
 
-        // Count pieces by tier
-        int t0Count = 0; // T1< (ΔE < 1.0)
-        int t1Count = 0; // T1 (1.0 ≤ ΔE < 2.0)
-        int t2Count = 0; // T2 (2.0 ≤ ΔE < 3.0)
-        int t3PlusCount = 0; // T3+ (ΔE ≥ 3.0)
-        int noAnalysisCount = 0;
-
-        // Count fade dyes and custom colors
-        int fadeDyeCount = 0;
-        int customColorCount = 0;
-        int normalColorCount = 0;
-
-        // Count patterns and words
-        int withPattern = 0;
-        int withWord = 0;
-
-        // Track duplicates (same hex, different UUID)
-        java.util.Map<String, Integer> hexCounts = new java.util.HashMap<>();
-
-        for (var piece : collection.values()) {
-            // Count by tier
-            var bestMatch = piece.getBestMatch();
-            if (bestMatch != null) {
-                int tier = bestMatch.tier;
-                if (tier == 0) t0Count++;
-                else if (tier == 1) t1Count++;
-                else if (tier == 2) t2Count++;
-                else t3PlusCount++;
-
-                // Count by type
-                if (bestMatch.colorName != null) {
-                    if (bestMatch.colorName.contains(" - Stage ")) {
-                        fadeDyeCount++;
-                    } else if (ClothConfig.getInstance().getCustomColors().containsKey(bestMatch.colorName)) {
-                        customColorCount++;
-                    } else {
-                        normalColorCount++;
-                    }
-                }
-            } else {
-                noAnalysisCount++;
-            }
-
-            // Count patterns
-            if (piece.getSpecialPattern() != null && !piece.getSpecialPattern().isEmpty()) {
-                withPattern++;
-            }
-
-            // Count words
-            if (piece.getWordMatch() != null && !piece.getWordMatch().isEmpty()) {
-                withWord++;
-            }
-
-            // Track hex for duplicate detection
-            String hex = piece.getHexcode().toUpperCase();
-            hexCounts.put(hex, hexCounts.getOrDefault(hex, 0) + 1);
-        }
-
-        // Count duplicates
-        int dupeHexCount = 0;
-        int totalDupes = 0;
-        for (var entry : hexCounts.entrySet()) {
-            if (entry.getValue() > 1) {
-                dupeHexCount++;
-                totalDupes += entry.getValue();
-            }
-        }
+        // Counts are cached per collection generation/config version
+        CollectionStats stats = CollectionStats.get();
+        int t0Count = stats.tier0Count;
+        int t1Count = stats.tier1Count;
+        int t2Count = stats.tier2Count;
+        int t3PlusCount = stats.tier3PlusCount;
+        int noAnalysisCount = stats.noAnalysisCount;
+        int fadeDyeCount = stats.fadeDyeCount;
+        int customColorCount = stats.customColorCount;
+        int normalColorCount = stats.normalColorCount;
+        int withPattern = stats.withPattern;
+        int withWord = stats.withWord;
+        int dupeHexCount = stats.dupeHexCount;
+        int totalDupes = stats.totalDupes;
 
         // Display statistics
         ctx.getSource().sendFeedback(Text.literal("§8§m----------------------------------------------------"));
@@ -824,15 +850,15 @@ public class SeymourCommand {
                 return 0;
             }
 
-            // Search for pieces with these hex codes
-            var collection = CollectionManager.getInstance().getCollection();
+            // Search for pieces with these hex codes via the LAB index (one cell lookup per hex)
+            var labIndex = CollectionManager.getInstance().getSnapshot().getLabIndex();
             java.util.List<schnerry.seymouranalyzer.data.ArmorPiece> foundPieces = new java.util.ArrayList<>();
             java.util.Set<String> foundChestLocations = new java.util.HashSet<>();
             java.util.List<net.minecraft.util.math.BlockPos> blocksToHighlight = new java.util.ArrayList<>();
 
-            for (var piece : collection.values()) {
-                String pieceHex = piece.getHexcode().toUpperCase();
-                if (validHexes.contains(pieceHex)) {
+            for (String validHex : new java.util.LinkedHashSet<>(validHexes)) {
+                for (var hit : labIndex.exact(validHex)) {
+                    var piece = hit.piece;
                     foundPieces.add(piece);
 
                     // Track chest location if available and add to highlighter
@@ -923,6 +949,32 @@ public class SeymourCommand {
         return 1;
     }
 
+    private static int searchClosest(CommandContext<FabricClientCommandSource> ctx, int count) {
+        String hex = StringArgumentType.getString(ctx, "target").replace("#", "").toUpperCase();
+        if (!hex.matches("^[0-9A-F]{6}$")) {
+            ctx.getSource().sendError(Text.literal("§c[Seymour] §7Invalid hex code: " + hex));
+            return 0;
+        }
+
+        var results = CollectionManager.getInstance().getSnapshot().getLabIndex().nearest(hex, count);
+
+        ctx.getSource().sendFeedback(Text.literal("§8§m----------------------------------------------------"));
+        ctx.getSource().sendFeedback(Text.literal("§a§l[Seymour Analyzer] §7- Closest to §f#" + hex));
+
+        if (results.isEmpty()) {
+            ctx.getSource().sendFeedback(Text.literal("§c§lNo pieces in collection!"));
+        } else {
+            for (var hit : results) {
+                String color = hit.deltaE < 1 ? "§c" : hit.deltaE < 2 ? "§d" : hit.deltaE < 5 ? "§6" : "§7";
+                ctx.getSource().sendFeedback(Text.literal("  " + color + "ΔE " + String.format("%.2f", hit.deltaE) +
+                    " §7" + hit.piece.getPieceName() + " §f#" + hit.piece.getHexcode() + " §8(abs " + hit.absoluteDistance + ")"));
+            }
+        }
+
+        ctx.getSource().sendFeedback(Text.literal("§8§m----------------------------------------------------"));
+        return 1;
+    }
+
     private static int clearSearch(CommandContext<FabricClientCommandSource> ctx) {
         try {
             schnerry.seymouranalyzer.render.BlockHighlighter.getInstance().clearAll();
@@ -934,6 +986,16 @@ public class SeymourCommand {
         return 1;
     }
 
+    private static int runLoadTest(CommandContext<FabricClientCommandSource> ctx, int count) {
+        if (!LoadTest.start(count)) {
+            ctx.getSource().sendFeedback(Text.literal("§c[Seymour Analyzer] A load test is already running!"));
+            return 0;
+        }
+        ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Running load test with §e" + count +
+            " §7synthetic pieces §8(scratch collection, your collection is untouched)"));
+        return 1;
+    }
+
     private static int enableDebugMode(CommandContext<FabricClientCommandSource> ctx) {
         schnerry.seymouranalyzer.debug.ItemDebugger.getInstance().enable();
         ctx.getSource().sendFeedback(Text.literal("§a[Seymour Debug] §eEnabled! §7Hover over any item to log ALL data to console."));
@@ -963,6 +1025,8 @@ public class SeymourCommand {
                 var keys = new java.util.ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                // Edit copies and swap them in at the end - the saver thread may be serializing the originals
+                var edited = new java.util.ArrayList<schnerry.seymouranalyzer.data.ArmorPiece>();
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Starting word rebuild for §e" + total + " §7pieces..."));
 
@@ -974,7 +1038,9 @@ public class SeymourCommand {
 
                     if (piece != null && piece.getHexcode() != null) {
                         String wordMatch = detector.detectWordMatch(piece.getHexcode());
-                        piece.setWordMatch(wordMatch);
+                        var copy = piece.copy();
+                        copy.setWordMatch(wordMatch);
+                        edited.add(copy);
                         updated++;
                     }
 
@@ -986,7 +1052,7 @@ public class SeymourCommand {
                 }
 
                 ctx.getSource().sendFeedback(Text.literal("§7Saving collection..."));
-                CollectionManager.getInstance().save();
+                CollectionManager.getInstance().replacePieces(edited);
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Rebuilt word matches for §e" + updated + " §7pieces!"));
 
@@ -1010,6 +1076,7 @@ public class SeymourCommand {
                 var keys = new java.util.ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                var edited = new java.util.ArrayList<schnerry.seymouranalyzer.data.ArmorPiece>();
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Starting analysis rebuild for §e" + total + " §7pieces..."));
 
@@ -1033,7 +1100,9 @@ public class SeymourCommand {
                                               Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
 
                             // Update piece with best match data
-                            piece.setBestMatch(best.name, best.targetHex, best.deltaE, absoluteDist, analysis.tier);
+                            var copy = piece.copy();
+                            copy.setBestMatch(best.name, best.targetHex, best.deltaE, absoluteDist, analysis.tier);
+                            edited.add(copy);
                             updated++;
                         }
                     }
@@ -1045,7 +1114,7 @@ public class SeymourCommand {
                 }
 
                 ctx.getSource().sendFeedback(Text.literal("§7Saving collection..."));
-                CollectionManager.getInstance().save();
+                CollectionManager.getInstance().replacePieces(edited);
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Rebuilt analysis for §e" + updated + " §7pieces!"));
                 ctx.getSource().sendFeedback(Text.literal("§7This applied current toggle settings (fade/3p/sets/custom)"));
@@ -1070,6 +1139,7 @@ public class SeymourCommand {
                 var keys = new java.util.ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                var edited = new java.util.ArrayList<schnerry.seymouranalyzer.data.ArmorPiece>();
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Starting matches rebuild for §e" + total + " §7pieces..."));
 
@@ -1100,7 +1170,9 @@ public class SeymourCommand {
                                 ));
                             }
 
-                            piece.setAllMatches(top3);
+                            var copy = piece.copy();
+                            copy.setAllMatches(top3);
+                            edited.add(copy);
                             updated++;
                         }
                     }
@@ -1112,7 +1184,7 @@ public class SeymourCommand {
                 }
 
                 ctx.getSource().sendFeedback(Text.literal("§7Saving collection..."));
-                CollectionManager.getInstance().save();
+                CollectionManager.getInstance().replacePieces(edited);
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Rebuilt match data for §e" + updated + " §7pieces!"));
 
@@ -1136,6 +1208,7 @@ public class SeymourCommand {
                 var keys = new java.util.ArrayList<>(collection.keySet());
                 int total = keys.size();
                 int updated = 0;
+                var edited = new java.util.ArrayList<schnerry.seymouranalyzer.data.ArmorPiece>();
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Starting pattern rebuild for §e" + total + " §7pieces..."));
 
@@ -1147,7 +1220,9 @@ public class SeymourCommand {
 
                     if (piece != null && piece.getHexcode() != null) {
                         String pattern = detector.detectPattern(piece.getHexcode());
-                        piece.setSpecialPattern(pattern);
+                        var copy = piece.copy();
+                        copy.setSpecialPattern(pattern);
+                        edited.add(copy);
                         updated++;
                     }
 
@@ -1158,7 +1233,7 @@ public class SeymourCommand {
                 }
 
                 ctx.getSource().sendFeedback(Text.literal("§7Saving collection..."));
-                CollectionManager.getInstance().save();
+                CollectionManager.getInstance().replacePieces(edited);
 
                 ctx.getSource().sendFeedback(Text.literal("§a[Seymour Analyzer] §7Rebuilt pattern data for §e" + updated + " §7pieces!"));
 
@@ -52,6 +52,12 @@ public class ClothConfig {
     private Map<String, String> customColors = new HashMap<>();
     private Map<String, String> wordList = new HashMap<>();
 
+    // Bumped whenever settings or custom data change so derived caches can key on it
+    private volatile long version = 0;
+
+    // Immutable view of the current version, rebuilt lazily by getSnapshot()
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.defaults();
+
     private ClothConfig() {
         configDir = new File(FabricLoader.getInstance().getConfigDir().toFile(), "seymouranalyzer");
         configFile = new File(configDir, "config.json");
@@ -135,9 +141,12 @@ public class ClothConfig {
         } catch (Exception e) {
             Seymouranalyzer.LOGGER.error("Failed to load data", e);
         }
+
+        version++;
     }
 
     public void save() {
+        version++;
         try {
             JsonObject json = new JsonObject();
             json.addProperty("infoBoxEnabled", infoBoxEnabled);
@@ -170,6 +179,7 @@ public class ClothConfig {
     }
 
     public void saveData() {
+        version++;
         try {
             JsonObject json = new JsonObject();
 
@@ -196,6 +206,7 @@ public class ClothConfig {
 
     public void setInfoBoxEnabled(boolean infoBoxEnabled) {
         this.infoBoxEnabled = infoBoxEnabled;
+        version++;
     }
 
     public boolean isHighlightsEnabled() {
@@ -204,6 +215,7 @@ public class ClothConfig {
 
     public void setHighlightsEnabled(boolean highlightsEnabled) {
         this.highlightsEnabled = highlightsEnabled;
+        version++;
     }
 
     public boolean isWordsEnabled() {
@@ -212,6 +224,7 @@ public class ClothConfig {
 
     public void setWordsEnabled(boolean wordsEnabled) {
         this.wordsEnabled = wordsEnabled;
+        version++;
     }
 
     public boolean isPatternsEnabled() {
@@ -220,6 +233,7 @@ public class ClothConfig {
 
     public void setPatternsEnabled(boolean patternsEnabled) {
         this.patternsEnabled = patternsEnabled;
+        version++;
     }
 
     public boolean isDupesEnabled() {
@@ -228,6 +242,7 @@ public class ClothConfig {
 
     public void setDupesEnabled(boolean dupesEnabled) {
         this.dupesEnabled = dupesEnabled;
+        version++;
     }
 
     // Getters and Setters for Filter Options
@@ -237,6 +252,7 @@ public class ClothConfig {
 
     public void setFadeDyesEnabled(boolean fadeDyesEnabled) {
         this.fadeDyesEnabled = fadeDyesEnabled;
+        version++;
     }
 
     public boolean isCustomColorsEnabled() {
@@ -245,6 +261,7 @@ public class ClothConfig {
 
     public void setCustomColorsEnabled(boolean customColorsEnabled) {
         this.customColorsEnabled = customColorsEnabled;
+        version++;
     }
 
     public boolean isShowHighFades() {
@@ -253,6 +270,7 @@ public class ClothConfig {
 
     public void setShowHighFades(boolean showHighFades) {
         this.showHighFades = showHighFades;
+        version++;
     }
 
     public boolean isThreePieceSetsEnabled() {
@@ -261,6 +279,7 @@ public class ClothConfig {
 
     public void setThreePieceSetsEnabled(boolean threePieceSetsEnabled) {
         this.threePieceSetsEnabled = threePieceSetsEnabled;
+        version++;
     }
 
     public boolean isPieceSpecificEnabled() {
@@ -269,6 +288,7 @@ public class ClothConfig {
 
     public void setPieceSpecificEnabled(boolean pieceSpecificEnabled) {
         this.pieceSpecificEnabled = pieceSpecificEnabled;
+        version++;
     }
 
     // Getters and Setters for Scanning
@@ -278,6 +298,7 @@ public class ClothConfig {
 
     public void setItemFramesEnabled(boolean itemFramesEnabled) {
         this.itemFramesEnabled = itemFramesEnabled;
+        version++;
     }
 
     // InfoBox Position
@@ -306,6 +327,38 @@ public class ClothConfig {
         return wordList;
     }
 
+    /**
+     * Config version - changes on every load/save and toggle change, so callers can detect edits cheaply
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Immutable snapshot of the current settings - read once per operation on hot paths
+     * Rebuilt on the first call after the version moves; cheap otherwise (one volatile read)
+     */
+    public ConfigSnapshot getSnapshot() {
+        ConfigSnapshot current = snapshot;
+        long currentVersion = version;
+        if (current.getVersion() == currentVersion) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            currentVersion = version;
+            if (current.getVersion() != currentVersion) {
+                current = new ConfigSnapshot(currentVersion,
+                    infoBoxEnabled, highlightsEnabled, wordsEnabled, patternsEnabled, dupesEnabled,
+                    fadeDyesEnabled, customColorsEnabled, showHighFades, threePieceSetsEnabled, pieceSpecificEnabled,
+                    itemFramesEnabled, matchPriorities, customColors, wordList);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
     // Match Priorities
     public java.util.List<MatchPriority> getMatchPriorities() {
         return matchPriorities;
@@ -313,6 +366,7 @@ public class ClothConfig {
 
     public void setMatchPriorities(java.util.List<MatchPriority> matchPriorities) {
         this.matchPriorities = matchPriorities;
+        version++;
         // Clear highlight cache so items re-calculate with new priorities
         schnerry.seymouranalyzer.render.ItemSlotHighlighter.getInstance().clearCache();
     }
@@ -322,29 +376,14 @@ public class ClothConfig {
      * Returns -1 if not found
      */
     public int getPriorityIndex(MatchPriority priority) {
-        return matchPriorities.indexOf(priority);
+        return getSnapshot().getPriorityRank(priority);
     }
 
     /**
-     * Default priority order
-     * Search > Dupe > Word > Pattern > Custom T1/T2 > Normal T0/T1/T2 > Fade T0/T1/T2
-     * Note: Custom colors only have T1 and T2 (no T0)
+     * Default priority order - see MatchPriority.defaultOrder()
      */
     public static java.util.List<MatchPriority> getDefaultMatchPriorities() {
-        return java.util.Arrays.asList(
-            MatchPriority.SEARCH,
-            MatchPriority.DUPE,
-            MatchPriority.WORD,
-            MatchPriority.PATTERN,
-            MatchPriority.CUSTOM_T1,
-            MatchPriority.CUSTOM_T2,
-            MatchPriority.NORMAL_T0,
-            MatchPriority.NORMAL_T1,
-            MatchPriority.NORMAL_T2,
-            MatchPriority.FADE_T0,
-            MatchPriority.FADE_T1,
-            MatchPriority.FADE_T2
-        );
+        return MatchPriority.defaultOrder();
     }
 }
 
@@ -0,0 +1,204 @@
+package schnerry.seymouranalyzer.config;
+
+import java.util.*;
+
+/**
+ * Immutable view of the config at one version, published by ClothConfig.getSnapshot()
+ * Hot paths read one snapshot per operation instead of going back to ClothConfig for every toggle,
+ * and caches can key on getVersion()
+ *
+ * Priorities are a rank array indexed by MatchPriority.ordinal(), and the word list is pre-compiled
+ * (uppercased, sorted longest first) so word detection can stop at the first hit
+ */
+public final class ConfigSnapshot {
+    private static final ConfigSnapshot DEFAULTS = new ConfigSnapshot(0,
+        true, true, true, true, true,
+        true, true, true, true, false,
+        false, MatchPriority.defaultOrder(), Map.of(), Map.of());
+
+    private final long version;
+
+    private final boolean infoBoxEnabled;
+    private final boolean highlightsEnabled;
+    private final boolean wordsEnabled;
+    private final boolean patternsEnabled;
+    private final boolean dupesEnabled;
+    private final boolean fadeDyesEnabled;
+    private final boolean customColorsEnabled;
+    private final boolean showHighFades;
+    private final boolean threePieceSetsEnabled;
+    private final boolean pieceSpecificEnabled;
+    private final boolean itemFramesEnabled;
+
+    private final List<MatchPriority> matchPriorities;
+    private final int[] priorityRank;
+    private final Map<String, String> customColors;
+    private final Map<String, String> wordList;
+    private final Word[] words;
+
+    /**
+     * One word-list entry, ready for matching
+     */
+    public static final class Word {
+        public final String word;
+        public final String pattern;
+        public final int effectiveLength; // Non-wildcard characters - longer wins
+        public final boolean hasWildcard;
+
+        Word(String word, String pattern) {
+            this.word = word;
+            this.pattern = pattern.toUpperCase();
+            this.hasWildcard = this.pattern.indexOf('X') >= 0;
+            this.effectiveLength = this.pattern.replace("X", "").length();
+        }
+    }
+
+    ConfigSnapshot(long version,
+                   boolean infoBoxEnabled, boolean highlightsEnabled, boolean wordsEnabled,
+                   boolean patternsEnabled, boolean dupesEnabled,
+                   boolean fadeDyesEnabled, boolean customColorsEnabled, boolean showHighFades,
+                   boolean threePieceSetsEnabled, boolean pieceSpecificEnabled,
+                   boolean itemFramesEnabled,
+                   List<MatchPriority> matchPriorities,
+                   Map<String, String> customColors, Map<String, String> wordList) {
+        this.version = version;
+        this.infoBoxEnabled = infoBoxEnabled;
+        this.highlightsEnabled = highlightsEnabled;
+        this.wordsEnabled = wordsEnabled;
+        this.patternsEnabled = patternsEnabled;
+        this.dupesEnabled = dupesEnabled;
+        this.fadeDyesEnabled = fadeDyesEnabled;
+        this.customColorsEnabled = customColorsEnabled;
+        this.showHighFades = showHighFades;
+        this.threePieceSetsEnabled = threePieceSetsEnabled;
+        this.pieceSpecificEnabled = pieceSpecificEnabled;
+        this.itemFramesEnabled = itemFramesEnabled;
+
+        this.matchPriorities = List.copyOf(matchPriorities);
+        this.priorityRank = new int[MatchPriority.values().length];
+        Arrays.fill(priorityRank, -1);
+        for (int i = 0; i < this.matchPriorities.size(); i++) {
+            MatchPriority priority = this.matchPriorities.get(i);
+            if (priorityRank[priority.ordinal()] == -1) {
+                priorityRank[priority.ordinal()] = i;
+            }
+        }
+
+        // Custom hexes are stored uppercased so lookups don't have to normalize
+        Map<String, String> colors = new LinkedHashMap<>();
+        customColors.forEach((name, hex) -> colors.put(name, hex.toUpperCase()));
+        this.customColors = Collections.unmodifiableMap(colors);
+
+        this.wordList = Collections.unmodifiableMap(new LinkedHashMap<>(wordList));
+        List<Word> compiled = new ArrayList<>(wordList.size());
+        wordList.forEach((word, pattern) -> compiled.add(new Word(word, pattern)));
+        // Stable sort keeps iteration order for ties, same as the old strictly-longer scan
+        compiled.sort((a, b) -> Integer.compare(b.effectiveLength, a.effectiveLength));
+        this.words = compiled.toArray(new Word[0]);
+    }
+
+    /**
+     * Settings of a fresh config with no custom colors or words - used headless and before init
+     */
+    public static ConfigSnapshot defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Copy of this snapshot with a different word list (headless callers)
+     */
+    public ConfigSnapshot withWordList(Map<String, String> newWordList) {
+        return new ConfigSnapshot(version, infoBoxEnabled, highlightsEnabled, wordsEnabled, patternsEnabled,
+            dupesEnabled, fadeDyesEnabled, customColorsEnabled, showHighFades, threePieceSetsEnabled,
+            pieceSpecificEnabled, itemFramesEnabled, matchPriorities, customColors, newWordList);
+    }
+
+    /**
+     * Copy of this snapshot with different custom colors (headless callers)
+     */
+    public ConfigSnapshot withCustomColors(Map<String, String> newCustomColors) {
+        return new ConfigSnapshot(version, infoBoxEnabled, highlightsEnabled, wordsEnabled, patternsEnabled,
+            dupesEnabled, fadeDyesEnabled, customColorsEnabled, showHighFades, threePieceSetsEnabled,
+            pieceSpecificEnabled, itemFramesEnabled, matchPriorities, newCustomColors, wordList);
+    }
+
+    /**
+     * Config version this snapshot was taken at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isInfoBoxEnabled() {
+        return infoBoxEnabled;
+    }
+
+    public boolean isHighlightsEnabled() {
+        return highlightsEnabled;
+    }
+
+    public boolean isWordsEnabled() {
+        return wordsEnabled;
+    }
+
+    public boolean isPatternsEnabled() {
+        return patternsEnabled;
+    }
+
+    public boolean isDupesEnabled() {
+        return dupesEnabled;
+    }
+
+    public boolean isFadeDyesEnabled() {
+        return fadeDyesEnabled;
+    }
+
+    public boolean isCustomColorsEnabled() {
+        return customColorsEnabled;
+    }
+
+    public boolean isShowHighFades() {
+        return showHighFades;
+    }
+
+    public boolean isThreePieceSetsEnabled() {
+        return threePieceSetsEnabled;
+    }
+
+    public boolean isPieceSpecificEnabled() {
+        return pieceSpecificEnabled;
+    }
+
+    public boolean isItemFramesEnabled() {
+        return itemFramesEnabled;
+    }
+
+    /**
+     * User priority order, highest first
+     */
+    public List<MatchPriority> getMatchPriorities() {
+        return matchPriorities;
+    }
+
+    /**
+     * Priority rank (lower number = higher priority), -1 if not in the list - an array lookup
+     */
+    public int getPriorityRank(MatchPriority priority) {
+        return priorityRank[priority.ordinal()];
+    }
+
+    public Map<String, String> getCustomColors() {
+        return customColors;
+    }
+
+    public Map<String, String> getWordList() {
+        return wordList;
+    }
+
+    /**
+     * Compiled word list, longest effective length first - do not modify
+     */
+    public Word[] getWords() {
+        return words;
+    }
+}
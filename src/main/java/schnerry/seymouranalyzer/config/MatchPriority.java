@@ -34,6 +34,28 @@ public enum MatchPriority {
         return description;
     }
 
+    /**
+     * Default priority order
+     * Search > Dupe > Word > Pattern > Custom T1/T2 > Normal T0/T1/T2 > Fade T0/T1/T2
+     * Note: Custom colors only have T1 and T2 (no T0)
+     */
+    public static java.util.List<MatchPriority> defaultOrder() {
+        return java.util.Arrays.asList(
+            SEARCH,
+            DUPE,
+            WORD,
+            PATTERN,
+            CUSTOM_T1,
+            CUSTOM_T2,
+            NORMAL_T0,
+            NORMAL_T1,
+            NORMAL_T2,
+            FADE_T0,
+            FADE_T1,
+            FADE_T2
+        );
+    }
+
     public static MatchPriority fromName(String name) {
         for (MatchPriority priority : values()) {
             if (priority.name().equalsIgnoreCase(name)) {
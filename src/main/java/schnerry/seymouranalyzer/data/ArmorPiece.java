@@ -16,11 +16,6 @@ public class ArmorPiece {
     private String specialPattern;
     private long timestamp; // Hypixel Skyblock timestamp
 
-    // Transient fields for hex search (not serialized)
-    private transient String cachedSearchHex;
-    private transient Double cachedSearchDeltaE;
-    private transient Integer cachedSearchDistance;
-
     public static class ChestLocation {
         public int x, y, z;
 
@@ -70,6 +65,23 @@ public class ArmorPiece {
         }
     }
 
+    /**
+     * Shallow copy for edits - pieces already in the collection are replaced, never edited in place
+     */
+    public ArmorPiece copy() {
+        ArmorPiece copy = new ArmorPiece();
+        copy.uuid = uuid;
+        copy.pieceName = pieceName;
+        copy.hexcode = hexcode;
+        copy.chestLocation = chestLocation;
+        copy.bestMatch = bestMatch;
+        copy.allMatches = allMatches;
+        copy.wordMatch = wordMatch;
+        copy.specialPattern = specialPattern;
+        copy.timestamp = timestamp;
+        return copy;
+    }
+
     // Getters and Setters
     public String getUuid() { return uuid; }
     public void setUuid(String uuid) { this.uuid = uuid; }
@@ -102,15 +114,5 @@ public class ArmorPiece {
 
     public long getTimestamp() { return timestamp; }
     public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
-
-    // Getters and setters for cached search fields
-    public String getCachedSearchHex() { return cachedSearchHex; }
-    public void setCachedSearchHex(String cachedSearchHex) { this.cachedSearchHex = cachedSearchHex; }
-
-    public Double getCachedSearchDeltaE() { return cachedSearchDeltaE; }
-    public void setCachedSearchDeltaE(Double cachedSearchDeltaE) { this.cachedSearchDeltaE = cachedSearchDeltaE; }
-
-    public Integer getCachedSearchDistance() { return cachedSearchDistance; }
-    public void setCachedSearchDistance(Integer cachedSearchDistance) { this.cachedSearchDistance = cachedSearchDistance; }
 }
 
@@ -0,0 +1,592 @@
+package schnerry.seymouranalyzer.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the truly optimal best matching 4-piece armor sets
+ *
+ * Algorithm:
+ * 1. Enumerates ALL valid 4-piece combinations (where all pairwise ΔE ≤ 5.0)
+ * 2. Streams them into bounded per-task heaps of primitive candidates (four indices + average ΔE),
+ *    merged into the overall best TOP_K
+ * 3. Greedily selects non-overlapping sets from the sorted candidates
+ *
+ * Greedy selection over a sorted prefix picks exactly what it would pick over the full list. If the
+ * prefix runs out before MAX_SETS sets, the search continues after its last candidate without the
+ * pieces already used - so this still guarantees the best possible sets based on average ΔE, with
+ * each piece used only once across all selected sets. Full ArmorSet objects are only built for the winners
+ */
+public final class BestSetsCalculator {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+
+    public static final int MAX_SETS = 100;
+    public static final double MAX_DELTA_E = 5.0;
+
+    // Candidates kept per pass - dense collections share their best pieces between many sets
+    static final int TOP_K = 16384;
+
+    private BestSetsCalculator() {}
+
+    /**
+     * Calculate the best non-overlapping sets of a collection
+     * Builds a throwaway snapshot - prefer the snapshot overload for the live collection,
+     * whose neighbour graph is kept between calls
+     * @param progress Receives 0-100 as the calculation advances (called from worker threads)
+     */
+    public static List<ArmorSet> calculate(Collection<ArmorPiece> collection, IntConsumer progress) {
+        return calculate(CollectionSnapshot.build(0, collection, null), progress);
+    }
+
+    /**
+     * Calculate the best non-overlapping sets of a snapshot
+     * @param progress Receives 0-100 as the calculation advances (called from worker threads)
+     */
+    public static List<ArmorSet> calculate(CollectionSnapshot snapshot, IntConsumer progress) {
+        return calculate(snapshot, TOP_K, progress);
+    }
+
+    /**
+     * Calculate with a given number of candidates kept per pass - smaller means more resumed passes
+     */
+    static List<ArmorSet> calculate(CollectionSnapshot snapshot, int topK, IntConsumer progress) {
+        long startTime = System.currentTimeMillis();
+
+        Slot[] slots = prepare(snapshot, progress);
+
+        // Select the best non-overlapping sets (greedy selection from sorted candidates)
+        List<ArmorSet> selectedSets = new ArrayList<>();
+        boolean[][] used = {
+            new boolean[slots[0].size()], new boolean[slots[1].size()],
+            new boolean[slots[2].size()], new boolean[slots[3].size()]
+        };
+
+        TopK.Bound after = null;
+        while (true) {
+            TopK top = search(slots, topK, progress, used, after);
+            int[] order = top.sortedOrder();
+            progress.accept(90);
+
+            for (int entry : order) {
+                if (selectedSets.size() >= MAX_SETS) break;
+
+                int h = top.index(entry, 0), c = top.index(entry, 1), l = top.index(entry, 2), b = top.index(entry, 3);
+                // Check if any piece in this set is already used
+                if (used[0][h] || used[1][c] || used[2][l] || used[3][b]) continue;
+
+                // This set doesn't overlap with any selected set - add it
+                selectedSets.add(createSet(slots, h, c, l, b));
+                used[0][h] = true;
+                used[1][c] = true;
+                used[2][l] = true;
+                used[3][b] = true;
+            }
+
+            // Ran out of kept candidates with sets still to pick - continue after the last one,
+            // skipping pieces already used, exactly where greedy over the full list would be
+            if (selectedSets.size() >= MAX_SETS || top.offered <= top.size) break;
+            after = top.bound(order[order.length - 1]);
+            LOGGER.info("[Best Sets] {} sets after {} candidates, searching further", selectedSets.size(), top.size);
+        }
+
+        progress.accept(95);
+
+        long totalTimeMs = System.currentTimeMillis() - startTime;
+        LOGGER.info("[Best Sets] Selected {} optimal sets in {}ms ({} seconds)",
+            selectedSets.size(), totalTimeMs, String.format("%.2f", totalTimeMs / 1000.0));
+        return selectedSets;
+    }
+
+    /**
+     * The best candidate sets of a collection, best first, with every valid set below limit included
+     */
+    static final class Candidates {
+        final List<ArmorSet> sets;
+        final double limit; // Infinity when no valid set was dropped
+
+        Candidates(List<ArmorSet> sets, double limit) {
+            this.sets = sets;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Up to capacity of the best valid sets (all pairwise ΔE within MAX_DELTA_E), as full ArmorSets
+     * @param progress Receives 5-90 as the search advances (called from worker threads)
+     */
+    static Candidates findBestCandidates(CollectionSnapshot snapshot, int capacity, IntConsumer progress) {
+        Slot[] slots = prepare(snapshot, progress);
+        TopK top = search(slots, capacity, progress, null, null);
+
+        int[] order = top.sortedOrder();
+        List<ArmorSet> sets = new ArrayList<>(order.length);
+        for (int entry : order) {
+            sets.add(createSet(slots, top.index(entry, 0), top.index(entry, 1), top.index(entry, 2), top.index(entry, 3)));
+        }
+        progress.accept(90);
+
+        double limit = top.offered > top.size ? top.avg[order[order.length - 1]] : Double.POSITIVE_INFINITY;
+        return new Candidates(sets, limit);
+    }
+
+    /**
+     * Greedily pick up to MAX_SETS sets that share no piece
+     * @param sortedSets Candidate sets, best (lowest average ΔE) first
+     */
+    static List<ArmorSet> selectNonOverlapping(Iterable<ArmorSet> sortedSets) {
+        List<ArmorSet> selectedSets = new ArrayList<>();
+        Set<String> usedUuids = new HashSet<>();
+
+        for (ArmorSet set : sortedSets) {
+            if (selectedSets.size() >= MAX_SETS) break;
+
+            // Check if any piece in this set is already used
+            if (usedUuids.contains(set.helmet.getUuid()) ||
+                usedUuids.contains(set.chestplate.getUuid()) ||
+                usedUuids.contains(set.leggings.getUuid()) ||
+                usedUuids.contains(set.boots.getUuid())) {
+                continue;
+            }
+
+            // This set doesn't overlap with any selected set - add it
+            selectedSets.add(set);
+            usedUuids.add(set.helmet.getUuid());
+            usedUuids.add(set.chestplate.getUuid());
+            usedUuids.add(set.leggings.getUuid());
+            usedUuids.add(set.boots.getUuid());
+        }
+        return selectedSets;
+    }
+
+    /**
+     * Categorize pieces by slot and drop those that can't be in any set
+     * A piece is viable when its neighbour graph reaches every other slot
+     * @return helmet, chestplate, leggings and boots slots
+     */
+    private static Slot[] prepare(CollectionSnapshot snapshot, IntConsumer progress) {
+        int n = snapshot.size();
+
+        // Categorize pieces by type
+        byte[] slotOf = new byte[n];
+        Arrays.fill(slotOf, (byte) -1);
+        int[] counts = new int[4];
+        for (int row = 0; row < n; row++) {
+            ArmorPiece piece = snapshot.piece(row);
+            if (piece.getHexcode() == null || piece.getPieceName() == null) continue;
+
+            int slot = switch (getPieceType(piece.getPieceName())) {
+                case "helmet" -> 0;
+                case "chestplate" -> 1;
+                case "leggings" -> 2;
+                case "boots" -> 3;
+                default -> -1;
+            };
+            if (slot >= 0) {
+                slotOf[row] = (byte) slot;
+                counts[slot]++;
+            }
+        }
+
+        LOGGER.info("[Best Sets] Pieces: {} helmets, {} chests, {} legs, {} boots",
+            counts[0], counts[1], counts[2], counts[3]);
+
+        progress.accept(5);
+        CollectionNeighbourGraph graph = snapshot.getNeighbourGraph();
+        progress.accept(10);
+
+        // Pre-filter: Remove pieces that can't possibly match with ANY other piece
+        List<List<Integer>> viable = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int row = 0; row < n; row++) {
+            int slot = slotOf[row];
+            if (slot < 0) continue;
+
+            int[] reached = {0};
+            graph.forEachNeighbour(row, other -> {
+                if (slotOf[other] >= 0) reached[0] |= 1 << slotOf[other];
+            });
+            if ((reached[0] | (1 << slot)) == 0b1111) {
+                viable.get(slot).add(row);
+            }
+        }
+
+        // Slot indices follow uuid order, so ties between equal averages break the same way
+        // whatever order the snapshot rows are in - BestSetsService orders its candidates alike
+        for (List<Integer> rows : viable) {
+            rows.sort(Comparator.comparing(snapshot::uuid));
+        }
+
+        Slot[] slots = new Slot[4];
+        int[] indexInSlot = new int[n];
+        Arrays.fill(indexInSlot, -1);
+        for (int slot = 0; slot < 4; slot++) {
+            slots[slot] = new Slot(snapshot, graph, viable.get(slot), indexInSlot);
+        }
+        for (Slot slot : slots) {
+            slot.slotOf = slotOf;
+            slot.indexInSlot = indexInSlot;
+        }
+
+        LOGGER.info("[Best Sets] After filtering: {} helmets, {} chests, {} legs, {} boots",
+            slots[0].size(), slots[1].size(), slots[2].size(), slots[3].size());
+
+        progress.accept(15);
+        return slots;
+    }
+
+    /**
+     * Walk every valid combination in parallel over helmets, keeping the best capacity of them
+     * Each helmet only pairs with its graph neighbours; each fork-join task fills its own heap,
+     * and heaps are merged pairwise at the end
+     * @param used Pieces to leave out per slot, or null
+     * @param after Only keep combinations ordered after this one, or null
+     */
+    private static TopK search(Slot[] slots, int capacity, IntConsumer progress, boolean[][] used, TopK.Bound after) {
+        Slot helmets = slots[0], chestplates = slots[1], leggings = slots[2], boots = slots[3];
+
+        AtomicLong processedHelmets = new AtomicLong();
+        AtomicInteger lastProgress = new AtomicInteger(15);
+
+        // Process in parallel for better performance
+        TopK top = IntStream.range(0, helmets.size()).parallel().collect(
+            () -> new TopK(capacity),
+            (heap, h) -> {
+                if (used == null || !used[0][h]) {
+                    // Only pieces within ΔE 5 of the helmet can join it - straight from the neighbour graph
+                    int[][] near = helmets.neighbourSlots(h, used);
+                    int[] nearChests = near[1], nearLegs = near[2], nearBoots = near[3];
+
+                    for (int c : nearChests) {
+                        double hc = helmets.deltaE(h, chestplates, c);
+
+                        for (int l : nearLegs) {
+                            // Check if adding legs keeps us within threshold
+                            double cl = chestplates.deltaE(c, leggings, l);
+                            if (cl > MAX_DELTA_E) continue;
+                            double hl = helmets.deltaE(h, leggings, l);
+
+                            for (int b : nearBoots) {
+                                // All pairwise deltas must be within threshold
+                                double cb = chestplates.deltaE(c, boots, b);
+                                if (cb > MAX_DELTA_E) continue;
+                                double lb = leggings.deltaE(l, boots, b);
+                                if (lb > MAX_DELTA_E) continue;
+                                double hb = helmets.deltaE(h, boots, b);
+
+                                double avg = (hc + hl + hb + cl + cb + lb) / 6.0;
+                                if (after != null && !after.isBefore(avg, h, c, l, b)) continue;
+                                heap.offer(avg, h, c, l, b);
+                            }
+                        }
+                    }
+                }
+
+                // Progress per helmet (cap at 80 for this phase)
+                long processed = processedHelmets.incrementAndGet();
+                int newProgress = Math.min(80, 15 + (int) ((processed * 65.0) / helmets.size()));
+                if (lastProgress.getAndAccumulate(newProgress, Math::max) < newProgress) {
+                    progress.accept(newProgress);
+                }
+            },
+            TopK::merge);
+
+        progress.accept(85);
+        LOGGER.info("[Best Sets] Found {} valid combinations, kept {}", top.offered, top.size);
+        return top;
+    }
+
+    private static ArmorSet createSet(Slot[] slots, int h, int c, int l, int b) {
+        return new ArmorSet(slots[0].pieces[h], slots[1].pieces[c], slots[2].pieces[l], slots[3].pieces[b],
+            slots[0].deltaE(h, slots[1], c), slots[0].deltaE(h, slots[2], l), slots[0].deltaE(h, slots[3], b),
+            slots[1].deltaE(c, slots[2], l), slots[1].deltaE(c, slots[3], b), slots[2].deltaE(l, slots[3], b));
+    }
+
+    /**
+     * The viable pieces of one slot, with LAB in flat arrays for the inner loops
+     */
+    private static final class Slot {
+        final CollectionNeighbourGraph graph;
+        final int[] rows; // Snapshot row of each piece
+        final ArmorPiece[] pieces;
+        final double[] labL, labA, labB;
+        byte[] slotOf;      // Shared by all slots: snapshot row -> slot, -1 if none
+        int[] indexInSlot;  // Shared by all slots: snapshot row -> index in its slot, -1 if not viable
+
+        Slot(CollectionSnapshot snapshot, CollectionNeighbourGraph graph, List<Integer> viable, int[] indexInSlot) {
+            this.graph = graph;
+            int n = viable.size();
+            rows = new int[n];
+            pieces = new ArmorPiece[n];
+            labL = new double[n];
+            labA = new double[n];
+            labB = new double[n];
+            for (int i = 0; i < n; i++) {
+                int row = viable.get(i);
+                rows[i] = row;
+                pieces[i] = snapshot.piece(row);
+                labL[i] = snapshot.labL(row);
+                labA[i] = snapshot.labA(row);
+                labB[i] = snapshot.labB(row);
+                indexInSlot[row] = i;
+            }
+        }
+
+        int size() {
+            return pieces.length;
+        }
+
+        /**
+         * Same value as ColorMath.calculateDeltaEWithLab, without LAB objects
+         */
+        double deltaE(int i, Slot other, int j) {
+            double dL = labL[i] - other.labL[j];
+            double dA = labA[i] - other.labA[j];
+            double dB = labB[i] - other.labB[j];
+            return Math.sqrt(dL * dL + dA * dA + dB * dB);
+        }
+
+        /**
+         * Slot indices of piece i's viable, unused neighbours, per slot
+         */
+        int[][] neighbourSlots(int i, boolean[][] used) {
+            int[] counts = new int[4];
+            int[][] result = new int[4][graph.degree(rows[i])];
+            graph.forEachNeighbour(rows[i], other -> {
+                int slot = slotOf[other];
+                int index = slot >= 0 ? indexInSlot[other] : -1;
+                if (index < 0 || (used != null && used[slot][index])) return;
+                result[slot][counts[slot]++] = index;
+            });
+            for (int slot = 0; slot < 4; slot++) {
+                result[slot] = Arrays.copyOf(result[slot], counts[slot]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Bounded max-heap of the best candidates seen, stored as primitives
+     * Order is average ΔE, then slot indices (uuid order) - a total order, so results don't depend on thread timing
+     */
+    private static final class TopK {
+        final int capacity;
+        double[] avg;
+        int[] indices; // 4 per entry: helmet, chestplate, leggings, boots
+        int size = 0;
+        long offered = 0;    // Every valid combination seen, kept or not
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            // Grow on demand - most tasks see far fewer than capacity
+            this.avg = new double[Math.min(capacity, 256)];
+            this.indices = new int[avg.length * 4];
+        }
+
+        void offer(double value, int h, int c, int l, int b) {
+            offered++;
+            if (size < capacity) {
+                ensureRoom();
+                set(size, value, h, c, l, b);
+                siftUp(size++);
+            } else if (compare(value, h, c, l, b, 0) < 0) {
+                // Better than the worst kept - replace the root
+                set(0, value, h, c, l, b);
+                siftDown(0);
+            }
+        }
+
+        void merge(TopK other) {
+            long otherOffered = other.offered;
+            for (int i = 0; i < other.size; i++) {
+                offer(other.avg[i], other.index(i, 0), other.index(i, 1), other.index(i, 2), other.index(i, 3));
+            }
+            offered += otherOffered - other.size;
+        }
+
+        int index(int entry, int slot) {
+            return indices[entry * 4 + slot];
+        }
+
+        Bound bound(int entry) {
+            return new Bound(avg[entry], index(entry, 0), index(entry, 1), index(entry, 2), index(entry, 3));
+        }
+
+        /**
+         * A position in the candidate order, to resume a search after
+         */
+        static final class Bound {
+            final double avg;
+            final int h, c, l, b;
+
+            Bound(double avg, int h, int c, int l, int b) {
+                this.avg = avg;
+                this.h = h;
+                this.c = c;
+                this.l = l;
+                this.b = b;
+            }
+
+            boolean isBefore(double value, int h2, int c2, int l2, int b2) {
+                int cmp = Double.compare(avg, value);
+                if (cmp != 0) return cmp < 0;
+                if (h != h2) return h < h2;
+                if (c != c2) return c < c2;
+                if (l != l2) return l < l2;
+                return b < b2;
+            }
+        }
+
+        /**
+         * Entry positions ordered best first
+         */
+        int[] sortedOrder() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, this::compareEntries);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) result[i] = order[i];
+            return result;
+        }
+
+        private int compare(double value, int h, int c, int l, int b, int entry) {
+            int cmp = Double.compare(value, avg[entry]);
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(h, index(entry, 0));
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(c, index(entry, 1));
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(l, index(entry, 2));
+            if (cmp != 0) return cmp;
+            return Integer.compare(b, index(entry, 3));
+        }
+
+        private int compareEntries(int x, int y) {
+            return compare(avg[x], index(x, 0), index(x, 1), index(x, 2), index(x, 3), y);
+        }
+
+        private void ensureRoom() {
+            if (size < avg.length) return;
+            int length = (int) Math.min(capacity, (long) avg.length * 2);
+            avg = Arrays.copyOf(avg, length);
+            indices = Arrays.copyOf(indices, length * 4);
+        }
+
+        private void set(int entry, double value, int h, int c, int l, int b) {
+            avg[entry] = value;
+            indices[entry * 4] = h;
+            indices[entry * 4 + 1] = c;
+            indices[entry * 4 + 2] = l;
+            indices[entry * 4 + 3] = b;
+        }
+
+        private void swap(int x, int y) {
+            double v = avg[x];
+            avg[x] = avg[y];
+            avg[y] = v;
+            for (int k = 0; k < 4; k++) {
+                int t = indices[x * 4 + k];
+                indices[x * 4 + k] = indices[y * 4 + k];
+                indices[y * 4 + k] = t;
+            }
+        }
+
+        private void siftUp(int entry) {
+            while (entry > 0) {
+                int parent = (entry - 1) / 2;
+                if (compareEntries(entry, parent) <= 0) return;
+                swap(entry, parent);
+                entry = parent;
+            }
+        }
+
+        private void siftDown(int entry) {
+            while (true) {
+                int left = entry * 2 + 1;
+                if (left >= size) return;
+                int worst = left;
+                if (left + 1 < size && compareEntries(left + 1, left) > 0) worst = left + 1;
+                if (compareEntries(worst, entry) <= 0) return;
+                swap(entry, worst);
+                entry = worst;
+            }
+        }
+    }
+
+    /**
+     * Piece slot for a piece name - "helmet", "chestplate", "leggings", "boots" or "unknown"
+     */
+    public static String getPieceType(String pieceName) {
+        String lower = pieceName.toLowerCase();
+
+        if (lower.contains("helmet") || lower.contains("hat") || lower.contains("hood") ||
+            lower.contains("cap") || lower.contains("crown") || lower.contains("mask")) {
+            return "helmet";
+        }
+        if (lower.contains("chestplate") || lower.contains("tunic") || lower.contains("shirt") ||
+            lower.contains("vest") || lower.contains("jacket") || lower.contains("robe") ||
+            lower.contains("coat") || lower.contains("plate")) {
+            return "chestplate";
+        }
+        if (lower.contains("leggings") || lower.contains("pants") || lower.contains("trousers") ||
+            lower.contains("legs") || lower.contains("shorts")) {
+            return "leggings";
+        }
+        if (lower.contains("boots") || lower.contains("shoes") || lower.contains("sandals") ||
+            lower.contains("sneakers") || lower.contains("feet")) {
+            return "boots";
+        }
+
+        return "unknown";
+    }
+
+    /**
+     * Represents a complete 4-piece armor set with statistics
+     */
+    public static final class ArmorSet {
+        public final ArmorPiece helmet;
+        public final ArmorPiece chestplate;
+        public final ArmorPiece leggings;
+        public final ArmorPiece boots;
+
+        public final double avgDeltaE;
+        public final double avgWithout1; // Average ΔE without worst piece
+        public final double avgWithout2; // Average ΔE of best 2 pieces
+        public final String worstPieceType;
+
+        // Constructor with pre-computed deltas (MAJOR optimization)
+        ArmorSet(ArmorPiece helmet, ArmorPiece chestplate, ArmorPiece leggings, ArmorPiece boots,
+                 double d_hc, double d_hl, double d_hb, double d_cl, double d_cb, double d_lb) {
+            this.helmet = helmet;
+            this.chestplate = chestplate;
+            this.leggings = leggings;
+            this.boots = boots;
+
+            // Average of all pairs (already computed)
+            this.avgDeltaE = (d_hc + d_hl + d_hb + d_cl + d_cb + d_lb) / 6.0;
+
+            // Sum of each piece's three deltas - the worst piece has the highest
+            double helmetSum = d_hc + d_hl + d_hb;
+            double chestSum = d_hc + d_cl + d_cb;
+            double legsSum = d_hl + d_cl + d_lb;
+            double bootsSum = d_hb + d_cb + d_lb;
+
+            double worstSum = helmetSum;
+            String worst = "helmet";
+            if (chestSum > worstSum) { worstSum = chestSum; worst = "chestplate"; }
+            if (legsSum > worstSum) { worstSum = legsSum; worst = "leggings"; }
+            if (bootsSum > worstSum) { worstSum = bootsSum; worst = "boots"; }
+            this.worstPieceType = worst;
+
+            // Average without worst piece: the other three pieces' deltas (nine values, shared pairs counted twice)
+            this.avgWithout1 = (helmetSum + chestSum + legsSum + bootsSum - worstSum) / 9.0;
+
+            // Best pair (smallest delta)
+            this.avgWithout2 = Math.min(Math.min(Math.min(d_hc, d_hl), Math.min(d_hb, d_cl)), Math.min(d_cb, d_lb));
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package schnerry.seymouranalyzer.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import schnerry.seymouranalyzer.data.BestSetsCalculator.ArmorSet;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+/**
+ * Keeps the best non-overlapping 4-piece sets up to date outside of BestSetsScreen
+ *
+ * Holds the candidate graph - the best valid sets (all pairwise ΔE within MAX_DELTA_E), best first,
+ * plus the sets each piece belongs to. When pieces are added or removed only the sets touching
+ * those pieces change; the greedy selection then re-runs over the ordered candidates. Neighbours of
+ * an added piece come from the snapshot's CollectionNeighbourGraph instead of a scan per type
+ *
+ * The graph is a bounded prefix: every valid set with an average below poolLimit. Greedy selection
+ * over a prefix picks what it would over all sets, so results stay exact; if the prefix runs out
+ * before MAX_SETS sets it is rebuilt wider
+ *
+ * Selected sets are saved to bestSets.json so they show instantly after a restart. The graph
+ * itself is not saved - it is rebuilt in the background on the first update after a restart
+ */
+public final class BestSetsService {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+    private static final String RESULTS_FILE = "bestSets.json";
+    private static BestSetsService instance;
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BestSetsUpdater");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final double MAX_DELTA_E = BestSetsCalculator.MAX_DELTA_E;
+
+    // Candidate graph - only touched inside update()
+    private final Map<String, Member> members = new HashMap<>();
+    // Same order as BestSetsCalculator: average, then helmet, chestplate, leggings and boots uuid
+    private final TreeSet<Candidate> candidates = new TreeSet<>(
+        Comparator.<Candidate>comparingDouble(c -> c.set.avgDeltaE)
+            .thenComparing(c -> c.set.helmet.getUuid())
+            .thenComparing(c -> c.set.chestplate.getUuid())
+            .thenComparing(c -> c.set.leggings.getUuid())
+            .thenComparing(c -> c.set.boots.getUuid())
+            .thenComparingLong(c -> c.id));
+    private long nextCandidateId = 0;
+    private static final int MAX_POOL_CAPACITY = BestSetsCalculator.TOP_K * 8;
+
+    private int poolCapacity = BestSetsCalculator.TOP_K;
+    private double poolLimit = Double.POSITIVE_INFINITY; // Sets at or above this average are not kept
+    private volatile boolean graphBuilt = false;
+
+    private volatile List<ArmorSet> results; // null until calculated or loaded from disk
+    private volatile long syncedGeneration = -1;
+    private volatile long processingGeneration = -1; // Generation the running update works on, -1 when idle
+    private volatile boolean updating = false;
+    private volatile int progress = 0;
+    private volatile boolean fullRebuildRequested = false;
+    private final AtomicBoolean updateQueued = new AtomicBoolean(false);
+
+    /**
+     * One piece in the graph, with the values it was added with
+     */
+    private static final class Member {
+        final ArmorPiece piece;
+        final String hex;
+        final int type;
+        final ColorMath.LAB lab;
+        final Set<Candidate> sets = new HashSet<>();
+
+        Member(ArmorPiece piece, int type) {
+            this.piece = piece;
+            this.hex = piece.getHexcode();
+            this.type = type;
+            this.lab = ColorMath.hexToLab(hex);
+        }
+    }
+
+    /**
+     * One valid set, with the members it links
+     */
+    private static final class Candidate {
+        final ArmorSet set;
+        final Member[] members; // Indexed by type
+        final long id;          // Tie-break so equal averages can coexist in the TreeSet
+
+        Candidate(ArmorSet set, Member[] members, long id) {
+            this.set = set;
+            this.members = members;
+            this.id = id;
+        }
+    }
+
+    private BestSetsService() {
+        loadResults();
+    }
+
+    public static BestSetsService getInstance() {
+        if (instance == null) {
+            instance = new BestSetsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Latest selected sets (immutable), or null if never calculated
+     */
+    public List<ArmorSet> getResults() {
+        return results;
+    }
+
+    public boolean isUpdating() {
+        return updating;
+    }
+
+    /**
+     * 0-100 while a full rebuild runs, 0 during incremental updates
+     */
+    public int getProgress() {
+        return progress;
+    }
+
+    /**
+     * Called every tick by CollectionManager - once sets have been calculated, follows collection changes
+     */
+    public void onCollectionTick(long generation) {
+        // The running update already covers its generation - only later changes need another
+        if (graphBuilt && generation != syncedGeneration && generation != processingGeneration) {
+            requestUpdate(false);
+        }
+    }
+
+    /**
+     * Bring the sets up to date with the live collection on the background thread
+     * Requests made while one is queued are merged, and an incremental request for the
+     * generation that was just synced does nothing
+     * @param fullRebuild true to drop the graph and enumerate every set again
+     */
+    public void requestUpdate(boolean fullRebuild) {
+        if (fullRebuild) {
+            fullRebuildRequested = true;
+        }
+        if (!updateQueued.compareAndSet(false, true)) return;
+
+        updating = true;
+        EXECUTOR.submit(() -> {
+            updateQueued.set(false);
+            try {
+                CollectionSnapshot snapshot = CollectionManager.getInstance().getSnapshot();
+                if (!fullRebuildRequested && graphBuilt && snapshot.getGeneration() == syncedGeneration) {
+                    return; // Queued before the previous update finished, which already covered this generation
+                }
+                processingGeneration = snapshot.getGeneration();
+                update(snapshot, fullRebuildRequested);
+                syncedGeneration = snapshot.getGeneration();
+                saveResults();
+            } catch (Exception e) {
+                LOGGER.error("[Best Sets] Update failed", e);
+            } finally {
+                processingGeneration = -1;
+                updating = updateQueued.get();
+            }
+        });
+    }
+
+    /**
+     * Sync the graph with a collection snapshot on the calling thread and return the new selection
+     * Only pieces added, removed or changed since the last update are processed, unless
+     * no graph exists yet or more than half the collection changed
+     */
+    public synchronized List<ArmorSet> update(CollectionSnapshot snapshot, boolean fullRebuild) {
+        long startTime = System.currentTimeMillis();
+        fullRebuildRequested = false;
+        progress = 0;
+
+        Set<String> removed = new HashSet<>();
+        for (Member member : members.values()) {
+            int row = snapshot.rowOf(member.piece.getUuid());
+            ArmorPiece current = row >= 0 ? snapshot.piece(row) : null;
+            if (current != member.piece || !Objects.equals(current.getHexcode(), member.hex)) {
+                removed.add(member.piece.getUuid());
+            }
+        }
+        List<Integer> added = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            ArmorPiece piece = snapshot.piece(row);
+            if (typeOf(piece) < 0) continue;
+            if (!members.containsKey(piece.getUuid()) || removed.contains(piece.getUuid())) {
+                added.add(row);
+            }
+        }
+
+        boolean full = fullRebuild || !graphBuilt || removed.size() + added.size() > snapshot.size() / 2;
+        if (full) {
+            rebuild(snapshot);
+        } else if (!removed.isEmpty() || !added.isEmpty()) {
+            removed.forEach(this::removeMember);
+            addMembers(snapshot, added);
+        }
+
+        List<ArmorSet> selected = select();
+        if (!full && selected.size() < BestSetsCalculator.MAX_SETS && poolLimit != Double.POSITIVE_INFINITY) {
+            // Removals used up the prefix - sets further down may now be needed
+            full = true;
+            rebuild(snapshot);
+            selected = select();
+        }
+        if (selected.size() < BestSetsCalculator.MAX_SETS && poolLimit != Double.POSITIVE_INFINITY) {
+            // Too dense for the widest prefix - take the exact selection without keeping its candidates
+            selected = Collections.unmodifiableList(BestSetsCalculator.calculate(snapshot, value -> progress = value));
+        }
+        results = selected;
+        progress = 100;
+
+        LOGGER.info("[Best Sets] {} update (+{} / -{} pieces): {} candidates, {} sets in {}ms",
+            full ? "Full" : "Incremental", added.size(), removed.size(), candidates.size(),
+            selected.size(), System.currentTimeMillis() - startTime);
+        return selected;
+    }
+
+    private List<ArmorSet> select() {
+        return Collections.unmodifiableList(BestSetsCalculator.selectNonOverlapping(
+            () -> candidates.stream().map(c -> c.set).iterator()));
+    }
+
+    /**
+     * Drop the graph and search all combinations again, widening until the prefix holds MAX_SETS sets
+     * or reaches MAX_POOL_CAPACITY
+     */
+    private void rebuild(CollectionSnapshot snapshot) {
+        poolCapacity = BestSetsCalculator.TOP_K;
+        IntConsumer progressSink = value -> progress = value;
+
+        while (true) {
+            members.clear();
+            candidates.clear();
+            nextCandidateId = 0;
+
+            for (int row = 0; row < snapshot.size(); row++) {
+                register(snapshot.piece(row));
+            }
+
+            BestSetsCalculator.Candidates found = BestSetsCalculator.findBestCandidates(snapshot, poolCapacity, progressSink);
+            poolLimit = Double.POSITIVE_INFINITY;
+            for (ArmorSet set : found.sets) {
+                Member[] quad = {
+                    members.get(set.helmet.getUuid()), members.get(set.chestplate.getUuid()),
+                    members.get(set.leggings.getUuid()), members.get(set.boots.getUuid())
+                };
+                link(set, quad);
+            }
+            poolLimit = found.limit;
+            dropAtLimit();
+            graphBuilt = true;
+
+            if (poolLimit == Double.POSITIVE_INFINITY || select().size() >= BestSetsCalculator.MAX_SETS) return;
+            if (poolCapacity >= MAX_POOL_CAPACITY) return;
+            poolCapacity *= 8;
+        }
+    }
+
+    /**
+     * Keep the pool near its capacity by dropping the worst sets and lowering the limit to match
+     */
+    private void trimPool() {
+        if (candidates.size() <= poolCapacity * 2) return;
+
+        while (candidates.size() > poolCapacity) {
+            Candidate worst = candidates.pollLast();
+            poolLimit = worst.set.avgDeltaE;
+            unlink(worst);
+        }
+        dropAtLimit();
+    }
+
+    /**
+     * Drop kept sets whose average equals the limit - sets tied with them may have been cut,
+     * and the prefix must hold every set below the limit and nothing else
+     */
+    private void dropAtLimit() {
+        while (!candidates.isEmpty() && candidates.last().set.avgDeltaE >= poolLimit) {
+            unlink(candidates.pollLast());
+        }
+    }
+
+    private static void unlink(Candidate candidate) {
+        for (Member member : candidate.members) {
+            member.sets.remove(candidate);
+        }
+    }
+
+    /**
+     * Add pieces one at a time, each joining sets with the pieces already in the graph
+     * so sets made of several new pieces are found exactly once
+     */
+    private void addMembers(CollectionSnapshot snapshot, List<Integer> rows) {
+        CollectionNeighbourGraph graph = snapshot.getNeighbourGraph();
+
+        for (int row : rows) {
+            Member member = register(snapshot.piece(row));
+            if (member == null) continue;
+
+            // Neighbours of the new piece in each other slot, from the snapshot's ΔE graph
+            List<List<Member>> near = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            graph.forEachNeighbour(row, other -> {
+                Member neighbour = members.get(snapshot.uuid(other));
+                if (neighbour != null && neighbour.piece == snapshot.piece(other) && neighbour.type != member.type) {
+                    near.get(neighbour.type).add(neighbour);
+                }
+            });
+
+            boolean complete = true;
+            for (int type = 0; type < 4; type++) {
+                if (type != member.type && near.get(type).isEmpty()) complete = false; // No set possible without this slot
+            }
+            if (!complete) continue;
+
+            int[] others = new int[3];
+            for (int type = 0, i = 0; type < 4; type++) {
+                if (type != member.type) others[i++] = type;
+            }
+
+            Member[] quad = new Member[4];
+            quad[member.type] = member;
+            for (Member a : near.get(others[0])) {
+                quad[others[0]] = a;
+                for (Member b : near.get(others[1])) {
+                    if (ColorMath.calculateDeltaEWithLab(a.lab, b.lab) > MAX_DELTA_E) continue;
+                    quad[others[1]] = b;
+                    for (Member c : near.get(others[2])) {
+                        if (ColorMath.calculateDeltaEWithLab(a.lab, c.lab) > MAX_DELTA_E ||
+                            ColorMath.calculateDeltaEWithLab(b.lab, c.lab) > MAX_DELTA_E) {
+                            continue;
+                        }
+                        quad[others[2]] = c;
+                        link(createSet(quad), quad.clone());
+                    }
+                }
+            }
+        }
+        trimPool();
+    }
+
+    private Member register(ArmorPiece piece) {
+        int type = typeOf(piece);
+        if (type < 0) return null;
+
+        Member member = new Member(piece, type);
+        members.put(piece.getUuid(), member);
+        return member;
+    }
+
+    private void removeMember(String uuid) {
+        Member member = members.remove(uuid);
+        if (member == null) return;
+
+        for (Candidate candidate : member.sets) {
+            candidates.remove(candidate);
+            for (Member other : candidate.members) {
+                if (other != member) other.sets.remove(candidate);
+            }
+        }
+        member.sets.clear();
+    }
+
+    private void link(ArmorSet set, Member[] quad) {
+        if (set.avgDeltaE > MAX_DELTA_E || set.avgDeltaE >= poolLimit) return;
+
+        Candidate candidate = new Candidate(set, quad, nextCandidateId++);
+        candidates.add(candidate);
+        for (Member member : quad) {
+            member.sets.add(candidate);
+        }
+    }
+
+    private static ArmorSet createSet(Member[] quad) {
+        return createSet(quad[0].piece, quad[1].piece, quad[2].piece, quad[3].piece,
+            quad[0].lab, quad[1].lab, quad[2].lab, quad[3].lab);
+    }
+
+    private static ArmorSet createSet(ArmorPiece helmet, ArmorPiece chestplate, ArmorPiece leggings, ArmorPiece boots,
+                                      ColorMath.LAB h, ColorMath.LAB c, ColorMath.LAB l, ColorMath.LAB b) {
+        return new ArmorSet(helmet, chestplate, leggings, boots,
+            ColorMath.calculateDeltaEWithLab(h, c), ColorMath.calculateDeltaEWithLab(h, l),
+            ColorMath.calculateDeltaEWithLab(h, b), ColorMath.calculateDeltaEWithLab(c, l),
+            ColorMath.calculateDeltaEWithLab(c, b), ColorMath.calculateDeltaEWithLab(l, b));
+    }
+
+    /**
+     * Slot index (helmet, chestplate, leggings, boots) or -1 if the piece can't be in a set
+     */
+    private static int typeOf(ArmorPiece piece) {
+        if (piece.getUuid() == null || piece.getHexcode() == null || piece.getPieceName() == null) return -1;
+
+        return switch (BestSetsCalculator.getPieceType(piece.getPieceName())) {
+            case "helmet" -> 0;
+            case "chestplate" -> 1;
+            case "leggings" -> 2;
+            case "boots" -> 3;
+            default -> -1;
+        };
+    }
+
+    private Path getResultsFilePath() {
+        return DataDirectory.get().resolve(RESULTS_FILE);
+    }
+
+    /**
+     * Load the last selection, resolving uuids against the live collection
+     * Sets whose pieces are gone are dropped; the rest get their ΔE recomputed from current hexes
+     */
+    private void loadResults() {
+        Path file = getResultsFilePath();
+        if (!Files.exists(file)) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = new Gson().fromJson(reader, JsonObject.class);
+            if (root == null || !root.has("sets")) return;
+
+            Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
+            List<ArmorSet> loaded = new ArrayList<>();
+            for (JsonElement element : root.getAsJsonArray("sets")) {
+                JsonArray uuids = element.getAsJsonArray();
+                if (uuids.size() != 4) continue;
+
+                ArmorPiece[] pieces = new ArmorPiece[4];
+                for (int i = 0; i < 4; i++) {
+                    pieces[i] = collection.get(uuids.get(i).getAsString());
+                }
+                if (Arrays.stream(pieces).anyMatch(p -> p == null || p.getHexcode() == null)) continue;
+
+                ArmorSet set = createSet(pieces[0], pieces[1], pieces[2], pieces[3],
+                    ColorMath.hexToLab(pieces[0].getHexcode()), ColorMath.hexToLab(pieces[1].getHexcode()),
+                    ColorMath.hexToLab(pieces[2].getHexcode()), ColorMath.hexToLab(pieces[3].getHexcode()));
+                if (set.avgDeltaE <= MAX_DELTA_E) {
+                    loaded.add(set);
+                }
+            }
+
+            results = Collections.unmodifiableList(loaded);
+            LOGGER.info("[Best Sets] Loaded {} saved sets", loaded.size());
+        } catch (Exception e) {
+            LOGGER.error("Failed to load best sets", e);
+        }
+    }
+
+    private void saveResults() {
+        List<ArmorSet> current = results;
+        if (current == null) return;
+
+        JsonArray sets = new JsonArray();
+        for (ArmorSet set : current) {
+            JsonArray uuids = new JsonArray();
+            uuids.add(set.helmet.getUuid());
+            uuids.add(set.chestplate.getUuid());
+            uuids.add(set.leggings.getUuid());
+            uuids.add(set.boots.getUuid());
+            sets.add(uuids);
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("lastUpdated", System.currentTimeMillis());
+        root.add("sets", sets);
+
+        try {
+            AtomicFiles.write(getResultsFilePath(), writer -> new Gson().toJson(root, writer));
+        } catch (Exception e) {
+            LOGGER.error("Failed to save best sets", e);
+        }
+    }
+}
@@ -3,8 +3,8 @@ package schnerry.seymouranalyzer.data;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import net.fabricmc.loader.api.FabricLoader;
-import schnerry.seymouranalyzer.Seymouranalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -12,21 +12,34 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Persistent cache for armor checklist calculations
  * Ported from ChatTriggers PogObject system
  */
 public class ChecklistCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
     private static final String CACHE_FILE = "armorChecklistCache.json";
     private static ChecklistCache instance;
 
-    // Cache data (matches the JS structure)
-    private Map<String, CategoryCache> normalColorCache = new HashMap<>();
-    private Map<String, CategoryCache> fadeDyeOptimalCache = new HashMap<>();
-    private int collectionSize = 0;
+    // Cache data (matches the JS structure) - both maps swap together in replaceAll()
+    private volatile Contents contents = new Contents(0, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    private volatile int collectionSize = 0;
     private long lastUpdated = 0;
 
+    private static final class Contents {
+        final long version; // Bumped on every swap
+        final Map<String, CategoryCache> normalColorCache;
+        final Map<String, CategoryCache> fadeDyeOptimalCache;
+
+        Contents(long version, Map<String, CategoryCache> normalColorCache, Map<String, CategoryCache> fadeDyeOptimalCache) {
+            this.version = version;
+            this.normalColorCache = normalColorCache;
+            this.fadeDyeOptimalCache = fadeDyeOptimalCache;
+        }
+    }
+
     public static class CategoryCache {
         public String category;
         public Map<Integer, StageMatches> matchesByIndex = new HashMap<>();
@@ -74,7 +87,7 @@ public class ChecklistCache {
         Path cacheFile = getCacheFilePath();
 
         if (!Files.exists(cacheFile)) {
-            Seymouranalyzer.LOGGER.info("No checklist cache file found, starting fresh");
+            LOGGER.info("No checklist cache file found, starting fresh");
             return;
         }
 
@@ -96,7 +109,7 @@ public class ChecklistCache {
                 for (String categoryName : normalCache.keySet()) {
                     JsonObject catObj = normalCache.getAsJsonObject(categoryName);
                     CategoryCache categoryCache = gson.fromJson(catObj, CategoryCache.class);
-                    normalColorCache.put(categoryName, categoryCache);
+                    contents.normalColorCache.put(categoryName, categoryCache);
                 }
             }
 
@@ -106,70 +119,92 @@ public class ChecklistCache {
                 for (String categoryName : fadeCache.keySet()) {
                     JsonObject catObj = fadeCache.getAsJsonObject(categoryName);
                     CategoryCache categoryCache = gson.fromJson(catObj, CategoryCache.class);
-                    fadeDyeOptimalCache.put(categoryName, categoryCache);
+                    contents.fadeDyeOptimalCache.put(categoryName, categoryCache);
                 }
             }
 
-            Seymouranalyzer.LOGGER.info("Loaded checklist cache: {} normal categories, {} fade dye categories, collection size {}",
-                normalColorCache.size(), fadeDyeOptimalCache.size(), collectionSize);
+            LOGGER.info("Loaded checklist cache: {} normal categories, {} fade dye categories, collection size {}",
+                contents.normalColorCache.size(), contents.fadeDyeOptimalCache.size(), collectionSize);
 
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load checklist cache", e);
+            LOGGER.error("Failed to load checklist cache", e);
             // Reset to empty cache on error
-            normalColorCache.clear();
-            fadeDyeOptimalCache.clear();
+            contents.normalColorCache.clear();
+            contents.fadeDyeOptimalCache.clear();
             collectionSize = 0;
         }
     }
 
     /**
      * Save cache to disk
+     * Saves from the generator and the checklist GUI are serialized, each replacing the file atomically
      */
-    public void save() {
-        Path cacheFile = getCacheFilePath();
-
+    public synchronized void save() {
         try {
-            // Ensure parent directory exists
-            Files.createDirectories(cacheFile.getParent());
-
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             JsonObject root = new JsonObject();
+            Contents current = contents;
 
             root.addProperty("collectionSize", collectionSize);
             root.addProperty("lastUpdated", System.currentTimeMillis());
 
             // Save normal color cache
             JsonObject normalCache = new JsonObject();
-            for (Map.Entry<String, CategoryCache> entry : normalColorCache.entrySet()) {
+            for (Map.Entry<String, CategoryCache> entry : current.normalColorCache.entrySet()) {
                 normalCache.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
             }
             root.add("normalColorCache", normalCache);
 
             // Save fade dye cache
             JsonObject fadeCache = new JsonObject();
-            for (Map.Entry<String, CategoryCache> entry : fadeDyeOptimalCache.entrySet()) {
+            for (Map.Entry<String, CategoryCache> entry : current.fadeDyeOptimalCache.entrySet()) {
                 fadeCache.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
             }
             root.add("fadeDyeOptimalCache", fadeCache);
 
-            try (BufferedWriter writer = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8)) {
-                gson.toJson(root, writer);
-            }
+            AtomicFiles.write(getCacheFilePath(), writer -> gson.toJson(root, writer));
 
-            Seymouranalyzer.LOGGER.info("Saved checklist cache to disk");
+            LOGGER.info("Saved checklist cache to disk");
 
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to save checklist cache", e);
+            LOGGER.error("Failed to save checklist cache", e);
         }
     }
 
     /**
      * Clear all caches (called when collection size changes)
      */
-    public void clearAll() {
-        normalColorCache.clear();
-        fadeDyeOptimalCache.clear();
-        Seymouranalyzer.LOGGER.info("Cleared all checklist caches");
+    public synchronized void clearAll() {
+        contents = new Contents(contents.version + 1, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        LOGGER.info("Cleared all checklist caches");
+    }
+
+    /**
+     * Swap in a complete set of freshly generated categories at once
+     * Readers see either all old or all new categories, never a mix
+     */
+    public synchronized void replaceAll(Map<String, CategoryCache> normal, Map<String, CategoryCache> fadeDye, int collectionSize) {
+        this.contents = new Contents(contents.version + 1, new ConcurrentHashMap<>(normal), new ConcurrentHashMap<>(fadeDye));
+        this.collectionSize = collectionSize;
+    }
+
+    /**
+     * Changes whenever the contents are swapped by replaceAll() or clearAll()
+     */
+    public long getVersion() {
+        return contents.version;
+    }
+
+    /**
+     * Store one category unless the contents were swapped since version was read
+     * @return false if the category was dropped as stale
+     */
+    public synchronized boolean putCategoryIfCurrent(long version, String category, CategoryCache cache, boolean fadeDye) {
+        Contents current = contents;
+        if (current.version != version) return false;
+
+        (fadeDye ? current.fadeDyeOptimalCache : current.normalColorCache).put(category, cache);
+        return true;
     }
 
     /**
@@ -185,9 +220,9 @@ public class ChecklistCache {
             save();
 
             if (diff > 0) {
-                Seymouranalyzer.LOGGER.info("Collection grew by {} pieces, recalculating matches", diff);
+                LOGGER.info("Collection grew by {} pieces, recalculating matches", diff);
             } else {
-                Seymouranalyzer.LOGGER.info("Collection changed by {} pieces, recalculating matches", diff);
+                LOGGER.info("Collection changed by {} pieces, recalculating matches", diff);
             }
 
             return true;
@@ -196,33 +231,33 @@ public class ChecklistCache {
     }
 
     private Path getCacheFilePath() {
-        return FabricLoader.getInstance().getConfigDir().resolve("seymouranalyzer").resolve(CACHE_FILE);
+        return DataDirectory.get().resolve(CACHE_FILE);
     }
 
     // Getters and setters
 
     public Map<String, CategoryCache> getNormalColorCache() {
-        return normalColorCache;
+        return contents.normalColorCache;
     }
 
     public Map<String, CategoryCache> getFadeDyeOptimalCache() {
-        return fadeDyeOptimalCache;
+        return contents.fadeDyeOptimalCache;
     }
 
     public CategoryCache getNormalColorCache(String category) {
-        return normalColorCache.get(category);
+        return contents.normalColorCache.get(category);
     }
 
     public void setNormalColorCache(String category, CategoryCache cache) {
-        normalColorCache.put(category, cache);
+        contents.normalColorCache.put(category, cache);
     }
 
     public CategoryCache getFadeDyeOptimalCache(String category) {
-        return fadeDyeOptimalCache.get(category);
+        return contents.fadeDyeOptimalCache.get(category);
     }
 
     public void setFadeDyeOptimalCache(String category, CategoryCache cache) {
-        fadeDyeOptimalCache.put(category, cache);
+        contents.fadeDyeOptimalCache.put(category, cache);
     }
 
     public int getCollectionSize() {
@@ -240,9 +275,10 @@ public class ChecklistCache {
      */
     public boolean hasChecklistMatches(String hex) {
         String hexUpper = hex.toUpperCase();
+        Contents current = contents;
 
         // Check normal color cache
-        for (CategoryCache categoryCache : normalColorCache.values()) {
+        for (CategoryCache categoryCache : current.normalColorCache.values()) {
             if (categoryCache.matchesByIndex != null) {
                 for (StageMatches stageMatches : categoryCache.matchesByIndex.values()) {
                     if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
@@ -254,7 +290,7 @@ public class ChecklistCache {
         }
 
         // Check fade dye cache
-        for (CategoryCache categoryCache : fadeDyeOptimalCache.values()) {
+        for (CategoryCache categoryCache : current.fadeDyeOptimalCache.values()) {
             if (categoryCache.matchesByIndex != null) {
                 for (StageMatches stageMatches : categoryCache.matchesByIndex.values()) {
                     if (stageMatches.stageHex != null && stageMatches.stageHex.equalsIgnoreCase(hexUpper)) {
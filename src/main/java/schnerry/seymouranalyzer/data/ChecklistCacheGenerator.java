@@ -1,146 +1,297 @@
 package schnerry.seymouranalyzer.data;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
-import schnerry.seymouranalyzer.Seymouranalyzer;
-import schnerry.seymouranalyzer.util.ColorMath;
-
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
 
 /**
  * Utility class to generate checklist caches for all categories
  * Called on mod init and after collection changes
  */
 public class ChecklistCacheGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
 
-    private static class ChecklistEntry {
-        String hex;
-        String name;
-        List<String> pieces; // helmet, chestplate, leggings, boots
-    }
+    // Run after every full generation - the client uses it to drop InfoBox data built from the old cache
+    private static volatile Runnable onCachesGenerated = () -> {};
+
+    private static final String[] PIECE_TYPES = ChecklistCatalog.PIECE_TYPES;
 
     private static class CandidateMatch {
         int stageIndex;
-        String uuid;
-        ArmorPiece piece;
+        int row;
         double deltaE;
         boolean isNeeded;
 
-        CandidateMatch(int stageIndex, String uuid, ArmorPiece piece, double deltaE, boolean isNeeded) {
+        CandidateMatch(int stageIndex, int row, double deltaE, boolean isNeeded) {
             this.stageIndex = stageIndex;
-            this.uuid = uuid;
-            this.piece = piece;
+            this.row = row;
             this.deltaE = deltaE;
             this.isNeeded = isNeeded;
         }
     }
 
+    /**
+     * Set the callback run after each full generation
+     */
+    public static void setOnCachesGenerated(Runnable callback) {
+        onCachesGenerated = callback;
+    }
+
     /**
      * Generate all checklist caches (both normal and fade dye)
      * This is called on mod init and after collection changes
+     * Every category is computed first, then swapped into ChecklistCache at once, so readers never
+     * see a mix of old and new categories
      */
-    public static void generateAllCaches() {
-        Seymouranalyzer.LOGGER.info("Starting full checklist cache generation...");
+    public static synchronized void generateAllCaches() {
+        LOGGER.info("Starting full checklist cache generation...");
+        long start = System.currentTimeMillis();
 
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
-        ChecklistCache cache = ChecklistCache.getInstance();
+        CollectionSnapshot snapshot = CollectionManager.getInstance().getSnapshot();
 
-        // Load checklist data
-        Map<String, List<ChecklistEntry>> normalCategories = loadChecklistData();
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        Collection<ChecklistCatalog.Category> normalCategories = catalog.getNormalCategories().values();
         if (normalCategories.isEmpty()) {
-            Seymouranalyzer.LOGGER.warn("No checklist data found, skipping cache generation");
+            LOGGER.warn("No checklist data found, skipping cache generation");
             return;
         }
 
-        // Load fade dye categories
-        Map<String, List<ChecklistEntry>> fadeDyeCategories = loadFadeDyeData();
+        Collection<ChecklistCatalog.Category> fadeDyeCategories = catalog.getFadeDyeCategories().values();
         if (fadeDyeCategories.isEmpty()) {
-            Seymouranalyzer.LOGGER.warn("No fade dye data found, skipping fade dye cache generation");
+            LOGGER.warn("No fade dye data found, skipping fade dye cache generation");
         }
 
-        // Generate normal color caches
-        for (Map.Entry<String, List<ChecklistEntry>> categoryEntry : normalCategories.entrySet()) {
-            String categoryName = categoryEntry.getKey();
-            List<ChecklistEntry> entries = categoryEntry.getValue();
+        Map<String, ChecklistCache.CategoryCache> normalCaches = new HashMap<>();
+        Map<String, ChecklistCache.CategoryCache> fadeDyeCaches = new HashMap<>();
+        generateCaches(snapshot, normalCategories, normalCaches, fadeDyeCategories, fadeDyeCaches);
 
-            ChecklistCache.CategoryCache categoryCache = generateCacheForCategory(
-                categoryName, entries, collection
-            );
+        ChecklistCache cache = ChecklistCache.getInstance();
+        cache.replaceAll(normalCaches, fadeDyeCaches, snapshot.size());
+        cache.save();
 
-            cache.setNormalColorCache(categoryName, categoryCache);
-        }
+        // Let the client drop hover data derived from the old cache
+        onCachesGenerated.run();
 
-        // Generate fade dye caches
-        for (Map.Entry<String, List<ChecklistEntry>> categoryEntry : fadeDyeCategories.entrySet()) {
-            String categoryName = categoryEntry.getKey();
-            List<ChecklistEntry> entries = categoryEntry.getValue();
+        LOGGER.info("Completed full checklist cache generation for {} normal and {} fade dye categories in {}ms",
+            normalCategories.size(), fadeDyeCategories.size(), System.currentTimeMillis() - start);
+    }
 
-            ChecklistCache.CategoryCache categoryCache = generateCacheForCategory(
-                categoryName, entries, collection
-            );
+    /**
+     * Compute every normal and fade dye category for a collection without storing or saving anything
+     * Used by the load test to time generation against a scratch collection
+     * @return Number of categories computed
+     */
+    public static int computeAllCaches(Map<String, ArmorPiece> collection) {
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        Map<String, ChecklistCache.CategoryCache> normalCaches = new HashMap<>();
+        Map<String, ChecklistCache.CategoryCache> fadeDyeCaches = new HashMap<>();
+        generateCaches(CollectionSnapshot.build(0, collection.values(), null),
+            catalog.getNormalCategories().values(), normalCaches, catalog.getFadeDyeCategories().values(), fadeDyeCaches);
+        return normalCaches.size() + fadeDyeCaches.size();
+    }
 
-            cache.setFadeDyeOptimalCache(categoryName, categoryCache);
-        }
+    /**
+     * Match one category against a snapshot on the common fork-join pool
+     */
+    public static ChecklistCache.CategoryCache computeCategory(ChecklistCatalog.Category category, CollectionSnapshot snapshot) {
+        return ForkJoinPool.commonPool().invoke(new CategoryTask(category, snapshot.getTargetIndex(), typeMasks(snapshot)));
+    }
 
-        // Update collection size and save
-        cache.setCollectionSize(collection.size());
-        cache.save();
+    /**
+     * Match one category against the current collection in the background, store it in ChecklistCache and save
+     * Used by the checklist GUI on a cache miss so page switches never block rendering
+     * The result is only stored if neither the cache contents nor the collection changed meanwhile,
+     * so it can't overwrite a newer full generation
+     */
+    public static CompletableFuture<ChecklistCache.CategoryCache> generateCategoryAsync(ChecklistCatalog.Category category) {
+        ChecklistCache cache = ChecklistCache.getInstance();
+        CollectionManager manager = CollectionManager.getInstance();
+        long cacheVersion = cache.getVersion();
+        long generation = manager.getGeneration();
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            CollectionSnapshot snapshot = manager.getSnapshot();
+            ChecklistCache.CategoryCache categoryCache = computeCategory(category, snapshot);
+
+            if (manager.getGeneration() == generation && snapshot.getGeneration() == generation
+                && cache.putCategoryIfCurrent(cacheVersion, category.name, categoryCache, category.fadeDye)) {
+                cache.save();
+                LOGGER.info("Cached optimal matches for category {} in {}ms", category.name, System.currentTimeMillis() - start);
+            } else {
+                LOGGER.info("Dropped stale matches for category {} - the collection or cache changed", category.name);
+            }
+            return categoryCache;
+        }, ForkJoinPool.commonPool());
+    }
 
-        // Clear InfoBoxRenderer's cached hover data so it will be regenerated with new cache data
-        schnerry.seymouranalyzer.render.InfoBoxRenderer.forceCloseHoveredDataCache();
+    /**
+     * Compute both category sets on the common fork-join pool
+     * Each category x piece type pairing is its own task, so one large category doesn't hold up
+     * the rest - idle workers steal the remaining piece types
+     */
+    private static void generateCaches(CollectionSnapshot snapshot,
+                                       Collection<ChecklistCatalog.Category> normalCategories,
+                                       Map<String, ChecklistCache.CategoryCache> normalOut,
+                                       Collection<ChecklistCatalog.Category> fadeDyeCategories,
+                                       Map<String, ChecklistCache.CategoryCache> fadeDyeOut) {
+        long start = System.nanoTime();
+        TargetIndex targets = snapshot.getTargetIndex();
+        byte[] typeMasks = typeMasks(snapshot);
+
+        List<CategoryTask> tasks = new ArrayList<>();
+        normalCategories.forEach(category -> tasks.add(new CategoryTask(category, targets, typeMasks)));
+        int normalCount = tasks.size();
+        fadeDyeCategories.forEach(category -> tasks.add(new CategoryTask(category, targets, typeMasks)));
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        long workNanos = 0;
+        CategoryTask slowest = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            CategoryTask task = tasks.get(i);
+            ChecklistCache.CategoryCache categoryCache = task.join();
+            (i < normalCount ? normalOut : fadeDyeOut).put(categoryCache.category, categoryCache);
+
+            workNanos += task.nanos;
+            if (slowest == null || task.nanos > slowest.nanos) slowest = task;
+            LOGGER.debug("Checklist category '{}': {} stages in {}ms",
+                task.category.name, task.category.stages.size(), String.format("%.2f", task.nanos / 1e6));
+        }
 
-        Seymouranalyzer.LOGGER.info("Completed full checklist cache generation for {} normal and {} fade dye categories",
-            normalCategories.size(), fadeDyeCategories.size());
+        if (slowest != null) {
+            LOGGER.info("Generated {} checklist categories over {} pieces in {}ms ({}ms of work on {} threads, slowest '{}' {}ms)",
+                tasks.size(), snapshot.size(), (System.nanoTime() - start) / 1_000_000, workNanos / 1_000_000,
+                pool.getParallelism(), slowest.category.name, String.format("%.2f", slowest.nanos / 1e6));
+        }
     }
 
     /**
-     * Generate cache for a single category
+     * Piece types each snapshot row matches, one bit per type index
+     * A name can match more than one type, so this isn't CollectionSnapshot.pieceType()
      */
-    private static ChecklistCache.CategoryCache generateCacheForCategory(
-            String categoryName,
-            List<ChecklistEntry> entries,
-            Map<String, ArmorPiece> collection) {
+    private static byte[] typeMasks(CollectionSnapshot snapshot) {
+        byte[] masks = new byte[snapshot.size()];
+        IntStream.range(0, snapshot.size()).parallel().forEach(row -> {
+            String name = snapshot.piece(row).getPieceName();
+            int mask = 0;
+            for (int type = 0; type < PIECE_TYPES.length; type++) {
+                if (matchesPieceType(name, PIECE_TYPES[type])) mask |= 1 << type;
+            }
+            masks[row] = (byte) mask;
+        });
+        return masks;
+    }
 
-        ChecklistCache.CategoryCache categoryCache = new ChecklistCache.CategoryCache();
-        categoryCache.category = categoryName;
-        categoryCache.isCalculating = false;
+    /**
+     * One category - forks a PieceTypeTask per piece type and assembles their matches
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private static final class CategoryTask extends RecursiveTask<ChecklistCache.CategoryCache> {
+        final ChecklistCatalog.Category category;
+        final TargetIndex targets;
+        final CollectionSnapshot snapshot;
+        final byte[] typeMasks;
+        long nanos; // Summed time of this category's tasks
+
+        CategoryTask(ChecklistCatalog.Category category, TargetIndex targets, byte[] typeMasks) {
+            this.category = category;
+            this.targets = targets;
+            this.snapshot = targets.getSnapshot();
+            this.typeMasks = typeMasks;
+        }
 
-        String[] pieceTypes = {"helmet", "chestplate", "leggings", "boots"};
+        @Override
+        protected ChecklistCache.CategoryCache compute() {
+            List<PieceTypeTask> typeTasks = new ArrayList<>(PIECE_TYPES.length);
+            for (int type = 0; type < PIECE_TYPES.length; type++) {
+                typeTasks.add(new PieceTypeTask(this, type));
+            }
+            ForkJoinTask.invokeAll(typeTasks);
+
+            long start = System.nanoTime();
+            ChecklistCache.CategoryCache categoryCache = new ChecklistCache.CategoryCache();
+            categoryCache.category = category.name;
+            categoryCache.isCalculating = false;
+
+            long taskNanos = 0;
+            int[][] rowsByStage = new int[PIECE_TYPES.length][];
+            double[][] deltaEByStage = new double[PIECE_TYPES.length][];
+            for (int type = 0; type < PIECE_TYPES.length; type++) {
+                PieceTypeTask task = typeTasks.get(type);
+                rowsByStage[type] = task.stageRows;
+                deltaEByStage[type] = task.stageDeltaE;
+                taskNanos += task.nanos;
+            }
 
-        // Temporary storage for matches
-        Map<Integer, Map<String, ArmorPiece>> foundPieces = new HashMap<>();
-        Map<Integer, Map<String, String>> foundPieceUuids = new HashMap<>();
+            // Build StageMatches for each entry
+            List<ChecklistCatalog.Stage> stages = category.stages;
+            for (int i = 0; i < stages.size(); i++) {
+                ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
+                stageMatches.stageHex = stages.get(i).hex;
+                stageMatches.calculated = true;
+                stageMatches.helmet = matchInfo(rowsByStage[0][i], deltaEByStage[0][i]);
+                stageMatches.chestplate = matchInfo(rowsByStage[1][i], deltaEByStage[1][i]);
+                stageMatches.leggings = matchInfo(rowsByStage[2][i], deltaEByStage[2][i]);
+                stageMatches.boots = matchInfo(rowsByStage[3][i], deltaEByStage[3][i]);
+                categoryCache.matchesByIndex.put(i, stageMatches);
+            }
 
-        for (int i = 0; i < entries.size(); i++) {
-            foundPieces.put(i, new HashMap<>());
-            foundPieceUuids.put(i, new HashMap<>());
+            nanos = taskNanos + System.nanoTime() - start;
+            return categoryCache;
         }
 
-        // Calculate optimal matches for each piece type
-        for (String pieceType : pieceTypes) {
-            List<CandidateMatch> candidates = new ArrayList<>();
-
-            // Build candidate list
-            for (int stageIdx = 0; stageIdx < entries.size(); stageIdx++) {
-                ChecklistEntry entry = entries.get(stageIdx);
+        private ChecklistCache.MatchInfo matchInfo(int row, double deltaE) {
+            if (row < 0) return null;
+            ArmorPiece piece = snapshot.piece(row);
+            return new ChecklistCache.MatchInfo(piece.getPieceName(), piece.getHexcode(), deltaE, snapshot.uuid(row));
+        }
+    }
 
-                for (Map.Entry<String, ArmorPiece> collectionEntry : collection.entrySet()) {
-                    String uuid = collectionEntry.getKey();
-                    ArmorPiece piece = collectionEntry.getValue();
+    /**
+     * Optimal matches of one piece type for every stage of a category
+     * Needed pieces first, then closest ΔE, each piece and stage used at most once
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private static final class PieceTypeTask extends RecursiveAction {
+        private final CategoryTask category;
+        private final int type;
+        int[] stageRows; // Matched snapshot row per stage, -1 if none
+        double[] stageDeltaE;
+        long nanos;
+
+        PieceTypeTask(CategoryTask category, int type) {
+            this.category = category;
+            this.type = type;
+        }
 
-                    if (!matchesPieceType(piece.getPieceName(), pieceType)) {
-                        continue;
-                    }
+        @Override
+        protected void compute() {
+            long start = System.nanoTime();
+            List<ChecklistCatalog.Stage> stages = category.category.stages;
+            byte[] typeMasks = category.typeMasks;
+            int typeBit = 1 << type;
 
-                    double deltaE = ColorMath.calculateDeltaE(entry.hex, piece.getHexcode());
-                    if (deltaE <= 5.0) {
-                        boolean isNeeded = entry.pieces.contains(pieceType);
-                        candidates.add(new CandidateMatch(stageIdx, uuid, piece, deltaE, isNeeded));
+            // Build candidate list from each stage's pieces within ΔE 5, read off the target index
+            List<CandidateMatch> candidates = new ArrayList<>();
+            for (int stageIdx = 0; stageIdx < stages.size(); stageIdx++) {
+                ChecklistCatalog.Stage stage = stages.get(stageIdx);
+                boolean isNeeded = stage.needs(type);
+                int stageIndex = stageIdx;
+
+                category.targets.forEachNear(stage.hex, (row, deltaE) -> {
+                    if ((typeMasks[row] & typeBit) != 0) {
+                        candidates.add(new CandidateMatch(stageIndex, row, deltaE, isNeeded));
                     }
-                }
+                });
             }
 
             // Sort: needed pieces first, then by quality
@@ -152,78 +303,20 @@ public class ChecklistCacheGenerator {
             });
 
             // Greedy assignment
-            Set<String> usedPieces = new HashSet<>();
-            Set<Integer> assignedStages = new HashSet<>();
+            stageRows = new int[stages.size()];
+            stageDeltaE = new double[stages.size()];
+            Arrays.fill(stageRows, -1);
+            Set<Integer> usedPieces = new HashSet<>();
 
             for (CandidateMatch candidate : candidates) {
-                if (!usedPieces.contains(candidate.uuid) && !assignedStages.contains(candidate.stageIndex)) {
-                    foundPieces.get(candidate.stageIndex).put(pieceType, candidate.piece);
-                    foundPieceUuids.get(candidate.stageIndex).put(pieceType, candidate.uuid);
-                    usedPieces.add(candidate.uuid);
-                    assignedStages.add(candidate.stageIndex);
+                if (stageRows[candidate.stageIndex] < 0 && usedPieces.add(candidate.row)) {
+                    stageRows[candidate.stageIndex] = candidate.row;
+                    stageDeltaE[candidate.stageIndex] = candidate.deltaE;
                 }
             }
-        }
-
-        // Build StageMatches for each entry
-        for (int i = 0; i < entries.size(); i++) {
-            ChecklistEntry entry = entries.get(i);
-            ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
-            stageMatches.stageHex = entry.hex;
-            stageMatches.calculated = true;
-
-            Map<String, ArmorPiece> pieces = foundPieces.get(i);
-            Map<String, String> uuids = foundPieceUuids.get(i);
-
-            // Save each piece match
-            if (pieces.containsKey("helmet")) {
-                ArmorPiece piece = pieces.get("helmet");
-                String uuid = uuids.get("helmet");
-                stageMatches.helmet = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
-            }
-
-            if (pieces.containsKey("chestplate")) {
-                ArmorPiece piece = pieces.get("chestplate");
-                String uuid = uuids.get("chestplate");
-                stageMatches.chestplate = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
-            }
-
-            if (pieces.containsKey("leggings")) {
-                ArmorPiece piece = pieces.get("leggings");
-                String uuid = uuids.get("leggings");
-                stageMatches.leggings = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
-            }
 
-            if (pieces.containsKey("boots")) {
-                ArmorPiece piece = pieces.get("boots");
-                String uuid = uuids.get("boots");
-                stageMatches.boots = new ChecklistCache.MatchInfo(
-                    piece.getPieceName(),
-                    piece.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, piece.getHexcode()),
-                    uuid
-                );
-            }
-
-            categoryCache.matchesByIndex.put(i, stageMatches);
+            nanos = System.nanoTime() - start;
         }
-
-        return categoryCache;
     }
 
     /**
@@ -246,107 +339,4 @@ public class ChecklistCacheGenerator {
             default -> false;
         };
     }
-
-    /**
-     * Load checklist data from JSON
-     */
-    private static Map<String, List<ChecklistEntry>> loadChecklistData() {
-        Map<String, List<ChecklistEntry>> categories = new LinkedHashMap<>();
-
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json");
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load checklistdata.json");
-                return categories;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-
-            // Load categories
-            JsonObject categoriesJson = root.getAsJsonObject("categories");
-            for (String categoryName : categoriesJson.keySet()) {
-                List<ChecklistEntry> entries = new ArrayList<>();
-                var array = categoriesJson.getAsJsonArray(categoryName);
-
-                for (var element : array) {
-                    var obj = element.getAsJsonObject();
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = obj.get("hex").getAsString().toUpperCase();
-                    entry.name = obj.get("name").getAsString();
-                    entry.pieces = new ArrayList<>();
-
-                    var piecesArray = obj.getAsJsonArray("pieces");
-                    for (var pieceElement : piecesArray) {
-                        entry.pieces.add(pieceElement.getAsString());
-                    }
-
-                    entries.add(entry);
-                }
-
-                categories.put(categoryName, entries);
-            }
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load checklist data", e);
-        }
-
-        return categories;
-    }
-
-    /**
-     * Load fade dye categories from colors.json
-     */
-    private static Map<String, List<ChecklistEntry>> loadFadeDyeData() {
-        Map<String, List<ChecklistEntry>> fadeDyeCategories = new LinkedHashMap<>();
-
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/colors.json");
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load colors.json for fade dyes");
-                return fadeDyeCategories;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-            JsonObject fadeDyes = root.getAsJsonObject("FADE_DYES");
-
-            if (fadeDyes == null) {
-                Seymouranalyzer.LOGGER.warn("No FADE_DYES section found in colors.json");
-                return fadeDyeCategories;
-            }
-
-            // Group stages by fade dye name
-            for (String key : fadeDyes.keySet()) {
-                // Parse "Aurora - Stage 1" format
-                String[] parts = key.split(" - Stage ");
-                if (parts.length == 2) {
-                    String dyeName = parts[0];
-                    String hexValue = fadeDyes.get(key).getAsString().toUpperCase();
-
-                    fadeDyeCategories.putIfAbsent(dyeName, new ArrayList<>());
-
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = hexValue;
-                    entry.name = key;
-                    entry.pieces = new ArrayList<>();
-                    entry.pieces.add("helmet");
-                    entry.pieces.add("chestplate");
-                    entry.pieces.add("leggings");
-                    entry.pieces.add("boots");
-
-                    fadeDyeCategories.get(dyeName).add(entry);
-                }
-            }
-
-            Seymouranalyzer.LOGGER.info("Loaded {} fade dye categories with {} total stages",
-                fadeDyeCategories.size(),
-                fadeDyeCategories.values().stream().mapToInt(List::size).sum());
-
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load fade dye data", e);
-        }
-
-        return fadeDyeCategories;
-    }
 }
-
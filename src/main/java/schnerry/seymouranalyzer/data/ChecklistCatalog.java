@@ -0,0 +1,224 @@
+package schnerry.seymouranalyzer.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Checklist categories from checklistdata.json and the FADE_DYES block of colors.json
+ * Parsed once on first use and shared read-only by the checklist GUI and ChecklistCacheGenerator
+ *
+ * Piece types are indexed like CollectionSnapshot.TYPE_* (helmet 0 .. boots 3), and each stage
+ * stores the types its set needs as a bitmask
+ */
+public final class ChecklistCatalog {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+    private static ChecklistCatalog instance;
+
+    public static final String[] PIECE_TYPES = {"helmet", "chestplate", "leggings", "boots"};
+    public static final int ALL_PIECES = 0b1111;
+
+    // Page order of the fade dye mode in the checklist GUI
+    private static final String[] FADE_DYE_PAGE_ORDER = {"Aurora", "Black Ice", "Frog", "Hellebore", "Kingfisher",
+        "Lava", "Lucky", "Marine", "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
+        "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"};
+
+    private final Map<String, Category> normalCategories;
+    private final Map<String, Category> fadeDyeCategories;
+    private final List<String> normalPageOrder;
+    private final List<String> fadeDyePageOrder;
+
+    /**
+     * One target color of a category
+     */
+    public static final class Stage {
+        public final String hex; // Uppercase, no #
+        public final String name;
+        public final int rgb;
+        public final int neededMask; // Bit per piece type index
+        public final ColorMath.LAB lab;
+
+        public Stage(String hex, String name, int neededMask) {
+            this.hex = hex.toUpperCase();
+            this.name = name;
+            this.neededMask = neededMask;
+            ColorMath.RGB color = ColorMath.hexToRgb(this.hex);
+            this.rgb = (color.r << 16) | (color.g << 8) | color.b;
+            this.lab = ColorMath.hexToLab(this.hex);
+        }
+
+        public boolean needs(int type) {
+            return (neededMask & (1 << type)) != 0;
+        }
+
+        public boolean needs(String pieceType) {
+            int type = typeIndex(pieceType);
+            return type >= 0 && needs(type);
+        }
+    }
+
+    /**
+     * A named list of stages - one checklist page
+     */
+    public static final class Category {
+        public final String name;
+        public final List<Stage> stages;
+        public final boolean fadeDye;
+
+        public Category(String name, List<Stage> stages, boolean fadeDye) {
+            this.name = name;
+            this.stages = List.copyOf(stages);
+            this.fadeDye = fadeDye;
+        }
+    }
+
+    private ChecklistCatalog() {
+        Map<String, Category> normal = new LinkedHashMap<>();
+        List<String> normalOrder = new ArrayList<>();
+        loadChecklistData(normal, normalOrder);
+
+        Map<String, Category> fadeDyes = loadFadeDyeData();
+        List<String> fadeOrder = new ArrayList<>();
+        for (String fadeDye : FADE_DYE_PAGE_ORDER) {
+            if (fadeDyes.containsKey(fadeDye)) {
+                fadeOrder.add(fadeDye);
+            }
+        }
+
+        this.normalCategories = Collections.unmodifiableMap(normal);
+        this.fadeDyeCategories = Collections.unmodifiableMap(fadeDyes);
+        this.normalPageOrder = List.copyOf(normalOrder);
+        this.fadeDyePageOrder = List.copyOf(fadeOrder);
+
+        LOGGER.info("Loaded checklist catalog: {} categories, {} fade dyes with {} total stages",
+            normal.size(), fadeDyes.size(), fadeDyes.values().stream().mapToInt(c -> c.stages.size()).sum());
+    }
+
+    public static synchronized ChecklistCatalog getInstance() {
+        if (instance == null) {
+            instance = new ChecklistCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Piece type index of "helmet", "chestplate", "leggings" or "boots", -1 otherwise
+     */
+    public static int typeIndex(String pieceType) {
+        for (int i = 0; i < PIECE_TYPES.length; i++) {
+            if (PIECE_TYPES[i].equals(pieceType)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Category of the user's custom colors - built per call since the config can change
+     */
+    public static Category custom(String name, Map<String, String> customColors) {
+        List<Stage> stages = new ArrayList<>(customColors.size());
+        customColors.forEach((colorName, hex) -> stages.add(new Stage(hex, colorName, ALL_PIECES)));
+        return new Category(name, stages, false);
+    }
+
+    public Map<String, Category> getNormalCategories() {
+        return normalCategories;
+    }
+
+    public Map<String, Category> getFadeDyeCategories() {
+        return fadeDyeCategories;
+    }
+
+    /**
+     * Normal or fade dye category by name, null if unknown
+     */
+    public Category getCategory(String name) {
+        Category category = normalCategories.get(name);
+        return category != null ? category : fadeDyeCategories.get(name);
+    }
+
+    public List<String> getNormalPageOrder() {
+        return normalPageOrder;
+    }
+
+    public List<String> getFadeDyePageOrder() {
+        return fadeDyePageOrder;
+    }
+
+    private static void loadChecklistData(Map<String, Category> categories, List<String> pageOrder) {
+        try (InputStream inputStream = ChecklistCatalog.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json")) {
+            if (inputStream == null) {
+                LOGGER.error("Could not load checklistdata.json");
+                return;
+            }
+
+            JsonObject root = new Gson().fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
+
+            JsonObject categoriesJson = root.getAsJsonObject("categories");
+            for (String categoryName : categoriesJson.keySet()) {
+                List<Stage> stages = new ArrayList<>();
+
+                for (var element : categoriesJson.getAsJsonArray(categoryName)) {
+                    var obj = element.getAsJsonObject();
+                    int mask = 0;
+                    for (var pieceElement : obj.getAsJsonArray("pieces")) {
+                        int type = typeIndex(pieceElement.getAsString());
+                        if (type >= 0) mask |= 1 << type;
+                    }
+                    stages.add(new Stage(obj.get("hex").getAsString(), obj.get("name").getAsString(), mask));
+                }
+
+                categories.put(categoryName, new Category(categoryName, stages, false));
+            }
+
+            JsonArray pageOrderArray = root.getAsJsonArray("normalPageOrder");
+            if (pageOrderArray != null) {
+                for (var element : pageOrderArray) {
+                    pageOrder.add(element.getAsString());
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to load checklist data", e);
+        }
+    }
+
+    private static Map<String, Category> loadFadeDyeData() {
+        Map<String, List<Stage>> stagesByDye = new LinkedHashMap<>();
+
+        try (InputStream inputStream = ChecklistCatalog.class.getResourceAsStream("/data/seymouranalyzer/colors.json")) {
+            if (inputStream == null) {
+                LOGGER.error("Could not load colors.json for fade dyes");
+                return Map.of();
+            }
+
+            JsonObject root = new Gson().fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
+            JsonObject fadeDyes = root.getAsJsonObject("FADE_DYES");
+            if (fadeDyes == null) {
+                LOGGER.warn("No FADE_DYES section found in colors.json");
+                return Map.of();
+            }
+
+            // Group stages by fade dye name - "Aurora - Stage 1" format
+            for (String key : fadeDyes.keySet()) {
+                String[] parts = key.split(" - Stage ");
+                if (parts.length == 2) {
+                    stagesByDye.computeIfAbsent(parts[0], k -> new ArrayList<>())
+                        .add(new Stage(fadeDyes.get(key).getAsString(), key, ALL_PIECES));
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to load fade dye data", e);
+        }
+
+        Map<String, Category> categories = new LinkedHashMap<>();
+        stagesByDye.forEach((name, stages) -> categories.put(name, new Category(name, stages, true)));
+        return categories;
+    }
+}
@@ -0,0 +1,242 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.*;
+
+/**
+ * Uniform grid over LAB space for the pieces of one CollectionSnapshot
+ * Answers radius and k-nearest queries by ΔE while only visiting nearby cells
+ *
+ * Obtain via CollectionSnapshot.getLabIndex() - immutable and safe to share between threads
+ */
+public final class CollectionLabIndex {
+    /** Cell edge length in ΔE units - matches the T2 threshold so a ΔE 5 query touches 27 cells */
+    private static final double CELL_SIZE = 5.0;
+
+    private final CollectionSnapshot snapshot;
+    private final Map<Long, int[]> cells;
+    private final int minX, maxX, minY, maxY, minZ, maxZ;
+
+    /**
+     * One query hit - never mutates the piece it refers to
+     */
+    public static final class Result {
+        public final String uuid;
+        public final ArmorPiece piece;
+        public final double deltaE;
+        public final int absoluteDistance;
+
+        Result(String uuid, ArmorPiece piece, double deltaE, int absoluteDistance) {
+            this.uuid = uuid;
+            this.piece = piece;
+            this.deltaE = deltaE;
+            this.absoluteDistance = absoluteDistance;
+        }
+    }
+
+    CollectionLabIndex(CollectionSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int n = snapshot.size();
+
+        // Two passes: count per cell, then fill exact-size row arrays
+        Map<Long, int[]> counts = new HashMap<>();
+        int loX = Integer.MAX_VALUE, hiX = Integer.MIN_VALUE;
+        int loY = Integer.MAX_VALUE, hiY = Integer.MIN_VALUE;
+        int loZ = Integer.MAX_VALUE, hiZ = Integer.MIN_VALUE;
+
+        for (int row = 0; row < n; row++) {
+            int cx = cell(snapshot.labL(row));
+            int cy = cell(snapshot.labA(row));
+            int cz = cell(snapshot.labB(row));
+            loX = Math.min(loX, cx); hiX = Math.max(hiX, cx);
+            loY = Math.min(loY, cy); hiY = Math.max(hiY, cy);
+            loZ = Math.min(loZ, cz); hiZ = Math.max(hiZ, cz);
+            counts.computeIfAbsent(key(cx, cy, cz), k -> new int[1])[0]++;
+        }
+
+        Map<Long, int[]> built = new HashMap<>(counts.size() * 2);
+        Map<Long, int[]> fill = new HashMap<>(counts.size() * 2);
+        counts.forEach((k, count) -> {
+            built.put(k, new int[count[0]]);
+            fill.put(k, new int[1]);
+        });
+        for (int row = 0; row < n; row++) {
+            long k = key(cell(snapshot.labL(row)), cell(snapshot.labA(row)), cell(snapshot.labB(row)));
+            built.get(k)[fill.get(k)[0]++] = row;
+        }
+
+        this.cells = built;
+        this.minX = loX; this.maxX = hiX;
+        this.minY = loY; this.maxY = hiY;
+        this.minZ = loZ; this.maxZ = hiZ;
+    }
+
+    private static int cell(double value) {
+        return (int) Math.floor(value / CELL_SIZE);
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (z & 0x1FFFFF);
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * All pieces within maxDeltaE of the hex, closest first
+     */
+    public List<Result> withinRadius(String hex, double maxDeltaE) {
+        ColorMath.LAB lab = ColorMath.hexToLab(hex);
+        ColorMath.RGB rgb = ColorMath.hexToRgb(hex);
+        List<Result> results = new ArrayList<>();
+        forEachWithin(lab, maxDeltaE, row -> results.add(result(row, snapshot.deltaE(row, lab), rgb)));
+
+        results.sort(Comparator.comparingDouble(r -> r.deltaE));
+        return results;
+    }
+
+    /**
+     * Visit every row within maxDeltaE of a LAB color, in no particular order
+     */
+    void forEachWithin(ColorMath.LAB lab, double maxDeltaE, java.util.function.IntConsumer visitor) {
+        if (snapshot.size() == 0) return;
+
+        int x0 = cell(lab.L - maxDeltaE), x1 = cell(lab.L + maxDeltaE);
+        int y0 = cell(lab.a - maxDeltaE), y1 = cell(lab.a + maxDeltaE);
+        int z0 = cell(lab.b - maxDeltaE), z1 = cell(lab.b + maxDeltaE);
+
+        for (int x = Math.max(x0, minX); x <= Math.min(x1, maxX); x++) {
+            for (int y = Math.max(y0, minY); y <= Math.min(y1, maxY); y++) {
+                for (int z = Math.max(z0, minZ); z <= Math.min(z1, maxZ); z++) {
+                    int[] rows = cells.get(key(x, y, z));
+                    if (rows == null) continue;
+                    for (int row : rows) {
+                        if (snapshot.deltaE(row, lab) <= maxDeltaE) {
+                            visitor.accept(row);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit every row within maxDeltaE of another row (excluding the row itself), in no particular order
+     * Allocation-free, for bulk passes like building the neighbour graph
+     */
+    void forEachWithin(int row, double maxDeltaE, java.util.function.IntConsumer visitor) {
+        double L = snapshot.labL(row), a = snapshot.labA(row), b = snapshot.labB(row);
+        int x0 = cell(L - maxDeltaE), x1 = cell(L + maxDeltaE);
+        int y0 = cell(a - maxDeltaE), y1 = cell(a + maxDeltaE);
+        int z0 = cell(b - maxDeltaE), z1 = cell(b + maxDeltaE);
+
+        for (int x = Math.max(x0, minX); x <= Math.min(x1, maxX); x++) {
+            for (int y = Math.max(y0, minY); y <= Math.min(y1, maxY); y++) {
+                for (int z = Math.max(z0, minZ); z <= Math.min(z1, maxZ); z++) {
+                    int[] rows = cells.get(key(x, y, z));
+                    if (rows == null) continue;
+                    for (int other : rows) {
+                        if (other != row && snapshot.deltaE(row, other) <= maxDeltaE) {
+                            visitor.accept(other);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pieces whose hex is exactly the given hex
+     */
+    public List<Result> exact(String hex) {
+        ColorMath.RGB rgb = ColorMath.hexToRgb(hex);
+        int packed = (rgb.r << 16) | (rgb.g << 8) | rgb.b;
+        ColorMath.LAB lab = ColorMath.hexToLab(hex);
+
+        List<Result> results = new ArrayList<>();
+        int[] rows = cells.get(key(cell(lab.L), cell(lab.a), cell(lab.b)));
+        if (rows == null) return results;
+
+        for (int row : rows) {
+            if (snapshot.rgb(row) == packed) {
+                results.add(result(row, 0.0, rgb));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The k pieces closest to the hex by ΔE, closest first
+     * Searches outward in shells of cells and stops once no unvisited cell can beat the k-th hit
+     */
+    public List<Result> nearest(String hex, int k) {
+        List<Result> results = new ArrayList<>();
+        if (k <= 0 || snapshot.size() == 0) return results;
+
+        ColorMath.LAB lab = ColorMath.hexToLab(hex);
+        ColorMath.RGB rgb = ColorMath.hexToRgb(hex);
+        int cx = cell(lab.L), cy = cell(lab.a), cz = cell(lab.b);
+
+        // Max-heap on ΔE holding the best k rows so far
+        PriorityQueue<double[]> best = new PriorityQueue<>((p, q) -> Double.compare(q[0], p[0]));
+
+        int maxRing = Math.max(Math.max(Math.max(cx - minX, maxX - cx), Math.max(cy - minY, maxY - cy)),
+            Math.max(cz - minZ, maxZ - cz));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            visitShell(cx, cy, cz, ring, row -> {
+                double deltaE = snapshot.deltaE(row, lab);
+                if (best.size() < k) {
+                    best.add(new double[]{deltaE, row});
+                } else if (deltaE < best.peek()[0]) {
+                    best.poll();
+                    best.add(new double[]{deltaE, row});
+                }
+            });
+
+            // Any cell in the next shell is at least ring * CELL_SIZE away from the query
+            if (best.size() == k && best.peek()[0] <= ring * CELL_SIZE) {
+                break;
+            }
+        }
+
+        while (!best.isEmpty()) {
+            double[] entry = best.poll();
+            results.add(result((int) entry[1], entry[0], rgb));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private void visitShell(int cx, int cy, int cz, int ring, java.util.function.IntConsumer visitor) {
+        for (int x = cx - ring; x <= cx + ring; x++) {
+            if (x < minX || x > maxX) continue;
+            boolean xEdge = x == cx - ring || x == cx + ring;
+            for (int y = cy - ring; y <= cy + ring; y++) {
+                if (y < minY || y > maxY) continue;
+                boolean yEdge = y == cy - ring || y == cy + ring;
+                for (int z = cz - ring; z <= cz + ring; z++) {
+                    if (z < minZ || z > maxZ) continue;
+                    // Only the surface of the cube - inner cells were visited by earlier rings
+                    if (!xEdge && !yEdge && z != cz - ring && z != cz + ring) continue;
+
+                    int[] rows = cells.get(key(x, y, z));
+                    if (rows == null) continue;
+                    for (int row : rows) {
+                        visitor.accept(row);
+                    }
+                }
+            }
+        }
+    }
+
+    private Result result(int row, double deltaE, ColorMath.RGB target) {
+        int packed = snapshot.rgb(row);
+        int distance = Math.abs(((packed >> 16) & 0xFF) - target.r) +
+                       Math.abs(((packed >> 8) & 0xFF) - target.g) +
+                       Math.abs((packed & 0xFF) - target.b);
+        return new Result(snapshot.uuid(row), snapshot.piece(row), deltaE, distance);
+    }
+}
@@ -3,26 +3,37 @@ package schnerry.seymouranalyzer.data;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import net.fabricmc.loader.api.FabricLoader;
-import schnerry.seymouranalyzer.Seymouranalyzer;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 /**
  * Manages the collection of scanned armor pieces
  * Optimized for batch operations with async saving
+ *
+ * Saves never block the client thread: the saver thread copies the map and writes the copy to
+ * collection.json.tmp, then renames it over collection.json, so a crash mid-save leaves the old file
+ * Pieces are never edited once in the map (see replacePieces), so the shallow copy is a stable view
  */
 public class CollectionManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
     private static CollectionManager INSTANCE;
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type COLLECTION_TYPE = new TypeToken<Map<String, ArmorPiece>>(){}.getType();
     private static final ExecutorService SAVE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "CollectionSaver");
         t.setDaemon(true);
@@ -31,16 +42,31 @@ public class CollectionManager {
 
     private final File collectionFile;
     private final Map<String, ArmorPiece> collection = new ConcurrentHashMap<>();
+    private final Map<String, Integer> hexCounts = new ConcurrentHashMap<>(); // Uppercase hex -> pieces, for dupe checks
     private final AtomicBoolean isDirty = new AtomicBoolean(false);
-    private final AtomicBoolean isSaving = new AtomicBoolean(false);
-    private long lastSaveTime = 0;
+    private final AtomicBoolean saveQueued = new AtomicBoolean(false); // A save task is waiting that hasn't copied yet
+    private volatile long lastSaveTime = 0;
     private static final long SAVE_DEBOUNCE_MS = 2000; // Wait 2 seconds after last change before saving
+    private static final long MAX_SAVE_BACKOFF_MS = 60_000;
+    private volatile long saveBackoffMs = 0; // Extra wait after failed saves, doubles per failure
     private int lastCollectionSize = 0; // Track size to detect changes
 
-    private CollectionManager() {
-        File configDir = new File(FabricLoader.getInstance().getConfigDir().toFile(), "seymouranalyzer");
+    // Save metrics, written by the saver thread
+    private volatile long lastSaveMillis = 0;
+    private volatile long lastSaveBytes = 0;
+
+    // True while checklist regeneration should wait (scanning, browsing a mod GUI) - wired up by the client
+    private volatile BooleanSupplier regenerationPaused = () -> false;
+
+    // Bumped on every modification; snapshots are rebuilt lazily when it moves
+    private final AtomicLong generation = new AtomicLong(0);
+    private volatile CollectionSnapshot snapshot = CollectionSnapshot.empty();
+    private volatile boolean snapshotNeedsFullRebuild = false;
+    private final Object snapshotLock = new Object();
+
+    private CollectionManager(File configDir) {
         if (!configDir.exists() && !configDir.mkdirs()) {
-            Seymouranalyzer.LOGGER.error("Failed to create seymouranalyzer config directory");
+            LOGGER.error("Failed to create seymouranalyzer config directory");
         }
         collectionFile = new File(configDir, "collection.json");
         load();
@@ -48,29 +74,48 @@ public class CollectionManager {
 
     public static CollectionManager getInstance() {
         if (INSTANCE == null) {
-            INSTANCE = new CollectionManager();
+            INSTANCE = new CollectionManager(DataDirectory.get().toFile());
         }
         return INSTANCE;
     }
 
+    /**
+     * Open a separate collection stored in its own directory - never the live collection
+     * Nothing ticks a scratch collection, so callers save with forceSync()
+     */
+    public static CollectionManager openScratch(File directory) {
+        return new CollectionManager(directory);
+    }
+
+    /**
+     * File this collection is saved to
+     */
+    public File getCollectionFile() {
+        return collectionFile;
+    }
+
     public void load() {
         try {
             if (collectionFile.exists()) {
-                JsonObject json = GSON.fromJson(new FileReader(collectionFile), JsonObject.class);
+                JsonObject json;
+                try (FileReader reader = new FileReader(collectionFile)) {
+                    json = GSON.fromJson(reader, JsonObject.class);
+                }
 
                 json.entrySet().forEach(entry -> {
                     try {
                         ArmorPiece piece = GSON.fromJson(entry.getValue(), ArmorPiece.class);
-                        collection.put(entry.getKey(), piece);
+                        put(entry.getKey(), piece);
                     } catch (Exception e) {
-                        Seymouranalyzer.LOGGER.warn("Failed to parse armor piece: " + entry.getKey(), e);
+                        LOGGER.warn("Failed to parse armor piece: " + entry.getKey(), e);
                     }
                 });
 
-                Seymouranalyzer.LOGGER.info("Loaded {} armor pieces from collection", collection.size());
+                LOGGER.info("Loaded {} armor pieces from collection", collection.size());
             }
+            generation.incrementAndGet();
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load collection", e);
+            LOGGER.error("Failed to load collection", e);
         }
     }
 
@@ -79,62 +124,80 @@ public class CollectionManager {
     }
 
     /**
-     * Save collection to disk
-     * @param async If true, saves on background thread
+     * Save collection to disk on the saver thread - never blocks the caller
+     * @param async If true, waits briefly first to batch rapid changes
      */
     public void save(boolean async) {
-        if (async) {
-            saveAsync();
-        } else {
-            saveSync();
-        }
-    }
-
-    private void saveSync() {
-        if (isSaving.get()) {
-            Seymouranalyzer.LOGGER.warn("Save already in progress, skipping");
-            return;
-        }
-
-        isSaving.set(true);
-        try {
-            JsonObject json = new JsonObject();
-
-            collection.forEach((uuid, piece) -> json.add(uuid, GSON.toJsonTree(piece)));
-
-            try (FileWriter writer = new FileWriter(collectionFile)) {
-                GSON.toJson(json, writer);
-            }
+        // Explicit saves may follow edits the snapshot can't see, so derived rows are stale
+        snapshotNeedsFullRebuild = true;
+        generation.incrementAndGet();
+        isDirty.set(true);
 
-            isDirty.set(false);
-            lastSaveTime = System.currentTimeMillis();
-            Seymouranalyzer.LOGGER.info("Saved {} armor pieces to collection", collection.size());
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to save collection", e);
-        } finally {
-            isSaving.set(false);
-        }
+        queueSave(async ? 100 : 0);
     }
 
     private void saveAsync() {
-        if (isSaving.get()) {
-            return; // Already saving
+        queueSave(100); // Brief delay to batch multiple rapid changes
+    }
+
+    /**
+     * Queue a save unless one is already waiting - the waiting one copies the map when it runs,
+     * so it picks up this change too. Changes made while a save is writing stay dirty: save() and
+     * requestSave() queue the follow-up, markDirty() changes are saved by tick() after the debounce
+     */
+    private void queueSave(long delayMs) {
+        if (!saveQueued.compareAndSet(false, true)) {
+            return;
         }
 
         SAVE_EXECUTOR.submit(() -> {
             try {
-                Thread.sleep(100); // Brief delay to batch multiple rapid changes
-                saveSync();
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
+                saveQueued.set(false);
+                return;
             }
+            saveQueued.set(false);
+            writeIfDirty();
         });
     }
 
+    /**
+     * Copy the collection and write the copy - saver thread only
+     */
+    private void writeIfDirty() {
+        // Clear before copying: a change racing the copy marks it dirty again for the next save
+        if (!isDirty.getAndSet(false)) {
+            return;
+        }
+        Map<String, ArmorPiece> pieces = new LinkedHashMap<>(collection);
+
+        long start = System.nanoTime();
+        try {
+            long bytes = AtomicFiles.write(collectionFile.toPath(), writer -> GSON.toJson(pieces, COLLECTION_TYPE, writer));
+
+            lastSaveMillis = (System.nanoTime() - start) / 1_000_000;
+            lastSaveBytes = bytes;
+            lastSaveTime = System.currentTimeMillis();
+            saveBackoffMs = 0;
+            LOGGER.info("Saved {} armor pieces to collection ({} KB in {}ms)", pieces.size(), bytes / 1024, lastSaveMillis);
+        } catch (Exception e) {
+            // Retried by tick after the debounce plus a growing backoff, so a lasting failure doesn't spin
+            saveBackoffMs = Math.min(Math.max(SAVE_DEBOUNCE_MS, saveBackoffMs * 2), MAX_SAVE_BACKOFF_MS);
+            lastSaveTime = System.currentTimeMillis();
+            isDirty.set(true);
+            LOGGER.error("Failed to save collection, retrying in {}s", (SAVE_DEBOUNCE_MS + saveBackoffMs) / 1000, e);
+        }
+    }
+
     /**
      * Mark collection as dirty (needs save). Will trigger async save after debounce period.
      */
     private void markDirty() {
+        generation.incrementAndGet();
         isDirty.set(true);
         lastSaveTime = System.currentTimeMillis();
     }
@@ -143,15 +206,28 @@ public class CollectionManager {
      * Called every tick to handle auto-save and cache regeneration
      */
     public void tick() {
-        if (isDirty.get() && !isSaving.get()) {
+        if (isDirty.get() && !saveQueued.get()) {
             long timeSinceLastChange = System.currentTimeMillis() - lastSaveTime;
-            if (timeSinceLastChange >= SAVE_DEBOUNCE_MS) {
+            if (timeSinceLastChange >= SAVE_DEBOUNCE_MS + saveBackoffMs) {
                 saveAsync();
             }
         }
 
         // Check if collection size changed and regenerate cache if needed
         checkAndRegenerateCache();
+
+        // Keep calculated best sets in step with the collection (incremental, on their own thread)
+        if (!regenerationPaused.getAsBoolean()) {
+            BestSetsService.getInstance().onCollectionTick(generation.get());
+        }
+    }
+
+    /**
+     * Set the check that holds back checklist regeneration
+     * The size mismatch is kept while paused, so regeneration runs as soon as it clears
+     */
+    public void setRegenerationPaused(BooleanSupplier paused) {
+        this.regenerationPaused = paused;
     }
 
     /**
@@ -160,20 +236,9 @@ public class CollectionManager {
     private void checkAndRegenerateCache() {
         int currentSize = collection.size();
         if (currentSize != lastCollectionSize && currentSize > 0) {
-            // Don't regenerate during active scanning/exporting to avoid lag
-            schnerry.seymouranalyzer.scanner.ChestScanner scanner = schnerry.seymouranalyzer.SeymouranalyzerClient.getScanner();
-            if (scanner != null && (scanner.isScanningEnabled() || scanner.isExportingEnabled())) {
-                // Don't update lastCollectionSize during scanning - this way when scanning stops,
-                // the size mismatch will trigger regeneration
-                return;
-            }
-
-            // Don't regenerate while in a mod GUI (e.g., database screen, checklist screen)
-            // to avoid lag while browsing
-            schnerry.seymouranalyzer.gui.GuiScaleManager guiManager = schnerry.seymouranalyzer.gui.GuiScaleManager.getInstance();
-            if (guiManager != null && guiManager.isInModGui()) {
-                // Don't update lastCollectionSize while in GUI - this way when GUI closes,
-                // the size mismatch will trigger regeneration
+            // Don't update lastCollectionSize while paused - this way when the pause clears,
+            // the size mismatch will trigger regeneration
+            if (regenerationPaused.getAsBoolean()) {
                 return;
             }
 
@@ -185,37 +250,94 @@ public class CollectionManager {
             new Thread(() -> {
                 try {
                     if (sizeDiff > 0) {
-                        Seymouranalyzer.LOGGER.info("Collection size increased by {} (now {}), regenerating checklist cache...", sizeDiff, currentSize);
+                        LOGGER.info("Collection size increased by {} (now {}), regenerating checklist cache...", sizeDiff, currentSize);
                     } else {
-                        Seymouranalyzer.LOGGER.info("Collection size decreased by {} (now {}), regenerating checklist cache...", -sizeDiff, currentSize);
+                        LOGGER.info("Collection size decreased by {} (now {}), regenerating checklist cache...", -sizeDiff, currentSize);
                     }
                     ChecklistCacheGenerator.generateAllCaches();
                 } catch (Exception e) {
-                    Seymouranalyzer.LOGGER.error("Failed to regenerate checklist cache", e);
+                    LOGGER.error("Failed to regenerate checklist cache", e);
                 }
             }, "ChecklistCacheRegenerator").start();
         }
     }
 
     /**
-     * Force immediate synchronous save (use when stopping scan or on shutdown)
+     * Queue an immediate save without waiting for it (use when stopping scan)
      */
-    public void forceSync() {
+    public void requestSave() {
         if (isDirty.get()) {
-            saveSync();
+            queueSave(0);
         }
     }
 
+    /**
+     * Save now and wait until pending changes are on disk (use on shutdown)
+     * Runs behind any save already queued, so writes never overlap
+     */
+    public void forceSync() {
+        try {
+            SAVE_EXECUTOR.submit(this::writeIfDirty).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("Failed to save collection", e.getCause());
+        }
+    }
+
+    /**
+     * Duration of the last successful save, serialization and rename included
+     */
+    public long getLastSaveMillis() {
+        return lastSaveMillis;
+    }
+
+    /**
+     * Size of the file written by the last successful save
+     */
+    public long getLastSaveBytes() {
+        return lastSaveBytes;
+    }
+
     public void addPiece(ArmorPiece piece) {
         if (piece.getUuid() == null) {
             piece.setUuid(UUID.randomUUID().toString());
         }
-        collection.put(piece.getUuid(), piece);
+        put(piece.getUuid(), piece);
         markDirty(); // Don't save immediately!
     }
 
+    /**
+     * Add a batch of pieces with a single modification - one generation bump and one pending save
+     */
+    public void addPieces(java.util.Collection<ArmorPiece> pieces) {
+        if (pieces.isEmpty()) return;
+        for (ArmorPiece piece : pieces) {
+            if (piece.getUuid() == null) {
+                piece.setUuid(UUID.randomUUID().toString());
+            }
+            put(piece.getUuid(), piece);
+        }
+        markDirty();
+    }
+
+    /**
+     * Swap in edited copies of pieces (rebuild commands) and save right away
+     * Pieces removed meanwhile stay removed
+     */
+    public void replacePieces(java.util.Collection<ArmorPiece> pieces) {
+        for (ArmorPiece piece : pieces) {
+            ArmorPiece previous = collection.replace(piece.getUuid(), piece);
+            if (previous != null) {
+                countHex(previous, -1);
+                countHex(piece, 1);
+            }
+        }
+        save();
+    }
+
     public void removePiece(String uuid) {
-        collection.remove(uuid);
+        countHex(collection.remove(uuid), -1);
         markDirty(); // Don't save immediately!
     }
 
@@ -234,12 +356,79 @@ public class CollectionManager {
 
     public void clear() {
         collection.clear();
+        hexCounts.clear();
         markDirty();
-        forceSync(); // Clear is important, save immediately
+        requestSave(); // Clear is important, save immediately
     }
 
     public int size() {
         return collection.size();
     }
+
+    private void put(String uuid, ArmorPiece piece) {
+        countHex(collection.put(uuid, piece), -1);
+        countHex(piece, 1);
+    }
+
+    private void countHex(ArmorPiece piece, int delta) {
+        if (piece == null || piece.getHexcode() == null) return;
+        hexCounts.merge(hexKey(piece.getHexcode()), delta, (a, b) -> a + b > 0 ? a + b : null);
+    }
+
+    private static String hexKey(String hex) {
+        return hex.replace("#", "").toUpperCase();
+    }
+
+    /**
+     * Number of pieces with a hex (any case, # optional)
+     */
+    public int getHexCount(String hex) {
+        return hexCounts.getOrDefault(hexKey(hex), 0);
+    }
+
+    /**
+     * True if a piece other than uuid has this hex - O(1), no snapshot needed
+     */
+    public boolean isDuplicateHex(String hex, String uuid) {
+        int count = getHexCount(hex);
+        ArmorPiece own = collection.get(uuid);
+        if (own != null && own.getHexcode() != null && hexKey(own.getHexcode()).equals(hexKey(hex))) {
+            count--;
+        }
+        return count > 0;
+    }
+
+    /**
+     * Current modification generation - changes whenever pieces are added, removed or rebuilt
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Get an immutable columnar snapshot of the collection for the current generation
+     * Rebuilt on demand, reusing rows of pieces that did not change since the last snapshot
+     */
+    public CollectionSnapshot getSnapshot() {
+        CollectionSnapshot current = snapshot;
+        long gen = generation.get();
+        if (current.getGeneration() == gen) {
+            return current;
+        }
+
+        synchronized (snapshotLock) {
+            current = snapshot;
+            gen = generation.get();
+            if (current.getGeneration() == gen) {
+                return current;
+            }
+
+            CollectionSnapshot previous = snapshotNeedsFullRebuild ? null : current;
+            snapshotNeedsFullRebuild = false;
+            current = CollectionSnapshot.build(gen, collection.values(), previous);
+            snapshot = current;
+            return current;
+        }
+    }
 }
 
@@ -0,0 +1,233 @@
+package schnerry.seymouranalyzer.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Sparse graph linking every piece of a CollectionSnapshot to the other pieces within ΔE 5
+ * Cross-piece queries (best sets, near-dupes) start from these edges instead of comparing all pairs
+ *
+ * Stored as compressed adjacency arrays: row r's neighbours of piece type t are
+ * neighbours[offsets[r * GROUPS + t] .. offsets[r * GROUPS + t + 1]), ascending by row.
+ * Group GROUPS - 1 holds neighbours of unknown type. ΔE isn't stored - snapshot.deltaE(a, b) is
+ * cheaper to recompute than to keep in memory
+ *
+ * Obtain via CollectionSnapshot.getNeighbourGraph() - immutable and safe to share between threads.
+ * Each snapshot derives its graph from the last one built, so only changed pieces are re-queried
+ */
+public final class CollectionNeighbourGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+
+    /** Edge threshold - the T2 cutoff and best-sets limit */
+    public static final double MAX_DELTA_E = 5.0;
+    /** Helmet, chestplate, leggings, boots, unknown */
+    public static final int GROUPS = 5;
+
+    private final CollectionSnapshot snapshot;
+    private final int[] offsets;
+    private final int[] neighbours;
+
+    private CollectionNeighbourGraph(CollectionSnapshot snapshot, int[] offsets, int[] neighbours) {
+        this.snapshot = snapshot;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Build the whole graph from the snapshot's LAB index, rows in parallel
+     */
+    static CollectionNeighbourGraph build(CollectionSnapshot snapshot) {
+        long start = System.currentTimeMillis();
+        int n = snapshot.size();
+        CollectionLabIndex index = snapshot.getLabIndex();
+
+        int[][] lists = new int[n][];
+        IntStream.range(0, n).parallel().forEach(row -> lists[row] = query(snapshot, index, row));
+
+        CollectionNeighbourGraph graph = flatten(snapshot, lists);
+        LOGGER.debug("Built neighbour graph: {} rows, {} edges in {}ms",
+            n, graph.edgeCount(), System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    /**
+     * Derive the graph of snapshot from an older snapshot's graph
+     * Rows whose piece and color are unchanged keep their old edges (remapped, minus removed rows);
+     * only new or changed rows query the LAB index, and their edges are mirrored onto the rows they hit
+     */
+    static CollectionNeighbourGraph derive(CollectionSnapshot snapshot, CollectionSnapshot previous,
+                                           CollectionNeighbourGraph previousGraph) {
+        long start = System.currentTimeMillis();
+        int n = snapshot.size();
+
+        // Old row -> new row for unchanged pieces, -1 otherwise
+        int[] newRowOf = new int[previous.size()];
+        Arrays.fill(newRowOf, -1);
+        boolean[] changed = new boolean[n];
+        int changedCount = 0;
+        for (int row = 0; row < n; row++) {
+            int oldRow = previous.rowOf(snapshot.uuid(row));
+            if (oldRow >= 0 && previous.piece(oldRow) == snapshot.piece(row)
+                && previous.labL(oldRow) == snapshot.labL(row)
+                && previous.labA(oldRow) == snapshot.labA(row)
+                && previous.labB(oldRow) == snapshot.labB(row)
+                && previous.pieceType(oldRow) == snapshot.pieceType(row)) {
+                newRowOf[oldRow] = row;
+            } else {
+                changed[row] = true;
+                changedCount++;
+            }
+        }
+
+        // Mostly new - a fresh build is no slower
+        if (changedCount > n / 2) {
+            return build(snapshot);
+        }
+
+        CollectionLabIndex index = snapshot.getLabIndex();
+        int[][] lists = new int[n][];
+
+        // Changed rows: fresh queries
+        int[] changedRows = IntStream.range(0, n).filter(row -> changed[row]).toArray();
+        IntStream.of(changedRows).parallel().forEach(row -> lists[row] = query(snapshot, index, row));
+
+        // Mirror their edges onto unchanged rows
+        int[] extraCount = new int[n];
+        for (int row : changedRows) {
+            for (int other : lists[row]) {
+                if (!changed[other]) extraCount[other]++;
+            }
+        }
+        int[][] extra = new int[n][];
+        for (int row : changedRows) {
+            for (int other : lists[row]) {
+                if (changed[other]) continue;
+                if (extra[other] == null) extra[other] = new int[extraCount[other]];
+                extra[other][--extraCount[other]] = row;
+            }
+        }
+
+        // Unchanged rows: remapped old edges plus mirrored ones
+        IntStream.range(0, n).parallel().forEach(row -> {
+            if (changed[row]) return;
+            int oldRow = previous.rowOf(snapshot.uuid(row));
+            int[] old = previousGraph.allNeighbours(oldRow);
+            int[] mirrored = extra[row] != null ? extra[row] : new int[0];
+
+            int[] list = new int[old.length + mirrored.length];
+            int size = 0;
+            for (int oldNeighbour : old) {
+                int mapped = newRowOf[oldNeighbour];
+                if (mapped >= 0) list[size++] = mapped;
+            }
+            System.arraycopy(mirrored, 0, list, size, mirrored.length);
+            lists[row] = Arrays.copyOf(list, size + mirrored.length);
+        });
+
+        CollectionNeighbourGraph graph = flatten(snapshot, lists);
+        LOGGER.debug("Derived neighbour graph: {} rows ({} re-queried), {} edges in {}ms",
+            n, changedCount, graph.edgeCount(), System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    private static int[] query(CollectionSnapshot snapshot, CollectionLabIndex index, int row) {
+        int[][] buffer = {new int[16]};
+        int[] size = {0};
+        index.forEachWithin(row, MAX_DELTA_E, other -> {
+            if (size[0] == buffer[0].length) buffer[0] = Arrays.copyOf(buffer[0], size[0] * 2);
+            buffer[0][size[0]++] = other;
+        });
+        return Arrays.copyOf(buffer[0], size[0]);
+    }
+
+    /**
+     * Pack per-row neighbour lists into the grouped adjacency arrays
+     */
+    private static CollectionNeighbourGraph flatten(CollectionSnapshot snapshot, int[][] lists) {
+        int n = lists.length;
+        int[] offsets = new int[n * GROUPS + 1];
+
+        long total = 0;
+        for (int[] list : lists) total += list.length;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Neighbour graph too large: " + total + " edges");
+        }
+        int[] neighbours = new int[(int) total];
+
+        int position = 0;
+        for (int row = 0; row < n; row++) {
+            int[] list = lists[row];
+            Arrays.sort(list);
+            for (int group = 0; group < GROUPS; group++) {
+                offsets[row * GROUPS + group] = position;
+                for (int other : list) {
+                    if (groupOf(snapshot, other) == group) neighbours[position++] = other;
+                }
+            }
+        }
+        offsets[n * GROUPS] = position;
+        return new CollectionNeighbourGraph(snapshot, offsets, neighbours);
+    }
+
+    private static int groupOf(CollectionSnapshot snapshot, int row) {
+        byte type = snapshot.pieceType(row);
+        return type == CollectionSnapshot.TYPE_UNKNOWN ? GROUPS - 1 : type;
+    }
+
+    public CollectionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Stored edges - every pair is counted once from each end
+     */
+    public long edgeCount() {
+        return neighbours.length;
+    }
+
+    /**
+     * Number of neighbours of a row in one group (a CollectionSnapshot.TYPE_* value, or GROUPS - 1 for unknown)
+     */
+    public int degree(int row, int group) {
+        return offsets[row * GROUPS + group + 1] - offsets[row * GROUPS + group];
+    }
+
+    public int degree(int row) {
+        return offsets[(row + 1) * GROUPS] - offsets[row * GROUPS];
+    }
+
+    /**
+     * Neighbours of a row in one group, ascending - a fresh copy
+     */
+    public int[] neighbours(int row, int group) {
+        return Arrays.copyOfRange(neighbours, offsets[row * GROUPS + group], offsets[row * GROUPS + group + 1]);
+    }
+
+    /**
+     * All neighbours of a row, grouped by type - a fresh copy
+     */
+    public int[] allNeighbours(int row) {
+        return Arrays.copyOfRange(neighbours, offsets[row * GROUPS], offsets[(row + 1) * GROUPS]);
+    }
+
+    /**
+     * Visit the neighbours of a row in one group without copying
+     */
+    public void forEachNeighbour(int row, int group, java.util.function.IntConsumer visitor) {
+        for (int i = offsets[row * GROUPS + group], end = offsets[row * GROUPS + group + 1]; i < end; i++) {
+            visitor.accept(neighbours[i]);
+        }
+    }
+
+    /**
+     * Visit all neighbours of a row without copying
+     */
+    public void forEachNeighbour(int row, java.util.function.IntConsumer visitor) {
+        for (int i = offsets[row * GROUPS], end = offsets[(row + 1) * GROUPS]; i < end; i++) {
+            visitor.accept(neighbours[i]);
+        }
+    }
+}
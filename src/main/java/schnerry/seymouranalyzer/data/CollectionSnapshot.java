@@ -0,0 +1,385 @@
+package schnerry.seymouranalyzer.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import schnerry.seymouranalyzer.analyzer.PatternDetector;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.*;
+
+/**
+ * Immutable columnar view of the collection for analytics queries
+ * Each piece is one row; columns are primitive arrays indexed by row so aggregate
+ * queries can run as tight loops (or parallel streams over the row range) without
+ * walking ArmorPiece object graphs
+ *
+ * Obtain via CollectionManager.getSnapshot() - never mutate the arrays
+ */
+public final class CollectionSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+
+    public static final byte TYPE_UNKNOWN = -1;
+    public static final byte TYPE_HELMET = 0;
+    public static final byte TYPE_CHESTPLATE = 1;
+    public static final byte TYPE_LEGGINGS = 2;
+    public static final byte TYPE_BOOTS = 3;
+    public static final String[] PIECE_TYPES = {"helmet", "chestplate", "leggings", "boots"};
+
+    public static final byte FLAG_FADE = 1;
+    public static final byte FLAG_CUSTOM = 2;
+
+    /** Tier value for pieces without analysis */
+    public static final byte NO_TIER = -1;
+    /** Id value for pieces without a pattern or word match */
+    public static final int NONE = -1;
+
+    private static final CollectionSnapshot EMPTY = new CollectionSnapshot(0, 0,
+        new String[0], new ArmorPiece[0], new String[0], new int[0],
+        new double[0], new double[0], new double[0], new double[0],
+        new byte[0], new byte[0], new byte[0], new int[0], new int[0],
+        new String[0], new String[0], new HashMap<>());
+
+    private final long generation;
+    private final int size;
+
+    // Identity columns
+    private final String[] uuids;
+    private final ArmorPiece[] pieces;
+    private final String[] hexes;
+
+    // Color columns
+    private final int[] rgb;
+    private final double[] labL;
+    private final double[] labA;
+    private final double[] labB;
+    private final double[] bestDeltaE;
+
+    // Classification columns
+    private final byte[] tiers;
+    private final byte[] pieceTypes;
+    private final byte[] flags;
+    private final int[] patternIds;
+    private final int[] wordIds;
+
+    // Interned string tables referenced by patternIds / wordIds
+    private final String[] patternTable;
+    private final String[] wordTable;
+
+    private final Map<String, Integer> rowByUuid;
+
+    // Derived lazily on first spatial query
+    private volatile CollectionLabIndex labIndex;
+    private volatile CollectionNeighbourGraph neighbourGraph;
+    // Nearest older snapshot with a built neighbour graph - dropped once ours is derived from it
+    private volatile CollectionSnapshot graphBase;
+    private volatile TargetIndex targetIndex;
+    // Nearest older snapshot with a built target index - dropped once ours is derived from it
+    private volatile CollectionSnapshot targetBase;
+
+    private CollectionSnapshot(long generation, int size, String[] uuids, ArmorPiece[] pieces, String[] hexes,
+                               int[] rgb, double[] labL, double[] labA, double[] labB, double[] bestDeltaE,
+                               byte[] tiers, byte[] pieceTypes, byte[] flags, int[] patternIds, int[] wordIds,
+                               String[] patternTable, String[] wordTable, Map<String, Integer> rowByUuid) {
+        this.generation = generation;
+        this.size = size;
+        this.uuids = uuids;
+        this.pieces = pieces;
+        this.hexes = hexes;
+        this.rgb = rgb;
+        this.labL = labL;
+        this.labA = labA;
+        this.labB = labB;
+        this.bestDeltaE = bestDeltaE;
+        this.tiers = tiers;
+        this.pieceTypes = pieceTypes;
+        this.flags = flags;
+        this.patternIds = patternIds;
+        this.wordIds = wordIds;
+        this.patternTable = patternTable;
+        this.wordTable = wordTable;
+        this.rowByUuid = rowByUuid;
+    }
+
+    public static CollectionSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a snapshot of the given pieces
+     * Rows whose ArmorPiece instance is unchanged since the previous snapshot are copied
+     * instead of re-derived, so only new or replaced pieces pay for LAB conversion and
+     * pattern detection
+     * @param previous Snapshot to reuse rows from, or null for a full rebuild
+     */
+    static CollectionSnapshot build(long generation, Collection<ArmorPiece> source, CollectionSnapshot previous) {
+        // Copy first - the live map may change while we fill the columns
+        List<ArmorPiece> list = new ArrayList<>(source);
+        int n = list.size();
+
+        String[] uuids = new String[n];
+        ArmorPiece[] pieces = new ArmorPiece[n];
+        String[] hexes = new String[n];
+        int[] rgb = new int[n];
+        double[] labL = new double[n];
+        double[] labA = new double[n];
+        double[] labB = new double[n];
+        double[] bestDeltaE = new double[n];
+        byte[] tiers = new byte[n];
+        byte[] pieceTypes = new byte[n];
+        byte[] flags = new byte[n];
+        int[] patternIds = new int[n];
+        int[] wordIds = new int[n];
+
+        Map<String, Integer> patternIndex = new HashMap<>();
+        Map<String, Integer> wordIndex = new HashMap<>();
+        List<String> patternTable = new ArrayList<>();
+        List<String> wordTable = new ArrayList<>();
+        Map<String, Integer> rowByUuid = new HashMap<>(n * 2);
+
+        int reused = 0;
+        for (int i = 0; i < n; i++) {
+            ArmorPiece piece = list.get(i);
+            uuids[i] = piece.getUuid();
+            pieces[i] = piece;
+            rowByUuid.put(piece.getUuid(), i);
+
+            int prevRow = previous != null ? previous.rowOf(piece.getUuid()) : -1;
+            if (prevRow >= 0 && previous.pieces[prevRow] == piece) {
+                // Unchanged piece - copy derived columns
+                hexes[i] = previous.hexes[prevRow];
+                rgb[i] = previous.rgb[prevRow];
+                labL[i] = previous.labL[prevRow];
+                labA[i] = previous.labA[prevRow];
+                labB[i] = previous.labB[prevRow];
+                bestDeltaE[i] = previous.bestDeltaE[prevRow];
+                tiers[i] = previous.tiers[prevRow];
+                pieceTypes[i] = previous.pieceTypes[prevRow];
+                flags[i] = previous.flags[prevRow];
+                patternIds[i] = intern(previous.patternName(prevRow), patternIndex, patternTable);
+                wordIds[i] = intern(previous.wordName(prevRow), wordIndex, wordTable);
+                reused++;
+                continue;
+            }
+
+            String hex = piece.getHexcode() != null ? piece.getHexcode().toUpperCase() : "000000";
+            hexes[i] = hex;
+
+            ColorMath.RGB color = ColorMath.hexToRgb(hex);
+            rgb[i] = (color.r << 16) | (color.g << 8) | color.b;
+
+            ColorMath.LAB lab = ColorMath.hexToLab(hex);
+            labL[i] = lab.L;
+            labA[i] = lab.a;
+            labB[i] = lab.b;
+
+            ArmorPiece.BestMatch best = piece.getBestMatch();
+            tiers[i] = best != null ? (byte) best.tier : NO_TIER;
+            bestDeltaE[i] = best != null ? best.deltaE : Double.NaN;
+            pieceTypes[i] = pieceTypeOf(piece.getPieceName());
+            flags[i] = flagsOf(piece);
+            patternIds[i] = intern(PatternDetector.getInstance().detectPattern(hex), patternIndex, patternTable);
+            wordIds[i] = intern(piece.getWordMatch(), wordIndex, wordTable);
+        }
+
+        CollectionSnapshot snapshot = new CollectionSnapshot(generation, n, uuids, pieces, hexes,
+            rgb, labL, labA, labB, bestDeltaE, tiers, pieceTypes, flags, patternIds, wordIds,
+            patternTable.toArray(new String[0]), wordTable.toArray(new String[0]), rowByUuid);
+        if (previous != null) {
+            snapshot.graphBase = previous.neighbourGraph != null ? previous : previous.graphBase;
+            snapshot.targetBase = previous.targetIndex != null ? previous : previous.targetBase;
+        }
+
+        if (previous != null && n - reused > 0) {
+            LOGGER.debug("Rebuilt collection snapshot gen {}: {} rows, {} re-derived",
+                generation, n, n - reused);
+        }
+
+        return snapshot;
+    }
+
+    private static int intern(String value, Map<String, Integer> index, List<String> table) {
+        if (value == null || value.isEmpty()) return NONE;
+        return index.computeIfAbsent(value, k -> {
+            table.add(k);
+            return table.size() - 1;
+        });
+    }
+
+    private static byte flagsOf(ArmorPiece piece) {
+        byte result = 0;
+
+        // The top entry of allMatches is the best match and carries the custom/fade flags
+        List<ArmorPiece.ColorMatch> matches = piece.getAllMatches();
+        if (matches != null && !matches.isEmpty()) {
+            ArmorPiece.ColorMatch top = matches.get(0);
+            if (top.isFade) result |= FLAG_FADE;
+            if (top.isCustom) result |= FLAG_CUSTOM;
+            return result;
+        }
+
+        // Older entries without allMatches - fall back to the fade naming scheme
+        ArmorPiece.BestMatch best = piece.getBestMatch();
+        if (best != null && best.colorName != null && best.colorName.contains(" - Stage ")) {
+            result |= FLAG_FADE;
+        }
+        return result;
+    }
+
+    /**
+     * Map an item name to a piece type code
+     */
+    public static byte pieceTypeOf(String pieceName) {
+        if (pieceName == null) return TYPE_UNKNOWN;
+        String lower = pieceName.toLowerCase();
+
+        if (lower.contains("helm") || lower.contains("hat") || lower.contains("hood") ||
+            lower.contains("crown") || lower.contains("cap") || lower.contains("mask")) {
+            return TYPE_HELMET;
+        }
+        if (lower.contains("chest") || lower.contains("tunic") || lower.contains("jacket") ||
+            lower.contains("shirt") || lower.contains("vest") || lower.contains("robe")) {
+            return TYPE_CHESTPLATE;
+        }
+        if (lower.contains("legging") || lower.contains("pants") || lower.contains("trousers")) {
+            return TYPE_LEGGINGS;
+        }
+        if (lower.contains("boot") || lower.contains("shoes") || lower.contains("sneakers") ||
+            lower.contains("sandals")) {
+            return TYPE_BOOTS;
+        }
+        return TYPE_UNKNOWN;
+    }
+
+    /**
+     * LAB spatial index over this snapshot, built on first use
+     */
+    public CollectionLabIndex getLabIndex() {
+        CollectionLabIndex index = labIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = labIndex;
+                if (index == null) {
+                    index = new CollectionLabIndex(this);
+                    labIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * ΔE ≤ 5 neighbour graph over this snapshot, built on first use
+     * Derived incrementally from the last snapshot that built one, when there is one
+     */
+    public CollectionNeighbourGraph getNeighbourGraph() {
+        CollectionNeighbourGraph graph = neighbourGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = neighbourGraph;
+                if (graph == null) {
+                    CollectionSnapshot base = graphBase;
+                    graph = base != null
+                        ? CollectionNeighbourGraph.derive(this, base, base.neighbourGraph)
+                        : CollectionNeighbourGraph.build(this);
+                    neighbourGraph = graph;
+                    graphBase = null;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Target -> nearby pieces index for the current TargetPalette, built on first use
+     */
+    public TargetIndex getTargetIndex() {
+        return getTargetIndex(TargetPalette.current());
+    }
+
+    /**
+     * Target -> nearby pieces index for a palette
+     * Derived from this snapshot's index for another palette, or from the last snapshot that built one
+     */
+    public TargetIndex getTargetIndex(TargetPalette palette) {
+        TargetIndex index = targetIndex;
+        if (index == null || index.getPalette() != palette) {
+            synchronized (this) {
+                index = targetIndex;
+                if (index == null || index.getPalette() != palette) {
+                    CollectionSnapshot base = targetBase;
+                    if (index != null) {
+                        index = TargetIndex.derive(this, palette, this, index);
+                    } else if (base != null) {
+                        index = TargetIndex.derive(this, palette, base, base.targetIndex);
+                    } else {
+                        index = TargetIndex.build(this, palette);
+                    }
+                    targetIndex = index;
+                    targetBase = null;
+                }
+            }
+        }
+        return index;
+    }
+
+    // Row accessors
+
+    public long getGeneration() { return generation; }
+    public int size() { return size; }
+
+    /** Row index of a uuid, or -1 if it is not in this snapshot */
+    public int rowOf(String uuid) {
+        Integer row = rowByUuid.get(uuid);
+        return row != null ? row : -1;
+    }
+
+    public String uuid(int row) { return uuids[row]; }
+    public ArmorPiece piece(int row) { return pieces[row]; }
+    public String hex(int row) { return hexes[row]; }
+    public int rgb(int row) { return rgb[row]; }
+    public double labL(int row) { return labL[row]; }
+    public double labA(int row) { return labA[row]; }
+    public double labB(int row) { return labB[row]; }
+    public double bestDeltaE(int row) { return bestDeltaE[row]; }
+    public byte tier(int row) { return tiers[row]; }
+    public byte pieceType(int row) { return pieceTypes[row]; }
+    public boolean isFade(int row) { return (flags[row] & FLAG_FADE) != 0; }
+    public boolean isCustom(int row) { return (flags[row] & FLAG_CUSTOM) != 0; }
+    public int patternId(int row) { return patternIds[row]; }
+    public int wordId(int row) { return wordIds[row]; }
+
+    public String patternName(int row) {
+        int id = patternIds[row];
+        return id == NONE ? null : patternTable[id];
+    }
+
+    public String wordName(int row) {
+        int id = wordIds[row];
+        return id == NONE ? null : wordTable[id];
+    }
+
+    public int patternCount() { return patternTable.length; }
+    public int wordCount() { return wordTable.length; }
+    public String patternById(int id) { return patternTable[id]; }
+    public String wordById(int id) { return wordTable[id]; }
+
+    /**
+     * ΔE between a row and an arbitrary LAB color, without allocating
+     */
+    public double deltaE(int row, ColorMath.LAB lab) {
+        double dL = labL[row] - lab.L;
+        double dA = labA[row] - lab.a;
+        double dB = labB[row] - lab.b;
+        return Math.sqrt(dL * dL + dA * dA + dB * dB);
+    }
+
+    /**
+     * ΔE between two rows of this snapshot
+     */
+    public double deltaE(int rowA, int rowB) {
+        double dL = labL[rowA] - labL[rowB];
+        double dA = labA[rowA] - labA[rowB];
+        double dB = labB[rowA] - labB[rowB];
+        return Math.sqrt(dL * dL + dA * dA + dB * dB);
+    }
+}
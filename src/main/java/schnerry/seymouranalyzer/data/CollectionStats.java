@@ -0,0 +1,172 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.config.ClothConfig;
+import schnerry.seymouranalyzer.config.ConfigSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tier/type/dupe statistics for one collection generation and config version
+ * Obtain via CollectionStats.get() - recomputed only when the collection or config changes
+ * Immutable, so one instance is shared by every caller
+ */
+public final class CollectionStats {
+    private static final CollectionStats EMPTY = new CollectionStats(-1, -1, new Counts());
+
+    // Name classification bits, see compute()
+    private static final int NAME_STAGE = 1; // Contains " - Stage "
+    private static final int NAME_FADE_DYE = 2; // Stage of a known fade dye
+    private static final int NAME_CUSTOM = 4;
+
+    private static volatile CollectionStats cached = EMPTY;
+
+    public final long generation;
+    public final long configVersion;
+
+    public final int total;
+
+    // By stored analysis tier (0 = ΔE < 1, 1 = < 2, 2 = < 5, 3+ = above)
+    public final int tier0Count;
+    public final int tier1Count;
+    public final int tier2Count;
+    public final int tier3PlusCount;
+    public final int noAnalysisCount;
+
+    // ΔE-based header counts (T1 = ΔE ≤ 2, T2 = ΔE ≤ 5), custom colors count as normal
+    public final int t1Normal;
+    public final int t1Fade;
+    public final int t2Normal;
+    public final int t2Fade;
+
+    // By best match type
+    public final int normalColorCount;
+    public final int fadeDyeCount;
+    public final int customColorCount;
+
+    // Special features
+    public final int withPattern;
+    public final int withWord;
+
+    // Duplicates (same hex on different pieces)
+    public final int dupeHexCount;
+    public final int totalDupes;
+
+    private CollectionStats(long generation, long configVersion, Counts counts) {
+        this.generation = generation;
+        this.configVersion = configVersion;
+        this.total = counts.total;
+        this.tier0Count = counts.tier0Count;
+        this.tier1Count = counts.tier1Count;
+        this.tier2Count = counts.tier2Count;
+        this.tier3PlusCount = counts.tier3PlusCount;
+        this.noAnalysisCount = counts.noAnalysisCount;
+        this.t1Normal = counts.t1Normal;
+        this.t1Fade = counts.t1Fade;
+        this.t2Normal = counts.t2Normal;
+        this.t2Fade = counts.t2Fade;
+        this.normalColorCount = counts.normalColorCount;
+        this.fadeDyeCount = counts.fadeDyeCount;
+        this.customColorCount = counts.customColorCount;
+        this.withPattern = counts.withPattern;
+        this.withWord = counts.withWord;
+        this.dupeHexCount = counts.dupeHexCount;
+        this.totalDupes = counts.totalDupes;
+    }
+
+    /**
+     * Mutable counters filled during compute()
+     */
+    private static final class Counts {
+        int total, tier0Count, tier1Count, tier2Count, tier3PlusCount, noAnalysisCount;
+        int t1Normal, t1Fade, t2Normal, t2Fade;
+        int normalColorCount, fadeDyeCount, customColorCount, withPattern, withWord, dupeHexCount, totalDupes;
+    }
+
+    /**
+     * Get statistics for the current collection, recomputing if the collection or config changed
+     */
+    public static CollectionStats get() {
+        CollectionManager manager = CollectionManager.getInstance();
+        long generation = manager.getGeneration();
+        ConfigSnapshot config = ClothConfig.getInstance().getSnapshot();
+
+        CollectionStats current = cached;
+        if (current.generation == generation && current.configVersion == config.getVersion()) {
+            return current;
+        }
+
+        current = compute(manager.getSnapshot(), config);
+        cached = current;
+        return current;
+    }
+
+    private static CollectionStats compute(CollectionSnapshot snapshot, ConfigSnapshot config) {
+        Counts stats = new Counts();
+        stats.total = snapshot.size();
+
+        Map<String, String> customColors = config.getCustomColors();
+        ColorDatabase colorDatabase = ColorDatabase.getInstance();
+
+        // Color name classification is shared by many pieces - classify each name once
+        Map<String, Integer> nameTypes = new HashMap<>();
+        Map<String, Integer> hexCounts = new HashMap<>(snapshot.size() * 2);
+
+        for (int row = 0; row < snapshot.size(); row++) {
+            ArmorPiece piece = snapshot.piece(row);
+            ArmorPiece.BestMatch best = piece.getBestMatch();
+
+            if (best != null) {
+                int tier = best.tier;
+                if (tier == 0) stats.tier0Count++;
+                else if (tier == 1) stats.tier1Count++;
+                else if (tier == 2) stats.tier2Count++;
+                else stats.tier3PlusCount++;
+
+                if (best.colorName != null) {
+                    int type = nameTypes.computeIfAbsent(best.colorName, name ->
+                        (name.contains(" - Stage ") ? NAME_STAGE : 0)
+                            | (colorDatabase.isFadeDye(name) ? NAME_FADE_DYE : 0)
+                            | (customColors.containsKey(name) ? NAME_CUSTOM : 0));
+                    boolean isCustom = (type & NAME_CUSTOM) != 0;
+
+                    // Type breakdown checks the stage suffix first, so custom colors named like stages count as fades
+                    if ((type & NAME_STAGE) != 0) stats.fadeDyeCount++;
+                    else if (isCustom) stats.customColorCount++;
+                    else stats.normalColorCount++;
+
+                    // Header counts treat custom colors as normal
+                    boolean isFade = (type & NAME_FADE_DYE) != 0 && !isCustom;
+                    double deltaE = best.deltaE;
+                    if (deltaE <= 2) {
+                        if (isFade) stats.t1Fade++;
+                        else stats.t1Normal++;
+                    } else if (deltaE <= 5) {
+                        if (isFade) stats.t2Fade++;
+                        else stats.t2Normal++;
+                    }
+                }
+            } else {
+                stats.noAnalysisCount++;
+            }
+
+            if (piece.getSpecialPattern() != null && !piece.getSpecialPattern().isEmpty()) {
+                stats.withPattern++;
+            }
+            if (snapshot.wordId(row) != CollectionSnapshot.NONE) {
+                stats.withWord++;
+            }
+
+            hexCounts.merge(snapshot.hex(row), 1, Integer::sum);
+        }
+
+        for (int count : hexCounts.values()) {
+            if (count > 1) {
+                stats.dupeHexCount++;
+                stats.totalDupes += count;
+            }
+        }
+
+        return new CollectionStats(snapshot.getGeneration(), config.getVersion(), stats);
+    }
+}
@@ -2,7 +2,8 @@ package schnerry.seymouranalyzer.data;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import schnerry.seymouranalyzer.Seymouranalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.io.InputStream;
@@ -14,6 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Manages the color database with target colors and fade dyes
  */
 public class ColorDatabase {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
     private static ColorDatabase INSTANCE;
 
     private final Map<String, String> targetColors = new LinkedHashMap<>();
@@ -54,11 +56,11 @@ public class ColorDatabase {
                     });
                 }
 
-                Seymouranalyzer.LOGGER.info("Loaded {} target colors and {} fade dyes",
+                LOGGER.info("Loaded {} target colors and {} fade dyes",
                     targetColors.size(), fadeDyes.size());
             }
         } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Failed to load color database", e);
+            LOGGER.error("Failed to load color database", e);
         }
     }
 
@@ -0,0 +1,24 @@
+package schnerry.seymouranalyzer.data;
+
+import java.nio.file.Path;
+
+/**
+ * Directory the collection and checklist cache are stored in
+ * Set to the Fabric config dir during mod init; headless callers point it at a scratch dir
+ */
+public final class DataDirectory {
+    private static volatile Path directory = Path.of("config", "seymouranalyzer");
+
+    private DataDirectory() {}
+
+    public static Path get() {
+        return directory;
+    }
+
+    /**
+     * Must run before CollectionManager or ChecklistCache are first used
+     */
+    public static void set(Path path) {
+        directory = path;
+    }
+}
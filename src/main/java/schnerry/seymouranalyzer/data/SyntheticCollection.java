@@ -0,0 +1,119 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
+
+import java.util.*;
+
+/**
+ * Seeded generator for large, realistic-looking collections - for load tests and benchmarks
+ * The same count and seed always produce the same pieces (uuids included)
+ *
+ * Mix: mostly hexes jittered around colors.json targets and fade stages, some uniform noise,
+ * exact duplicates of earlier hexes, and special patterns (paired, repeating, palindrome, AxBxCx)
+ */
+public final class SyntheticCollection {
+    private static final String[] PIECE_NAMES = {
+        "Velvet Top Hat", "Cashmere Jacket", "Satin Trousers", "Oxford Shoes"
+    };
+
+    // Share of each kind of hex, in percent - the rest are near a target
+    private static final int RANDOM_PERCENT = 15;
+    private static final int DUPLICATE_PERCENT = 8;
+    private static final int PATTERN_PERCENT = 4;
+
+    // Per-channel jitter around a target - σ of 4 puts most pieces within T1/T2 range
+    private static final double JITTER_SIGMA = 4.0;
+
+    private SyntheticCollection() {}
+
+    /**
+     * Generate count analyzed pieces (best match, top 3, word and pattern filled in like a scan)
+     */
+    public static List<ArmorPiece> generate(int count, long seed) {
+        return generate(count, seed, true);
+    }
+
+    /**
+     * Generate count pieces
+     * @param analyze false skips color analysis - faster, but pieces have no match data
+     */
+    public static List<ArmorPiece> generate(int count, long seed, boolean analyze) {
+        Random random = new Random(seed);
+        ColorDatabase colorDatabase = ColorDatabase.getInstance();
+        ColorAnalyzer analyzer = ColorAnalyzer.getInstance();
+
+        List<Integer> targets = new ArrayList<>();
+        colorDatabase.getTargetColors().values().forEach(hex -> targets.add(parseHex(hex)));
+        colorDatabase.getFadeDyes().values().forEach(hex -> targets.add(parseHex(hex)));
+
+        List<ArmorPiece> pieces = new ArrayList<>(count);
+        int[] rgbs = new int[count];
+        long baseTimestamp = 1_600_000_000_000L;
+
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            int rgb;
+            if (roll < DUPLICATE_PERCENT && i > 0) {
+                rgb = rgbs[random.nextInt(i)];
+            } else if (roll < DUPLICATE_PERCENT + PATTERN_PERCENT) {
+                rgb = patternHex(random);
+            } else if (roll < DUPLICATE_PERCENT + PATTERN_PERCENT + RANDOM_PERCENT || targets.isEmpty()) {
+                rgb = random.nextInt(0x1000000);
+            } else {
+                rgb = jitter(targets.get(random.nextInt(targets.size())), random);
+            }
+            rgbs[i] = rgb;
+
+            String uuid = new UUID(seed, i).toString();
+            String name = PIECE_NAMES[random.nextInt(PIECE_NAMES.length)];
+            long timestamp = baseTimestamp + random.nextInt(1_000_000_000);
+
+            ArmorPiece piece = analyze ? analyzer.analyzePiece(uuid, name, rgb, timestamp) : null;
+            if (piece == null) {
+                piece = new ArmorPiece();
+                piece.setUuid(uuid);
+                piece.setPieceName(name);
+                piece.setHexcode(String.format("%06X", rgb));
+                piece.setTimestamp(timestamp);
+            }
+            piece.setChestLocation(new ArmorPiece.ChestLocation(random.nextInt(64), 64 + random.nextInt(8), random.nextInt(64)));
+            pieces.add(piece);
+        }
+
+        return pieces;
+    }
+
+    private static int parseHex(String hex) {
+        return Integer.parseInt(hex.replace("#", ""), 16);
+    }
+
+    private static int jitter(int rgb, Random random) {
+        int r = clamp(((rgb >> 16) & 0xFF) + (int) Math.round(random.nextGaussian() * JITTER_SIGMA));
+        int g = clamp(((rgb >> 8) & 0xFF) + (int) Math.round(random.nextGaussian() * JITTER_SIGMA));
+        int b = clamp((rgb & 0xFF) + (int) Math.round(random.nextGaussian() * JITTER_SIGMA));
+        return (r << 16) | (g << 8) | b;
+    }
+
+    private static int clamp(int channel) {
+        return Math.max(0, Math.min(255, channel));
+    }
+
+    /**
+     * A hex matching one of PatternDetector's special patterns
+     */
+    private static int patternHex(Random random) {
+        int a = random.nextInt(16), b = random.nextInt(16), c = random.nextInt(16);
+        int[] digits = switch (random.nextInt(4)) {
+            case 0 -> new int[]{a, a, b, b, c, c};                                                     // paired
+            case 1 -> new int[]{a, b, c, a, b, c};                                                     // repeating
+            case 2 -> new int[]{a, b, c, c, b, a};                                                     // palindrome
+            default -> new int[]{a, random.nextInt(16), a, random.nextInt(16), a, random.nextInt(16)}; // AxBxCx
+        };
+
+        int rgb = 0;
+        for (int digit : digits) {
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+}
@@ -0,0 +1,229 @@
+package schnerry.seymouranalyzer.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reverse index from each TargetPalette entry to the CollectionSnapshot rows within ΔE 5 of it,
+ * closest first (ties by row), with their ΔE
+ * Answers "which of my pieces are near target T" by reading one list instead of scanning the collection
+ *
+ * Obtain via CollectionSnapshot.getTargetIndex() - immutable and safe to share between threads.
+ * Each snapshot derives its index from the last one built: unchanged pieces keep their entries and
+ * only new or changed pieces are compared against the palette. Targets added to the palette are
+ * queried on their own; targets already indexed are reused
+ */
+public final class TargetIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger("seymouranalyzer");
+
+    /** List cutoff - the T2 threshold */
+    public static final double MAX_DELTA_E = 5.0;
+
+    private final CollectionSnapshot snapshot;
+    private final TargetPalette palette;
+    private final int[] offsets; // Target id -> start in rows/deltaE
+    private final int[] rows;
+    private final double[] deltaE;
+
+    /**
+     * Visitor for one list entry
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void accept(int row, double deltaE);
+    }
+
+    private TargetIndex(CollectionSnapshot snapshot, TargetPalette palette, int[] offsets, int[] rows, double[] deltaE) {
+        this.snapshot = snapshot;
+        this.palette = palette;
+        this.offsets = offsets;
+        this.rows = rows;
+        this.deltaE = deltaE;
+    }
+
+    /**
+     * Query every target against the snapshot's LAB index, targets in parallel
+     */
+    static TargetIndex build(CollectionSnapshot snapshot, TargetPalette palette) {
+        long start = System.currentTimeMillis();
+        CollectionLabIndex index = snapshot.getLabIndex();
+
+        List<Entries> lists = IntStream.range(0, palette.size()).parallel()
+            .mapToObj(target -> query(snapshot, index, palette.lab(target)))
+            .toList();
+
+        TargetIndex built = flatten(snapshot, palette, lists);
+        LOGGER.debug("Built target index: {} targets over {} rows, {} entries in {}ms",
+            palette.size(), snapshot.size(), built.rows.length, System.currentTimeMillis() - start);
+        return built;
+    }
+
+    /**
+     * Derive the index of snapshot and palette from an older index
+     * previous may be the same snapshot when only the palette changed
+     */
+    static TargetIndex derive(CollectionSnapshot snapshot, TargetPalette palette,
+                              CollectionSnapshot previous, TargetIndex previousIndex) {
+        long start = System.currentTimeMillis();
+        int n = snapshot.size();
+
+        // Old row -> new row for unchanged pieces, -1 otherwise
+        int[] newRowOf = new int[previous.size()];
+        Arrays.fill(newRowOf, -1);
+        List<Integer> changed = new ArrayList<>();
+        for (int row = 0; row < n; row++) {
+            int oldRow = previous.rowOf(snapshot.uuid(row));
+            if (oldRow >= 0 && previous.piece(oldRow) == snapshot.piece(row)
+                && previous.labL(oldRow) == snapshot.labL(row)
+                && previous.labA(oldRow) == snapshot.labA(row)
+                && previous.labB(oldRow) == snapshot.labB(row)) {
+                newRowOf[oldRow] = row;
+            } else {
+                changed.add(row);
+            }
+        }
+
+        // Mostly new - a fresh build is no slower
+        if (changed.size() > n / 2) {
+            return build(snapshot, palette);
+        }
+
+        int[] changedRows = changed.stream().mapToInt(Integer::intValue).toArray();
+        CollectionLabIndex index = snapshot.getLabIndex();
+        TargetPalette previousPalette = previousIndex.palette;
+
+        List<Entries> lists = IntStream.range(0, palette.size()).parallel().mapToObj(target -> {
+            ColorMath.LAB lab = palette.lab(target);
+            int previousTarget = previousPalette == palette ? target : previousPalette.idOf(palette.hex(target));
+            if (previousTarget < 0) {
+                return query(snapshot, index, lab); // New palette entry
+            }
+
+            Entries entries = new Entries();
+            for (int i = previousIndex.offsets[previousTarget]; i < previousIndex.offsets[previousTarget + 1]; i++) {
+                int row = newRowOf[previousIndex.rows[i]];
+                if (row >= 0) entries.add(row, previousIndex.deltaE[i]);
+            }
+            for (int row : changedRows) {
+                double distance = snapshot.deltaE(row, lab);
+                if (distance <= MAX_DELTA_E) entries.add(row, distance);
+            }
+            return entries;
+        }).toList();
+
+        TargetIndex derived = flatten(snapshot, palette, lists);
+        LOGGER.debug("Derived target index: {} targets over {} rows ({} changed), {} entries in {}ms",
+            palette.size(), n, changedRows.length, derived.rows.length, System.currentTimeMillis() - start);
+        return derived;
+    }
+
+    private static Entries query(CollectionSnapshot snapshot, CollectionLabIndex index, ColorMath.LAB lab) {
+        Entries entries = new Entries();
+        index.forEachWithin(lab, MAX_DELTA_E, row -> entries.add(row, snapshot.deltaE(row, lab)));
+        return entries;
+    }
+
+    private static TargetIndex flatten(CollectionSnapshot snapshot, TargetPalette palette, List<Entries> lists) {
+        int[] offsets = new int[lists.size() + 1];
+        long total = 0;
+        for (int target = 0; target < lists.size(); target++) {
+            offsets[target] = (int) total;
+            total += lists.get(target).size;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Target index too large: " + total + " entries");
+            }
+        }
+        offsets[lists.size()] = (int) total;
+
+        int[] rows = new int[(int) total];
+        double[] deltaE = new double[(int) total];
+        IntStream.range(0, lists.size()).parallel()
+            .forEach(target -> lists.get(target).sortInto(rows, deltaE, offsets[target]));
+        return new TargetIndex(snapshot, palette, offsets, rows, deltaE);
+    }
+
+    public CollectionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public TargetPalette getPalette() {
+        return palette;
+    }
+
+    /**
+     * Number of rows within ΔE 5 of a palette entry
+     */
+    public int count(int target) {
+        return offsets[target + 1] - offsets[target];
+    }
+
+    /**
+     * Visit the rows within ΔE 5 of a palette entry, closest first
+     */
+    public void forEachNear(int target, EntryVisitor visitor) {
+        for (int i = offsets[target]; i < offsets[target + 1]; i++) {
+            visitor.accept(rows[i], deltaE[i]);
+        }
+    }
+
+    /**
+     * Visit the rows within ΔE 5 of a hex, closest first
+     * Hexes outside the palette fall back to a LAB index query
+     */
+    public void forEachNear(String hex, EntryVisitor visitor) {
+        int target = palette.idOf(hex);
+        if (target >= 0) {
+            forEachNear(target, visitor);
+            return;
+        }
+
+        Entries entries = query(snapshot, snapshot.getLabIndex(), ColorMath.hexToLab(hex));
+        int[] sortedRows = new int[entries.size];
+        double[] sortedDeltaE = new double[entries.size];
+        entries.sortInto(sortedRows, sortedDeltaE, 0);
+        for (int i = 0; i < sortedRows.length; i++) {
+            visitor.accept(sortedRows[i], sortedDeltaE[i]);
+        }
+    }
+
+    /**
+     * Growable row/ΔE pairs for one target while building
+     */
+    private static final class Entries {
+        int[] rows = new int[8];
+        double[] deltaE = new double[8];
+        int size = 0;
+
+        void add(int row, double distance) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                deltaE = Arrays.copyOf(deltaE, size * 2);
+            }
+            rows[size] = row;
+            deltaE[size] = distance;
+            size++;
+        }
+
+        /**
+         * Copy into the flat arrays at offset, ordered by ΔE then row
+         */
+        void sortInto(int[] outRows, double[] outDeltaE, int offset) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> {
+                int byDeltaE = Double.compare(deltaE[a], deltaE[b]);
+                return byDeltaE != 0 ? byDeltaE : Integer.compare(rows[a], rows[b]);
+            });
+            for (int i = 0; i < size; i++) {
+                outRows[offset + i] = rows[order[i]];
+                outDeltaE[offset + i] = deltaE[order[i]];
+            }
+        }
+    }
+}
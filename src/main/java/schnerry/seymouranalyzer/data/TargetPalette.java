@@ -0,0 +1,80 @@
+package schnerry.seymouranalyzer.data;
+
+import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
+import schnerry.seymouranalyzer.util.ColorMath;
+
+import java.util.*;
+
+/**
+ * Every target hex pieces get compared against - database targets, fade stages, checklist stages
+ * and the user's custom colors - deduplicated, each with a stable id and its LAB color
+ *
+ * Immutable. TargetIndex lists collection pieces near each entry
+ */
+public final class TargetPalette {
+    private static volatile TargetPalette current;
+
+    private final Map<String, String> customColors;
+    private final String[] hexes;
+    private final ColorMath.LAB[] labs;
+    private final Map<String, Integer> idByHex;
+
+    private TargetPalette(Map<String, String> customColors) {
+        this.customColors = customColors;
+
+        Set<String> unique = new LinkedHashSet<>();
+        ColorDatabase database = ColorDatabase.getInstance();
+        database.getTargetColors().values().forEach(hex -> unique.add(hex.toUpperCase()));
+        database.getFadeDyes().values().forEach(hex -> unique.add(hex.toUpperCase()));
+
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        for (ChecklistCatalog.Category category : catalog.getNormalCategories().values()) {
+            category.stages.forEach(stage -> unique.add(stage.hex));
+        }
+        for (ChecklistCatalog.Category category : catalog.getFadeDyeCategories().values()) {
+            category.stages.forEach(stage -> unique.add(stage.hex));
+        }
+        customColors.values().forEach(hex -> unique.add(hex.toUpperCase()));
+
+        this.hexes = unique.toArray(new String[0]);
+        this.labs = new ColorMath.LAB[hexes.length];
+        this.idByHex = new HashMap<>(hexes.length * 2);
+        for (int i = 0; i < hexes.length; i++) {
+            labs[i] = ColorMath.hexToLab(hexes[i]);
+            idByHex.put(hexes[i], i);
+        }
+    }
+
+    /**
+     * Palette for the current custom colors - the same instance until they change
+     */
+    public static TargetPalette current() {
+        Map<String, String> customColors = ColorAnalyzer.getInstance().getSettings().getCustomColors();
+        TargetPalette palette = current;
+        if (palette == null || (palette.customColors != customColors && !palette.customColors.equals(customColors))) {
+            palette = new TargetPalette(Map.copyOf(customColors));
+            current = palette;
+        }
+        return palette;
+    }
+
+    public int size() {
+        return hexes.length;
+    }
+
+    /**
+     * Id of a hex (any case), -1 if it isn't in the palette
+     */
+    public int idOf(String hex) {
+        Integer id = idByHex.get(hex.toUpperCase());
+        return id != null ? id : -1;
+    }
+
+    public String hex(int id) {
+        return hexes[id];
+    }
+
+    public ColorMath.LAB lab(int id) {
+        return labs[id];
+    }
+}
@@ -0,0 +1,122 @@
+package schnerry.seymouranalyzer.debug;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+import schnerry.seymouranalyzer.Seymouranalyzer;
+import schnerry.seymouranalyzer.data.*;
+import schnerry.seymouranalyzer.gui.DatabaseFilterEngine;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * /seymour debug loadtest <n> - times the heavy paths against a synthetic collection of n pieces
+ * Runs in a scratch collection under config/seymouranalyzer/loadtest, never the real one,
+ * and deletes it afterwards
+ */
+public class LoadTest {
+    private static final long SEED = 0x5E7_0A11L;
+    private static final AtomicBoolean running = new AtomicBoolean(false);
+
+    private LoadTest() {}
+
+    public static boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Start a load test on a background thread - false if one is already running
+     */
+    public static boolean start(int count) {
+        if (!running.compareAndSet(false, true)) return false;
+
+        Thread thread = new Thread(() -> {
+            try {
+                run(count);
+            } catch (Exception e) {
+                Seymouranalyzer.LOGGER.error("Load test failed", e);
+                report("§cLoad test failed: " + e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        }, "Seymour-LoadTest");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private static void run(int count) {
+        List<String> lines = new ArrayList<>();
+        File directory = DataDirectory.get().resolve("loadtest").toFile();
+
+        long start = System.nanoTime();
+        List<ArmorPiece> pieces = SyntheticCollection.generate(count, SEED);
+        lines.add(line("Generate + analyze", start));
+
+        CollectionManager scratch = CollectionManager.openScratch(directory);
+        scratch.clear();
+
+        start = System.nanoTime();
+        scratch.addPieces(pieces);
+        scratch.forceSync();
+        lines.add(line("Save", start) + " §8(" + (scratch.getLastSaveBytes() / 1024) + " KB, write "
+            + scratch.getLastSaveMillis() + "ms)");
+
+        start = System.nanoTime();
+        scratch = CollectionManager.openScratch(directory);
+        lines.add(line("Load", start) + " §8(" + scratch.size() + " pieces)");
+
+        start = System.nanoTime();
+        int caches = ChecklistCacheGenerator.computeAllCaches(scratch.getCollection());
+        lines.add(line("Checklist regeneration", start) + " §8(" + caches + " categories)");
+
+        CollectionSnapshot snapshot = scratch.getSnapshot();
+        start = System.nanoTime();
+        long edges = snapshot.getNeighbourGraph().edgeCount();
+        lines.add(line("Neighbour graph", start) + " §8(" + edges + " edges)");
+
+        start = System.nanoTime();
+        int sets = BestSetsCalculator.calculate(snapshot, progress -> {}).size();
+        lines.add(line("Best sets", start) + " §8(" + sets + " sets)");
+
+        CollectionManager filterSource = scratch;
+        DatabaseFilterEngine engine = new DatabaseFilterEngine(result -> {}, filterSource::getSnapshot);
+        engine.setSource(new ArrayList<>(scratch.getCollection().values()));
+
+        start = System.nanoTime();
+        engine.filterNow(new DatabaseFilterEngine.Query("", null, false, true, "deltaE", true));
+        lines.add(line("DB filter (sort ΔE, cold)", start));
+
+        start = System.nanoTime();
+        int textHits = engine.filterNow(new DatabaseFilterEngine.Query("jacket", null, false, true, "name", true)).pieces.size();
+        lines.add(line("DB filter (text)", start) + " §8(" + textHits + " rows)");
+
+        start = System.nanoTime();
+        int hexHits = engine.filterNow(new DatabaseFilterEngine.Query("", "FF0000", false, true, null, true)).pieces.size();
+        lines.add(line("DB filter (hex search)", start) + " §8(" + hexHits + " rows)");
+
+        File file = scratch.getCollectionFile();
+        if (file.exists() && !file.delete()) {
+            Seymouranalyzer.LOGGER.warn("Failed to delete load test collection {}", file);
+        }
+
+        Seymouranalyzer.LOGGER.info("[LoadTest] {} pieces: {}", count, lines);
+        report("§7Load test with §e" + count + " §7pieces:");
+        lines.forEach(LoadTest::report);
+    }
+
+    private static String line(String label, long startNanos) {
+        return String.format("§7%s: §f%.1fms", label, (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private static void report(String message) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        client.execute(() -> {
+            if (client.player != null) {
+                client.player.sendMessage(Text.literal("§a[Seymour Analyzer] " + message), false);
+            }
+        });
+    }
+}
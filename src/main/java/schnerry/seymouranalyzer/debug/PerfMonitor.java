@@ -0,0 +1,206 @@
+package schnerry.seymouranalyzer.debug;
+
+import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-hook frame-time instrumentation, toggled with /seymour perf
+ * Hooks call start() / stop(hook, start); while disabled start() returns 0 and stop() returns
+ * immediately, so the cost is one static boolean read per hook
+ *
+ * All hooks run on the client/render thread, so timers are not synchronized
+ */
+public class PerfMonitor {
+    public static final int DRAW_SLOT = 0;
+    public static final int INFO_BOX = 1;
+    public static final int TOOLTIP = 2;
+    public static final int BLOCK_HIGHLIGHTS = 3;
+    public static final int SCANNER_TICK = 4;
+
+    private static final String[] HOOK_NAMES = {
+        "HandledScreen.drawSlot", "InfoBox.render", "HexTooltip.onTooltip", "BlockHighlighter.render", "ChestScanner.tick"
+    };
+
+    // Rolling window per hook for percentiles
+    private static final int WINDOW = 1024;
+
+    private static boolean enabled = false;
+    private static boolean overlayEnabled = false;
+    private static boolean overlayRegistered = false;
+
+    // Overlay re-sorts the windows at most this often
+    private static final long OVERLAY_REFRESH_MS = 500;
+    private static List<Stats> overlayStats = List.of();
+    private static long overlayStatsTime = 0;
+
+    private static final Timer[] TIMERS = new Timer[HOOK_NAMES.length];
+    static {
+        for (int i = 0; i < TIMERS.length; i++) {
+            TIMERS[i] = new Timer(HOOK_NAMES[i]);
+        }
+    }
+
+    /**
+     * Rolling nanosecond samples and totals for one hook
+     */
+    private static final class Timer {
+        final String name;
+        final long[] samples = new long[WINDOW];
+        int next = 0;
+        int filled = 0;
+        long calls = 0;
+        long totalNanos = 0;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW;
+            if (filled < WINDOW) filled++;
+            calls++;
+            totalNanos += nanos;
+        }
+
+        void reset() {
+            next = 0;
+            filled = 0;
+            calls = 0;
+            totalNanos = 0;
+        }
+
+        Stats stats() {
+            long[] sorted = Arrays.copyOf(samples, filled);
+            Arrays.sort(sorted);
+            return new Stats(name, calls, calls > 0 ? totalNanos / calls : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+
+    /**
+     * Immutable summary of one hook's recent samples (nanoseconds)
+     */
+    public static final class Stats {
+        public final String name;
+        public final long calls;
+        public final long mean;
+        public final long p50;
+        public final long p95;
+        public final long p99;
+        public final long max;
+
+        Stats(String name, long calls, long mean, long p50, long p95, long p99, long max) {
+            this.name = name;
+            this.calls = calls;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+    }
+
+    private PerfMonitor() {}
+
+    /**
+     * Start timing a hook - returns 0 when instrumentation is disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Finish timing a hook started with start()
+     */
+    public static void stop(int hook, long start) {
+        if (start == 0L) return;
+        TIMERS[hook].record(System.nanoTime() - start);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        if (!value) {
+            overlayEnabled = false;
+        }
+    }
+
+    public static void reset() {
+        for (Timer timer : TIMERS) {
+            timer.reset();
+        }
+    }
+
+    public static List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>(TIMERS.length);
+        for (Timer timer : TIMERS) {
+            stats.add(timer.stats());
+        }
+        return stats;
+    }
+
+    public static boolean isOverlayEnabled() {
+        return overlayEnabled;
+    }
+
+    /**
+     * Toggle the on-screen overlay - also enables timing, since the overlay would be empty otherwise
+     */
+    @SuppressWarnings("deprecation")
+    public static void setOverlayEnabled(boolean value) {
+        overlayEnabled = value;
+        if (value) {
+            enabled = true;
+            if (!overlayRegistered) {
+                HudRenderCallback.EVENT.register((context, tickCounter) -> renderOverlay(context));
+                overlayRegistered = true;
+            }
+        }
+    }
+
+    /**
+     * Format nanoseconds as microseconds with one decimal
+     */
+    public static String formatMicros(long nanos) {
+        return String.format("%.1fµs", nanos / 1000.0);
+    }
+
+    private static void renderOverlay(DrawContext context) {
+        if (!overlayEnabled) return;
+
+        long now = System.currentTimeMillis();
+        if (now - overlayStatsTime >= OVERLAY_REFRESH_MS) {
+            overlayStats = getStats();
+            overlayStatsTime = now;
+        }
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        int x = 4;
+        int y = 4;
+        context.drawTextWithShadow(client.textRenderer, "§a[Seymour] §7Perf §8(p50 / p95 / p99)", x, y, 0xFFFFFFFF);
+        y += 10;
+
+        for (Stats stats : overlayStats) {
+            String line = "§7" + stats.name + ": §f" + formatMicros(stats.p50) + " §7/ §e" + formatMicros(stats.p95) +
+                " §7/ §c" + formatMicros(stats.p99) + " §8(" + stats.calls + ")";
+            context.drawTextWithShadow(client.textRenderer, line, x, y, 0xFFFFFFFF);
+            y += 10;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package schnerry.seymouranalyzer.gui;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
@@ -11,12 +10,11 @@ import schnerry.seymouranalyzer.Seymouranalyzer;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.ChecklistCache;
+import schnerry.seymouranalyzer.data.ChecklistCacheGenerator;
+import schnerry.seymouranalyzer.data.ChecklistCatalog;
 import schnerry.seymouranalyzer.data.CollectionManager;
 import schnerry.seymouranalyzer.util.ColorMath;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -24,7 +22,8 @@ import java.util.*;
  * Ported from ChatTriggers ArmorChecklistGUI.js
  */
 public class ArmorChecklistScreen extends ModScreen {
-    private final Map<String, List<ChecklistEntry>> categories = new LinkedHashMap<>();
+    private final Map<String, List<ChecklistEntry>> entriesByCategory = new HashMap<>();
+    private ChecklistCatalog.Category customCategory = null;
     private final List<String> normalPageOrder = new ArrayList<>();
     private final List<String> fadeDyePageOrder = new ArrayList<>();
     private List<String> pageOrder = new ArrayList<>();
@@ -43,6 +42,10 @@ public class ArmorChecklistScreen extends ModScreen {
     // Context menu
     private ContextMenu contextMenu = null;
 
+    // Background match calculation for the current page
+    private long matchRequest = 0; // Bumped on every page change so stale results are dropped
+    private boolean matchesPending = false;
+
     // Flag to track when custom colors need reloading
     private static boolean customColorsNeedReload = false;
 
@@ -56,13 +59,19 @@ public class ArmorChecklistScreen extends ModScreen {
     }
 
     private static class ChecklistEntry {
-        String hex;
-        String name;
-        List<String> pieces; // helmet, chestplate, leggings, boots
+        final ChecklistCatalog.Stage stage;
+        final String hex;
+        final String name;
 
         // Completion tracking
         Map<String, ArmorPiece> foundPieces = new HashMap<>();
         Map<String, String> foundPieceUuids = new HashMap<>(); // pieceType -> UUID
+
+        ChecklistEntry(ChecklistCatalog.Stage stage) {
+            this.stage = stage;
+            this.hex = stage.hex;
+            this.name = stage.name;
+        }
     }
 
     public ArmorChecklistScreen(Screen parent) {
@@ -85,136 +94,24 @@ public class ArmorChecklistScreen extends ModScreen {
     }
 
     private void loadChecklistData() {
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/checklistdata.json");
-
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load checklistdata.json");
-                return;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-
-            // Load categories
-            JsonObject categoriesJson = root.getAsJsonObject("categories");
-            for (String categoryName : categoriesJson.keySet()) {
-                List<ChecklistEntry> entries = new ArrayList<>();
-                var array = categoriesJson.getAsJsonArray(categoryName);
-
-                for (var element : array) {
-                    var obj = element.getAsJsonObject();
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = obj.get("hex").getAsString().toUpperCase();
-                    entry.name = obj.get("name").getAsString();
-                    entry.pieces = new ArrayList<>();
-
-                    var piecesArray = obj.getAsJsonArray("pieces");
-                    for (var pieceElement : piecesArray) {
-                        entry.pieces.add(pieceElement.getAsString());
-                    }
-
-                    entries.add(entry);
-                }
-
-                categories.put(categoryName, entries);
-            }
-
-            // Load page order
-            var pageOrderArray = root.getAsJsonArray("normalPageOrder");
-            for (var element : pageOrderArray) {
-                normalPageOrder.add(element.getAsString());
-            }
-
-            // Load fade dyes from colors.json
-            loadFadeDyes();
-
-            // Load custom colors from config
-            loadCustomColors();
-
-            // Build fade dye page order from fade dye categories
-            String[] fadeDyes = {"Aurora", "Black Ice", "Frog", "Hellebore", "Kingfisher", "Lava", "Lucky", "Marine",
-                                "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
-                                "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"};
-            for (String fadeDye : fadeDyes) {
-                if (categories.containsKey(fadeDye)) {
-                    fadeDyePageOrder.add(fadeDye);
-                }
-            }
-
-            // Start with normal page order
-            pageOrder = normalPageOrder;
-
-            Seymouranalyzer.LOGGER.info("Loaded {} checklist categories (including {} fade dyes)",
-                categories.size(), fadeDyePageOrder.size());
-
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Error loading checklist data", e);
-        }
-    }
-
-    private void loadFadeDyes() {
-        try {
-            InputStream inputStream = Seymouranalyzer.class.getResourceAsStream("/data/seymouranalyzer/colors.json");
-
-            if (inputStream == null) {
-                Seymouranalyzer.LOGGER.error("Could not load colors.json for fade dyes");
-                return;
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), JsonObject.class);
-            JsonObject fadeDyes = root.getAsJsonObject("FADE_DYES");
-
-            if (fadeDyes == null) {
-                Seymouranalyzer.LOGGER.warn("No FADE_DYES section found in colors.json");
-                return;
-            }
-
-            // Group stages by fade dye name
-            Map<String, List<ChecklistEntry>> fadeDyeCategories = new LinkedHashMap<>();
-
-            for (String key : fadeDyes.keySet()) {
-                // Parse "Aurora - Stage 1" format
-                String[] parts = key.split(" - Stage ");
-                if (parts.length == 2) {
-                    String dyeName = parts[0];
-                    String hexValue = fadeDyes.get(key).getAsString().toUpperCase();
-
-                    fadeDyeCategories.putIfAbsent(dyeName, new ArrayList<>());
-
-                    ChecklistEntry entry = new ChecklistEntry();
-                    entry.hex = hexValue;
-                    entry.name = key;
-                    entry.pieces = new ArrayList<>();
-                    entry.pieces.add("helmet");
-                    entry.pieces.add("chestplate");
-                    entry.pieces.add("leggings");
-                    entry.pieces.add("boots");
-
-                    fadeDyeCategories.get(dyeName).add(entry);
-                }
-            }
-
-            // Add all fade dye categories to main categories map
-            categories.putAll(fadeDyeCategories);
+        ChecklistCatalog catalog = ChecklistCatalog.getInstance();
+        normalPageOrder.addAll(catalog.getNormalPageOrder());
+        fadeDyePageOrder.addAll(catalog.getFadeDyePageOrder());
 
-            Seymouranalyzer.LOGGER.info("Loaded {} fade dye categories with {} total stages",
-                fadeDyeCategories.size(),
-                fadeDyeCategories.values().stream().mapToInt(List::size).sum());
+        // Load custom colors from config
+        loadCustomColors();
 
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Error loading fade dyes", e);
-        }
+        // Start with normal page order
+        pageOrder = normalPageOrder;
     }
 
     private void loadCustomColors() {
         try {
-            ClothConfig config = ClothConfig.getInstance();
-            Map<String, String> customColors = config.getCustomColors();
+            Map<String, String> customColors = ClothConfig.getInstance().getCustomColors();
 
             // Remove existing Custom category if it exists (for reload support)
-            categories.remove("Custom");
+            customCategory = null;
+            entriesByCategory.remove("Custom");
             normalPageOrder.remove("Custom");
 
             if (customColors.isEmpty()) {
@@ -222,27 +119,8 @@ public class ArmorChecklistScreen extends ModScreen {
                 return;
             }
 
-            List<ChecklistEntry> customEntries = new ArrayList<>();
-
-            for (Map.Entry<String, String> colorEntry : customColors.entrySet()) {
-                String colorName = colorEntry.getKey();
-                String hexValue = colorEntry.getValue().toUpperCase();
-
-                ChecklistEntry entry = new ChecklistEntry();
-                entry.hex = hexValue;
-                entry.name = colorName;
-                entry.pieces = new ArrayList<>();
-                // Custom colors apply to all piece types
-                entry.pieces.add("helmet");
-                entry.pieces.add("chestplate");
-                entry.pieces.add("leggings");
-                entry.pieces.add("boots");
-
-                customEntries.add(entry);
-            }
-
-            // Add Custom category to categories map
-            categories.put("Custom", customEntries);
+            // Custom colors apply to all piece types
+            customCategory = ChecklistCatalog.custom("Custom", customColors);
 
             // Add "Custom" to the normal page order (at the end, before "Other" if it exists, or just at the end)
             int otherIndex = normalPageOrder.indexOf("Other Armor");
@@ -254,13 +132,35 @@ public class ArmorChecklistScreen extends ModScreen {
                 normalPageOrder.add("Custom");
             }
 
-            Seymouranalyzer.LOGGER.info("Loaded {} custom colors for checklist", customEntries.size());
+            Seymouranalyzer.LOGGER.info("Loaded {} custom colors for checklist", customCategory.stages.size());
 
         } catch (Exception e) {
             Seymouranalyzer.LOGGER.error("Error loading custom colors for checklist", e);
         }
     }
 
+    private ChecklistCatalog.Category categoryFor(String categoryName) {
+        if ("Custom".equals(categoryName) && customCategory != null) {
+            return customCategory;
+        }
+        return ChecklistCatalog.getInstance().getCategory(categoryName);
+    }
+
+    /**
+     * Rows of a page, created the first time the page is shown
+     */
+    private List<ChecklistEntry> entriesFor(String categoryName) {
+        return entriesByCategory.computeIfAbsent(categoryName, name -> {
+            ChecklistCatalog.Category category = categoryFor(name);
+            if (category == null) return null;
+            List<ChecklistEntry> entries = new ArrayList<>(category.stages.size());
+            for (ChecklistCatalog.Stage stage : category.stages) {
+                entries.add(new ChecklistEntry(stage));
+            }
+            return entries;
+        });
+    }
+
     /**
      * Reload custom colors if they were modified
      */
@@ -284,14 +184,19 @@ public class ArmorChecklistScreen extends ModScreen {
         }
     }
 
+    /**
+     * Show matches for the current page - from ChecklistCache when valid, otherwise computed in the background
+     * by ChecklistCacheGenerator while the page shows a placeholder
+     */
     private void calculateOptimalMatches() {
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
         ChecklistCache cache = ChecklistCache.getInstance();
+        matchRequest++;
+        matchesPending = false;
 
         if (pageOrder.isEmpty() || currentPage >= pageOrder.size()) return;
 
         String currentCategory = pageOrder.get(currentPage);
-        List<ChecklistEntry> entries = categories.get(currentCategory);
+        List<ChecklistEntry> entries = entriesFor(currentCategory);
         if (entries == null) return;
 
         // Check if we have cached data for this category
@@ -322,47 +227,7 @@ public class ArmorChecklistScreen extends ModScreen {
 
             if (cacheValid) {
                 Seymouranalyzer.LOGGER.info("Using cached matches for category: {}", currentCategory);
-
-                // Restore matches from cache
-                for (int i = 0; i < entries.size(); i++) {
-                    ChecklistEntry entry = entries.get(i);
-                    entry.foundPieces.clear();
-                    entry.foundPieceUuids.clear();
-
-                    ChecklistCache.StageMatches stageMatches = categoryCache.matchesByIndex.get(i);
-                    if (stageMatches != null && stageMatches.calculated) {
-                    // Restore each piece match
-                    if (stageMatches.helmet != null) {
-                        ArmorPiece piece = collection.get(stageMatches.helmet.uuid);
-                        if (piece != null) {
-                            entry.foundPieces.put("helmet", piece);
-                            entry.foundPieceUuids.put("helmet", stageMatches.helmet.uuid);
-                        }
-                    }
-                    if (stageMatches.chestplate != null) {
-                        ArmorPiece piece = collection.get(stageMatches.chestplate.uuid);
-                        if (piece != null) {
-                            entry.foundPieces.put("chestplate", piece);
-                            entry.foundPieceUuids.put("chestplate", stageMatches.chestplate.uuid);
-                        }
-                    }
-                    if (stageMatches.leggings != null) {
-                        ArmorPiece piece = collection.get(stageMatches.leggings.uuid);
-                        if (piece != null) {
-                            entry.foundPieces.put("leggings", piece);
-                            entry.foundPieceUuids.put("leggings", stageMatches.leggings.uuid);
-                        }
-                    }
-                    if (stageMatches.boots != null) {
-                        ArmorPiece piece = collection.get(stageMatches.boots.uuid);
-                        if (piece != null) {
-                            entry.foundPieces.put("boots", piece);
-                            entry.foundPieceUuids.put("boots", stageMatches.boots.uuid);
-                        }
-                    }
-                }
-            }
-
+                applyMatches(entries, categoryCache);
                 return; // Cache hit, no need to recalculate
             } else {
                 // Cache invalid, clear it for this category
@@ -375,162 +240,57 @@ public class ArmorChecklistScreen extends ModScreen {
             }
         }
 
-        // No cache - calculate optimal matches
+        // No cache - calculate optimal matches off the render thread
         Seymouranalyzer.LOGGER.info("Calculating optimal matches for category: {}", currentCategory);
+        for (ChecklistEntry entry : entries) {
+            entry.foundPieces.clear();
+            entry.foundPieceUuids.clear();
+        }
+        matchesPending = true;
 
-        // Create new category cache
-        categoryCache = new ChecklistCache.CategoryCache();
-        categoryCache.category = currentCategory;
-        categoryCache.isCalculating = true;
-
-        // For each piece type, build a list of all candidates across all stages
-        String[] pieceTypes = {"helmet", "chestplate", "leggings", "boots"};
-
-        for (String pieceType : pieceTypes) {
-            List<CandidateMatch> candidates = new ArrayList<>();
-
-            // Build candidate list for ALL entries (not just those that need this piece type)
-            for (int stageIdx = 0; stageIdx < entries.size(); stageIdx++) {
-                ChecklistEntry entry = entries.get(stageIdx);
-
-                // Find all matching pieces for this stage and piece type
-                for (Map.Entry<String, ArmorPiece> collectionEntry : collection.entrySet()) {
-                    String uuid = collectionEntry.getKey();
-                    ArmorPiece piece = collectionEntry.getValue();
-                    String pieceName = piece.getPieceName().toLowerCase();
-                    boolean typeMatches = false;
-
-                    if (pieceType.equals("helmet") && (pieceName.contains("helm") || pieceName.contains("hat") || pieceName.contains("hood") || pieceName.contains("crown"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("chestplate") && (pieceName.contains("chest") || pieceName.contains("tunic") || pieceName.contains("jacket"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("leggings") && (pieceName.contains("legging") || pieceName.contains("pants") || pieceName.contains("trousers"))) {
-                        typeMatches = true;
-                    } else if (pieceType.equals("boots") && (pieceName.contains("boot") || pieceName.contains("shoes") || pieceName.contains("sneakers"))) {
-                        typeMatches = true;
-                    }
-
-                    if (typeMatches) {
-                        double deltaE = ColorMath.calculateDeltaE(entry.hex, piece.getHexcode());
-                        if (deltaE <= 5.0) {
-                            // Mark if this piece is actually needed for this entry
-                            boolean isNeeded = entry.pieces.contains(pieceType);
-                            candidates.add(new CandidateMatch(stageIdx, uuid, piece, deltaE, isNeeded));
-                        }
-                    }
-                }
+        long request = matchRequest;
+        ChecklistCacheGenerator.generateCategoryAsync(categoryFor(currentCategory)).whenComplete((result, error) -> {
+            if (error != null) {
+                Seymouranalyzer.LOGGER.error("Failed to calculate matches for category {}", currentCategory, error);
             }
-
-            // Sort candidates: first by priority (needed pieces first), then by deltaE
-            candidates.sort((a, b) -> {
-                if (a.isNeeded != b.isNeeded) {
-                    return a.isNeeded ? -1 : 1; // Needed pieces first
+            MinecraftClient.getInstance().execute(() -> {
+                if (request != matchRequest) return; // Page changed while calculating
+                matchesPending = false;
+                if (result != null) {
+                    applyMatches(entries, result);
                 }
-                return Double.compare(a.deltaE, b.deltaE); // Then by quality
             });
+        });
+    }
 
-            // Greedy assignment: assign each piece to the best available stage
-            Set<String> usedPieces = new HashSet<>();
-            Set<Integer> assignedStages = new HashSet<>();
-
-            for (CandidateMatch candidate : candidates) {
-                String uuid = candidate.uuid;
-
-                if (!usedPieces.contains(uuid) && !assignedStages.contains(candidate.stageIndex)) {
-                    // Assign this piece to this stage
-                    ChecklistEntry targetEntry = entries.get(candidate.stageIndex);
-                    targetEntry.foundPieces.put(pieceType, candidate.piece);
-                    targetEntry.foundPieceUuids.put(pieceType, uuid);
-                    usedPieces.add(uuid);
-                    assignedStages.add(candidate.stageIndex);
-                }
-            }
-        }
+    /**
+     * Fill entries' found pieces from a category cache, skipping pieces no longer in the collection
+     */
+    private void applyMatches(List<ChecklistEntry> entries, ChecklistCache.CategoryCache categoryCache) {
+        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
 
-        // Save to cache
         for (int i = 0; i < entries.size(); i++) {
             ChecklistEntry entry = entries.get(i);
-            ChecklistCache.StageMatches stageMatches = new ChecklistCache.StageMatches();
-            stageMatches.stageHex = entry.hex;
-            stageMatches.calculated = true;
-
-            // Save each piece match with actual UUID
-            ArmorPiece helmet = entry.foundPieces.get("helmet");
-            if (helmet != null) {
-                String uuid = entry.foundPieceUuids.get("helmet");
-                stageMatches.helmet = new ChecklistCache.MatchInfo(
-                    helmet.getPieceName(),
-                    helmet.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, helmet.getHexcode()),
-                    uuid
-                );
-            }
-
-            ArmorPiece chestplate = entry.foundPieces.get("chestplate");
-            if (chestplate != null) {
-                String uuid = entry.foundPieceUuids.get("chestplate");
-                stageMatches.chestplate = new ChecklistCache.MatchInfo(
-                    chestplate.getPieceName(),
-                    chestplate.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, chestplate.getHexcode()),
-                    uuid
-                );
-            }
-
-            ArmorPiece leggings = entry.foundPieces.get("leggings");
-            if (leggings != null) {
-                String uuid = entry.foundPieceUuids.get("leggings");
-                stageMatches.leggings = new ChecklistCache.MatchInfo(
-                    leggings.getPieceName(),
-                    leggings.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, leggings.getHexcode()),
-                    uuid
-                );
-            }
+            entry.foundPieces.clear();
+            entry.foundPieceUuids.clear();
 
-            ArmorPiece boots = entry.foundPieces.get("boots");
-            if (boots != null) {
-                String uuid = entry.foundPieceUuids.get("boots");
-                stageMatches.boots = new ChecklistCache.MatchInfo(
-                    boots.getPieceName(),
-                    boots.getHexcode(),
-                    ColorMath.calculateDeltaE(entry.hex, boots.getHexcode()),
-                    uuid
-                );
-            }
+            ChecklistCache.StageMatches stageMatches = categoryCache.matchesByIndex.get(i);
+            if (stageMatches == null || !stageMatches.calculated) continue;
 
-            categoryCache.matchesByIndex.put(i, stageMatches);
+            restoreMatch(entry, "helmet", stageMatches.helmet, collection);
+            restoreMatch(entry, "chestplate", stageMatches.chestplate, collection);
+            restoreMatch(entry, "leggings", stageMatches.leggings, collection);
+            restoreMatch(entry, "boots", stageMatches.boots, collection);
         }
-
-        categoryCache.isCalculating = false;
-
-        // Store in cache system
-        if (fadeDyeMode) {
-            cache.setFadeDyeOptimalCache(currentCategory, categoryCache);
-        } else {
-            cache.setNormalColorCache(currentCategory, categoryCache);
-        }
-
-        // Save to disk
-        cache.save();
-
-        Seymouranalyzer.LOGGER.info("Cached optimal matches for category: {}", currentCategory);
     }
 
-    // Helper class for optimal matching
-    private static class CandidateMatch {
-        int stageIndex;
-        String uuid;
-        ArmorPiece piece;
-        double deltaE;
-        boolean isNeeded; // True if this piece type is actually needed for this stage
-
-        CandidateMatch(int stageIndex, String uuid, ArmorPiece piece, double deltaE, boolean isNeeded) {
-            this.stageIndex = stageIndex;
-            this.uuid = uuid;
-            this.piece = piece;
-            this.deltaE = deltaE;
-            this.isNeeded = isNeeded;
+    private void restoreMatch(ChecklistEntry entry, String pieceType, ChecklistCache.MatchInfo match,
+                              Map<String, ArmorPiece> collection) {
+        if (match == null) return;
+        ArmorPiece piece = collection.get(match.uuid);
+        if (piece != null) {
+            entry.foundPieces.put(pieceType, piece);
+            entry.foundPieceUuids.put(pieceType, match.uuid);
         }
     }
 
@@ -722,7 +482,7 @@ public class ArmorChecklistScreen extends ModScreen {
         context.drawTextWithShadow(this.textRenderer, pageInfo, this.width / 2 - pageInfoWidth / 2, 30, 0xFFFFFFFF);
 
         // Draw checklist entries
-        List<ChecklistEntry> entries = categories.get(currentCategory);
+        List<ChecklistEntry> entries = entriesFor(currentCategory);
         if (entries != null) {
             drawChecklist(context, entries);
             drawStatsCounter(context, entries);
@@ -781,6 +541,13 @@ public class ArmorChecklistScreen extends ModScreen {
         context.fill(boxX, boxY, boxX + 2, boxY + boxHeight, 0xFF646464);
         context.fill(boxX + boxWidth - 2, boxY, boxX + boxWidth, boxY + boxHeight, 0xFF646464);
 
+        if (matchesPending) {
+            String calculating = "§7Calculating matches...";
+            context.drawTextWithShadow(this.textRenderer, calculating,
+                boxX + (boxWidth - this.textRenderer.getWidth(calculating)) / 2, boxY + 14, 0xFFFFFFFF);
+            return;
+        }
+
         // Calculate stats
         int t1Count = 0, t2Count = 0, missingCount = 0, totalSlots = 0;
         String[] allPieceTypes = {"helmet", "chestplate", "leggings", "boots"};
@@ -788,7 +555,7 @@ public class ArmorChecklistScreen extends ModScreen {
         for (ChecklistEntry entry : entries) {
             for (String pieceType : allPieceTypes) {
                 // Skip if piece-to-piece filter is on and piece not needed
-                if (pieceToPieceMode && !entry.pieces.contains(pieceType)) {
+                if (pieceToPieceMode && !entry.stage.needs(pieceType)) {
                     continue;
                 }
 
@@ -865,8 +632,7 @@ public class ArmorChecklistScreen extends ModScreen {
 
     private void drawChecklistRow(DrawContext context, ChecklistEntry entry, int y) {
         // Draw hex color box (50px wide to fit hex code)
-        ColorMath.RGB rgb = ColorMath.hexToRgb(entry.hex);
-        int color = 0xFF000000 | (rgb.r << 16) | (rgb.g << 8) | rgb.b;
+        int color = 0xFF000000 | entry.stage.rgb;
         context.fill(20, y, 70, y + 20, color);
 
         // Draw hex text on the color box
@@ -891,7 +657,7 @@ public class ArmorChecklistScreen extends ModScreen {
             int boxX = xPositions[i];
 
             // Check if this piece is required for this armor set
-            boolean isRequired = entry.pieces.contains(pieceType);
+            boolean isRequired = entry.stage.needs(pieceType);
 
             // Only hide non-required pieces when piece filter is enabled
             if (!isRequired && pieceToPieceMode) {
@@ -901,6 +667,13 @@ public class ArmorChecklistScreen extends ModScreen {
                 continue;
             }
 
+            // Matches still being calculated in the background
+            if (matchesPending) {
+                context.fill(boxX, y, boxX + 100, y + 20, 0xB0404040);
+                context.drawTextWithShadow(this.textRenderer, "§7...", boxX + 42, y + 6, 0xFFFFFFFF);
+                continue;
+            }
+
             // Check if we have a match
             ArmorPiece match = entry.foundPieces.get(pieceType);
 
@@ -949,7 +722,7 @@ public class ArmorChecklistScreen extends ModScreen {
                 // Continue to other handlers
             } else {
                 String currentCategory = pageOrder.get(currentPage);
-                List<ChecklistEntry> entries = categories.get(currentCategory);
+                List<ChecklistEntry> entries = entriesFor(currentCategory);
 
                 if (entries != null) {
                     int availableHeight = this.height - START_Y - 80;
@@ -994,7 +767,7 @@ public class ArmorChecklistScreen extends ModScreen {
         if (pageOrder.isEmpty() || currentPage >= pageOrder.size()) return false;
 
         String currentCategory = pageOrder.get(currentPage);
-        List<ChecklistEntry> entries = categories.get(currentCategory);
+        List<ChecklistEntry> entries = entriesFor(currentCategory);
         if (entries == null) return false;
 
         int availableHeight = this.height - START_Y - 80;
@@ -1146,7 +919,7 @@ public class ArmorChecklistScreen extends ModScreen {
         if (pageOrder.isEmpty() || currentPage >= pageOrder.size()) return false;
 
         String currentCategory = pageOrder.get(currentPage);
-        List<ChecklistEntry> entries = categories.get(currentCategory);
+        List<ChecklistEntry> entries = entriesFor(currentCategory);
 
         if (entries == null) return false;
 
@@ -1172,7 +945,7 @@ public class ArmorChecklistScreen extends ModScreen {
             }
 
             String currentCategory = pageOrder.get(currentPage);
-            List<ChecklistEntry> entries = categories.get(currentCategory);
+            List<ChecklistEntry> entries = entriesFor(currentCategory);
 
             if (entries != null) {
                 int availableHeight = this.height - START_Y - 80;
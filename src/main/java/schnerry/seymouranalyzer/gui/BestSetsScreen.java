@@ -5,67 +5,50 @@ import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.Click;
 import net.minecraft.text.Text;
-import schnerry.seymouranalyzer.data.ArmorPiece;
-import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.BestSetsCalculator;
+import schnerry.seymouranalyzer.data.BestSetsCalculator.ArmorSet;
+import schnerry.seymouranalyzer.data.BestSetsService;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
- * Best Sets GUI - finds the truly optimal best matching 4-piece armor sets
- *
- * Algorithm:
- * 1. Generates ALL valid 4-piece combinations (where all pairwise ΔE ≤ 5.0)
- * 2. Sorts all combinations by average ΔE (best to worst)
- * 3. Greedily selects non-overlapping sets from the sorted list
- *
- * This guarantees the best possible sets based on average ΔE,
- * with each piece used only once across all selected sets.
+ * Best Sets GUI - shows the optimal non-overlapping 4-piece sets kept by BestSetsService
  */
 public class BestSetsScreen extends ModScreen {
     private List<ArmorSet> bestSets = new ArrayList<>();
-    private boolean isCalculating = false;
-    private int calculationProgress = 0;
+    private List<ArmorSet> shownResults = null; // Service list bestSets was taken from
+    private boolean wasUpdating = false;
     private int scrollOffset = 0;
     private ContextMenu contextMenu = null;
 
-    // Static cache to persist results across GUI opens/closes
-    private static List<ArmorSet> cachedBestSets = null;
-    private static int cachedCollectionSize = -1;
-    private static long cacheTimestamp = 0;
-
-    private static final int MAX_SETS = 100;
-    private static final double MAX_DELTA_E = 5.0;
+    private static final double MAX_DELTA_E = BestSetsCalculator.MAX_DELTA_E;
     private static final int ROW_HEIGHT = 80;
     private static final int START_Y = 90;
-    private static final long CACHE_VALIDITY_MS = 300000; // 5 minutes
 
     public BestSetsScreen(Screen parent) {
         super(Text.literal("Best Matching Sets"), parent);
 
-        // Load from cache if valid
-        int currentSize = CollectionManager.getInstance().getCollection().size();
-        long currentTime = System.currentTimeMillis();
-
-        if (cachedBestSets != null &&
-            cachedCollectionSize == currentSize &&
-            (currentTime - cacheTimestamp) < CACHE_VALIDITY_MS) {
-            bestSets = new ArrayList<>(cachedBestSets);
-            System.out.println("[Best Sets] Loaded " + bestSets.size() + " sets from cache");
+        // Show the last results straight away (kept across restarts) and bring them up to date in the background
+        BestSetsService service = BestSetsService.getInstance();
+        if (service.getResults() != null) {
+            service.requestUpdate(false);
         }
+        syncResults();
     }
 
     @Override
     protected void init() {
         super.init();
 
+        boolean isCalculating = BestSetsService.getInstance().isUpdating();
+        wasUpdating = isCalculating;
+
         // Calculate button - updates text based on isCalculating state
         ButtonWidget calculateButton = ButtonWidget.builder(
-            Text.literal(isCalculating ? "§7Calculating..." : "§aCalculate Best Sets"),
+            Text.literal(isCalculating ? "§7Calculating..." : bestSets.isEmpty() ? "§aCalculate Best Sets" : "§aRecalculate"),
             button -> {
-                if (!isCalculating) {
+                if (!BestSetsService.getInstance().isUpdating()) {
                     calculateBestSets();
                 }
             })
@@ -75,10 +58,30 @@ public class BestSetsScreen extends ModScreen {
         this.addDrawableChild(calculateButton);
     }
 
+    /**
+     * Pick up new results from the service - a reference check, so cheap enough for every frame
+     */
+    private void syncResults() {
+        List<ArmorSet> results = BestSetsService.getInstance().getResults();
+        if (results != shownResults) {
+            shownResults = results;
+            bestSets = results != null ? new ArrayList<>(results) : new ArrayList<>();
+            scrollOffset = Math.min(scrollOffset, Math.max(0, bestSets.size() - 5));
+        }
+    }
+
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         super.render(context, mouseX, mouseY, delta);
 
+        BestSetsService service = BestSetsService.getInstance();
+        boolean isCalculating = service.isUpdating();
+        int calculationProgress = service.getProgress();
+        syncResults();
+        if (isCalculating != wasUpdating) {
+            this.clearAndInit(); // Update button state
+        }
+
         // Title
         String title = "§l§nBest Matching Sets";
         int titleWidth = this.textRenderer.getWidth(title);
@@ -324,329 +327,9 @@ public class BestSetsScreen extends ModScreen {
     }
 
     private void calculateBestSets() {
-        isCalculating = true;
-        calculationProgress = 0;
-        bestSets.clear();
-
-        // Re-init to update button state
-        if (this.client != null) {
-            this.client.execute(this::init);
-        }
-
-        // Run calculation asynchronously
-        CompletableFuture.runAsync(() -> {
-            try {
-                performCalculation();
-            } catch (Exception e) {
-                e.printStackTrace();
-            } finally {
-                isCalculating = false;
-                calculationProgress = 100;
-
-                // Re-init to update button state back
-                if (this.client != null) {
-                    this.client.execute(this::init);
-                }
-            }
-        });
-    }
-
-    private void performCalculation() {
-        long startTime = System.currentTimeMillis();
-
-        // Categorize pieces by type
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
-
-        List<PieceWithLab> helmets = new ArrayList<>();
-        List<PieceWithLab> chestplates = new ArrayList<>();
-        List<PieceWithLab> leggings = new ArrayList<>();
-        List<PieceWithLab> boots = new ArrayList<>();
-
-        calculationProgress = 5;
-
-        // Pre-calculate LAB values for ALL pieces (huge optimization - done once instead of 6x per set)
-        for (ArmorPiece piece : collection.values()) {
-            if (piece.getHexcode() == null || piece.getPieceName() == null) continue;
-
-            String type = getPieceType(piece.getPieceName());
-            PieceWithLab pwl = new PieceWithLab(piece);
-
-            switch (type) {
-                case "helmet" -> helmets.add(pwl);
-                case "chestplate" -> chestplates.add(pwl);
-                case "leggings" -> leggings.add(pwl);
-                case "boots" -> boots.add(pwl);
-            }
-        }
-
-        System.out.println("[Best Sets] Pieces: " + helmets.size() + " helmets, " + chestplates.size() +
-                          " chests, " + leggings.size() + " legs, " + boots.size() + " boots");
-
-        calculationProgress = 10;
-
-        // Pre-filter: Remove pieces that can't possibly match with ANY other piece
-        helmets = filterViablePieces(helmets, Arrays.asList(chestplates, leggings, boots));
-        chestplates = filterViablePieces(chestplates, Arrays.asList(helmets, leggings, boots));
-        leggings = filterViablePieces(leggings, Arrays.asList(helmets, chestplates, boots));
-        boots = filterViablePieces(boots, Arrays.asList(helmets, chestplates, leggings));
-
-        System.out.println("[Best Sets] After filtering: " + helmets.size() + " helmets, " +
-                          chestplates.size() + " chests, " + leggings.size() + " legs, " +
-                          boots.size() + " boots");
-
-        calculationProgress = 15;
-
-        // Generate ALL valid 4-piece combinations and calculate their scores
-        List<ArmorSet> allValidSets = Collections.synchronizedList(new ArrayList<>());
-
-        long totalCombinations = (long) helmets.size() * chestplates.size() * leggings.size() * boots.size();
-        final long[] processedCombinations = {0};
-        final int[] lastProgress = {15};
-
-        System.out.println("[Best Sets] Total theoretical combinations: " + totalCombinations);
-
-        // Make lists final for lambda
-        final List<PieceWithLab> finalChestplates = chestplates;
-        final List<PieceWithLab> finalLeggings = leggings;
-        final List<PieceWithLab> finalBoots = boots;
-
-        // Process in parallel for better performance
-        helmets.parallelStream().forEach(helmet -> {
-            for (PieceWithLab chest : finalChestplates) {
-                // Quick validation - check if helmet-chest pair is within threshold
-                double hcDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, chest.lab);
-                if (hcDelta > MAX_DELTA_E) {
-                    synchronized (processedCombinations) {
-                        processedCombinations[0] += (long) finalLeggings.size() * finalBoots.size();
-                    }
-                    continue;
-                }
-
-                for (PieceWithLab leg : finalLeggings) {
-                    // Check if adding legs keeps us within threshold
-                    double hlDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, leg.lab);
-                    double clDelta = ColorMath.calculateDeltaEWithLab(chest.lab, leg.lab);
-
-                    if (hlDelta > MAX_DELTA_E || clDelta > MAX_DELTA_E) {
-                        synchronized (processedCombinations) {
-                            processedCombinations[0] += finalBoots.size();
-                        }
-                        continue;
-                    }
-
-                    for (PieceWithLab boot : finalBoots) {
-                        synchronized (processedCombinations) {
-                            processedCombinations[0]++;
-
-                            // Update progress every 5000 combinations (cap at 80 for this phase)
-                            if (processedCombinations[0] % 5000 == 0) {
-                                int newProgress = 15 + (int)((processedCombinations[0] * 65.0) / totalCombinations);
-                                newProgress = Math.min(80, newProgress);
-                                if (newProgress > lastProgress[0]) {
-                                    calculationProgress = newProgress;
-                                    lastProgress[0] = newProgress;
-                                }
-                            }
-                        }
-
-                        // Check if all pieces are different (no reuse within a set)
-                        if (helmet.piece.getUuid().equals(chest.piece.getUuid()) ||
-                            helmet.piece.getUuid().equals(leg.piece.getUuid()) ||
-                            helmet.piece.getUuid().equals(boot.piece.getUuid()) ||
-                            chest.piece.getUuid().equals(leg.piece.getUuid()) ||
-                            chest.piece.getUuid().equals(boot.piece.getUuid()) ||
-                            leg.piece.getUuid().equals(boot.piece.getUuid())) {
-                            continue;
-                        }
-
-                        // Check boots deltas
-                        double hbDelta = ColorMath.calculateDeltaEWithLab(helmet.lab, boot.lab);
-                        double cbDelta = ColorMath.calculateDeltaEWithLab(chest.lab, boot.lab);
-                        double lbDelta = ColorMath.calculateDeltaEWithLab(leg.lab, boot.lab);
-
-                        // All pairwise deltas must be within threshold
-                        if (hbDelta > MAX_DELTA_E || cbDelta > MAX_DELTA_E || lbDelta > MAX_DELTA_E) {
-                            continue;
-                        }
-
-                        // Create the set with pre-computed LAB values and deltas
-                        ArmorSet set = new ArmorSet(
-                            helmet.piece, chest.piece, leg.piece, boot.piece,
-                            helmet.lab, chest.lab, leg.lab, boot.lab,
-                            hcDelta, hlDelta, hbDelta, clDelta, cbDelta, lbDelta
-                        );
-
-                        if (set.avgDeltaE <= MAX_DELTA_E) {
-                            allValidSets.add(set);
-                        }
-                    }
-                }
-            }
-        });
-
-        calculationProgress = 85;
-        System.out.println("[Best Sets] Found " + allValidSets.size() + " valid combinations");
-
-        // Sort all valid sets by average delta E (best first)
-        allValidSets.sort(Comparator.comparingDouble(set -> set.avgDeltaE));
-
-        calculationProgress = 90;
-
-        // Select the best non-overlapping sets (greedy selection from sorted list)
-        List<ArmorSet> selectedSets = new ArrayList<>();
-        Set<String> usedUuids = new HashSet<>();
-
-        for (ArmorSet set : allValidSets) {
-            if (selectedSets.size() >= MAX_SETS) break;
-
-            // Check if any piece in this set is already used
-            if (usedUuids.contains(set.helmet.getUuid()) ||
-                usedUuids.contains(set.chestplate.getUuid()) ||
-                usedUuids.contains(set.leggings.getUuid()) ||
-                usedUuids.contains(set.boots.getUuid())) {
-                continue;
-            }
-
-            // This set doesn't overlap with any selected set - add it
-            selectedSets.add(set);
-            usedUuids.add(set.helmet.getUuid());
-            usedUuids.add(set.chestplate.getUuid());
-            usedUuids.add(set.leggings.getUuid());
-            usedUuids.add(set.boots.getUuid());
-        }
-
-        calculationProgress = 95;
-
-        bestSets = selectedSets;
-
-        // Save to cache
-        cachedBestSets = new ArrayList<>(selectedSets);
-        cachedCollectionSize = collection.size();
-        cacheTimestamp = System.currentTimeMillis();
-
-        long endTime = System.currentTimeMillis();
-        long totalTimeMs = endTime - startTime;
-        double totalTimeSec = totalTimeMs / 1000.0;
-        System.out.println("[Best Sets] Selected " + bestSets.size() + " optimal sets in " + totalTimeMs + "ms (" + String.format("%.2f", totalTimeSec) + " seconds)");
-    }
-
-    /**
-     * Pre-filter pieces that can't possibly match with ANY piece from other types
-     */
-    private List<PieceWithLab> filterViablePieces(List<PieceWithLab> pieces, List<List<PieceWithLab>> otherTypesLists) {
-        return pieces.stream()
-            .filter(piece -> {
-                // Check if this piece can match with at least one piece from EACH other type
-                for (List<PieceWithLab> otherType : otherTypesLists) {
-                    boolean hasMatch = otherType.stream()
-                        .anyMatch(other -> ColorMath.calculateDeltaEWithLab(piece.lab, other.lab) <= MAX_DELTA_E);
-                    if (!hasMatch) {
-                        return false; // Can't form a valid set
-                    }
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Wrapper class to hold piece and pre-computed LAB values
-     */
-    private static class PieceWithLab {
-        final ArmorPiece piece;
-        final ColorMath.LAB lab;
-
-        PieceWithLab(ArmorPiece piece) {
-            this.piece = piece;
-            this.lab = ColorMath.hexToLab(piece.getHexcode());
-        }
-    }
-
-    private String getPieceType(String pieceName) {
-        String lower = pieceName.toLowerCase();
-
-        if (lower.contains("helmet") || lower.contains("hat") || lower.contains("hood") ||
-            lower.contains("cap") || lower.contains("crown") || lower.contains("mask")) {
-            return "helmet";
-        }
-        if (lower.contains("chestplate") || lower.contains("tunic") || lower.contains("shirt") ||
-            lower.contains("vest") || lower.contains("jacket") || lower.contains("robe") ||
-            lower.contains("coat") || lower.contains("plate")) {
-            return "chestplate";
-        }
-        if (lower.contains("leggings") || lower.contains("pants") || lower.contains("trousers") ||
-            lower.contains("legs") || lower.contains("shorts")) {
-            return "leggings";
-        }
-        if (lower.contains("boots") || lower.contains("shoes") || lower.contains("sandals") ||
-            lower.contains("sneakers") || lower.contains("feet")) {
-            return "boots";
-        }
-
-        return "unknown";
-    }
-
-    /**
-     * Represents a complete 4-piece armor set with statistics
-     */
-    private static class ArmorSet {
-        final ArmorPiece helmet;
-        final ArmorPiece chestplate;
-        final ArmorPiece leggings;
-        final ArmorPiece boots;
-
-        final double avgDeltaE;
-        final double avgWithout1; // Average ΔE without worst piece
-        final double avgWithout2; // Average ΔE of best 2 pieces
-        final String worstPieceType;
-
-        // Constructor with pre-computed LAB values and deltas (MAJOR optimization)
-        ArmorSet(ArmorPiece helmet, ArmorPiece chestplate, ArmorPiece leggings, ArmorPiece boots,
-                 ColorMath.LAB helmetLab, ColorMath.LAB chestLab, ColorMath.LAB legsLab, ColorMath.LAB bootsLab,
-                 double d_hc, double d_hl, double d_hb, double d_cl, double d_cb, double d_lb) {
-            this.helmet = helmet;
-            this.chestplate = chestplate;
-            this.leggings = leggings;
-            this.boots = boots;
-
-            // Average of all pairs (already computed)
-            this.avgDeltaE = (d_hc + d_hl + d_hb + d_cl + d_cb + d_lb) / 6.0;
-
-            // Calculate average delta for each piece
-            double helmetAvg = (d_hc + d_hl + d_hb) / 3.0;
-            double chestAvg = (d_hc + d_cl + d_cb) / 3.0;
-            double legsAvg = (d_hl + d_cl + d_lb) / 3.0;
-            double bootsAvg = (d_hb + d_cb + d_lb) / 3.0;
-
-            // Find worst piece
-            Map<String, Double> pieceAvgs = new HashMap<>();
-            pieceAvgs.put("helmet", helmetAvg);
-            pieceAvgs.put("chestplate", chestAvg);
-            pieceAvgs.put("leggings", legsAvg);
-            pieceAvgs.put("boots", bootsAvg);
-
-            List<Map.Entry<String, Double>> sorted = pieceAvgs.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .collect(Collectors.toList());
-
-            this.worstPieceType = sorted.get(0).getKey();
-
-            // Calculate average without worst piece (best 3 pieces)
-            List<Double> best3Deltas = new ArrayList<>();
-            String worst = sorted.get(0).getKey();
-
-            if (!worst.equals("helmet")) best3Deltas.addAll(Arrays.asList(d_hc, d_hl, d_hb));
-            if (!worst.equals("chestplate")) best3Deltas.addAll(Arrays.asList(d_hc, d_cl, d_cb));
-            if (!worst.equals("leggings")) best3Deltas.addAll(Arrays.asList(d_hl, d_cl, d_lb));
-            if (!worst.equals("boots")) best3Deltas.addAll(Arrays.asList(d_hb, d_cb, d_lb));
-
-            this.avgWithout1 = best3Deltas.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-
-            // Calculate average of best 2 pieces (smallest delta)
-            double[] allDeltas = {d_hc, d_hl, d_hb, d_cl, d_cb, d_lb};
-            Arrays.sort(allDeltas);
-            this.avgWithout2 = allDeltas[0]; // Best pair
-        }
+        // Rebuild the candidate graph from scratch - the button is the escape hatch if anything looks off
+        BestSetsService.getInstance().requestUpdate(true);
+        this.clearAndInit();
     }
 
     private static class ContextMenu {
@@ -0,0 +1,573 @@
+package schnerry.seymouranalyzer.gui;
+
+import net.minecraft.client.MinecraftClient;
+import schnerry.seymouranalyzer.Seymouranalyzer;
+import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.data.CollectionLabIndex;
+import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.CollectionSnapshot;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Background filtering engine for DatabaseScreen
+ * - Debounces keystrokes so only the last query in a burst runs
+ * - Runs filters off the render thread and drops results of stale queries
+ * - Narrows the previous result when the new query only extends it
+ * - Precomputes lowercase/uppercase search keys once per source list
+ * - Sorts by walking cached per-column permutations of the source list instead of
+ *   running comparators over ArmorPiece objects
+ */
+public class DatabaseFilterEngine {
+    private static final long DEBOUNCE_MS = 120;
+    private static final int CANCEL_CHECK_INTERVAL = 512;
+    private static final int PARALLEL_SORT_THRESHOLD = 4096;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final ScheduledExecutorService FILTER_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "DatabaseFilter");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Consumer<FilterResult> onResult;
+    private final Supplier<CollectionSnapshot> searchSnapshot;
+    private final AtomicLong querySequence = new AtomicLong(0);
+    private ScheduledFuture<?> pendingTask = null;
+
+    // Source list - replaced from the render thread, read by the worker
+    private volatile List<ArmorPiece> source = new ArrayList<>();
+    private volatile long sourceVersion = 0;
+
+    // Worker-thread state
+    private SearchKey[] keys = new SearchKey[0];
+    private long keysVersion = -1;
+    private Query lastQuery = null;
+    private List<SearchKey> lastMatches = null;
+    private long lastMatchesVersion = -1;
+
+    // Ascending permutation of key indices per sort column, valid for keysVersion
+    private final Map<String, Permutation> permutations = new HashMap<>();
+    private double[] searchDeltaE = new double[0];
+    private boolean[] included = new boolean[0];
+
+    /**
+     * Immutable description of one filter request
+     */
+    public static class Query {
+        final String text;
+        final String hexSearch; // null unless exactly 6 hex digits
+        final boolean dupesOnly;
+        final boolean showFades;
+        final String sortColumn; // null = keep source order
+        final boolean sortAscending;
+
+        public Query(String text, String hexSearch, boolean dupesOnly, boolean showFades,
+                     String sortColumn, boolean sortAscending) {
+            this.text = text != null ? text : "";
+            this.hexSearch = hexSearch;
+            this.dupesOnly = dupesOnly;
+            this.showFades = showFades;
+            this.sortColumn = sortColumn;
+            this.sortAscending = sortAscending;
+        }
+
+        boolean isWildcard() {
+            String upper = text.toUpperCase();
+            return upper.length() == 6 && upper.contains("X") && isHexOrX(upper);
+        }
+
+        /**
+         * True if every piece matching this query also matches the previous one,
+         * so the previous result can be used as the starting set
+         */
+        boolean narrows(Query previous) {
+            if (previous == null) return false;
+            if (dupesOnly != previous.dupesOnly || showFades != previous.showFades) return false;
+            if (!Objects.equals(hexSearch, previous.hexSearch)) return false;
+
+            if (previous.text.isEmpty()) return true;
+            if (isWildcard() || previous.isWildcard()) return text.equalsIgnoreCase(previous.text);
+            return text.toLowerCase().contains(previous.text.toLowerCase());
+        }
+    }
+
+    /**
+     * Filtered and sorted rows plus hex search hits (uuid -> ΔE/distance) for the Closest column
+     */
+    public static class FilterResult {
+        public final List<ArmorPiece> pieces;
+        public final Map<String, CollectionLabIndex.Result> searchHits; // empty without a hex search
+
+        FilterResult(List<ArmorPiece> pieces, Map<String, CollectionLabIndex.Result> searchHits) {
+            this.pieces = pieces;
+            this.searchHits = searchHits;
+        }
+    }
+
+    /**
+     * Stable ascending order of all keys for one column
+     * runStart[i] is the first position of the run of equal keys containing position i,
+     * so descending walks can keep ties in source order like a reversed stable sort
+     */
+    private static class Permutation {
+        final int[] order;
+        final int[] runStart;
+
+        Permutation(int[] order, int[] runStart) {
+            this.order = order;
+            this.runStart = runStart;
+        }
+    }
+
+    /**
+     * Compares two key indices
+     */
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Per-piece search keys, derived once per source list
+     */
+    private static class SearchKey {
+        final int index;
+        final ArmorPiece piece;
+        final String nameLower;
+        final String hexLower;
+        final String hexUpper;
+        final String matchLower;
+        final String deltaText;
+        final double deltaE; // 999 when unanalyzed, matching the old comparators
+        final int absoluteDistance;
+        final boolean isFade;
+        boolean isDupe;
+
+        String matchSortKey() {
+            return matchLower != null ? matchLower : "";
+        }
+
+        SearchKey(int index, ArmorPiece piece, boolean isFade) {
+            this.index = index;
+            this.piece = piece;
+            String hex = piece.getHexcode() != null ? piece.getHexcode().replace("#", "") : "";
+            this.nameLower = piece.getPieceName() != null ? piece.getPieceName().toLowerCase() : "";
+            this.hexLower = hex.toLowerCase();
+            this.hexUpper = hex.toUpperCase();
+
+            ArmorPiece.BestMatch best = piece.getBestMatch();
+            this.matchLower = best != null && best.colorName != null ? best.colorName.toLowerCase() : null;
+            this.deltaText = best != null ? String.format("%.2f", best.deltaE) : null;
+            this.deltaE = best != null ? best.deltaE : 999.0;
+            this.absoluteDistance = best != null ? best.absoluteDistance : 999;
+            this.isFade = isFade;
+        }
+    }
+
+    /**
+     * @param onResult Called on the client thread with each completed (non-stale) result
+     */
+    public DatabaseFilterEngine(Consumer<FilterResult> onResult) {
+        this(onResult, () -> CollectionManager.getInstance().getSnapshot());
+    }
+
+    /**
+     * @param searchSnapshot Snapshot whose LAB index answers hex searches - the live collection by default
+     */
+    public DatabaseFilterEngine(Consumer<FilterResult> onResult, Supplier<CollectionSnapshot> searchSnapshot) {
+        this.onResult = onResult;
+        this.searchSnapshot = searchSnapshot;
+    }
+
+    /**
+     * Replace the list being filtered (on load or after a piece was removed)
+     */
+    public void setSource(List<ArmorPiece> pieces) {
+        source = new ArrayList<>(pieces);
+        sourceVersion++;
+    }
+
+    /**
+     * Submit a query
+     * @param debounce true for keystrokes - waits for typing to pause before filtering
+     */
+    public synchronized void submit(Query query, boolean debounce) {
+        long seq = querySequence.incrementAndGet();
+        if (pendingTask != null) {
+            pendingTask.cancel(false);
+        }
+        pendingTask = FILTER_EXECUTOR.schedule(() -> run(query, seq), debounce ? DEBOUNCE_MS : 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drop any queued or running query - its result will never be delivered
+     */
+    public synchronized void cancel() {
+        querySequence.incrementAndGet();
+        if (pendingTask != null) {
+            pendingTask.cancel(false);
+            pendingTask = null;
+        }
+    }
+
+    private boolean isStale(long seq) {
+        return querySequence.get() != seq;
+    }
+
+    /**
+     * Run a query on the calling thread and return its result
+     * For engines that are not also fed through submit() - the load test uses it to time filtering
+     */
+    public FilterResult filterNow(Query query) {
+        return execute(query, querySequence.get());
+    }
+
+    private void run(Query query, long seq) {
+        try {
+            FilterResult result = execute(query, seq);
+            if (result == null || isStale(seq)) return;
+
+            MinecraftClient.getInstance().execute(() -> {
+                if (!isStale(seq)) {
+                    onResult.accept(result);
+                }
+            });
+        } catch (Exception e) {
+            Seymouranalyzer.LOGGER.error("Database filter failed", e);
+        }
+    }
+
+    /**
+     * Filter and sort on the current thread - null if the query went stale on the way
+     */
+    private FilterResult execute(Query query, long seq) {
+        if (isStale(seq)) return null;
+
+        long version = sourceVersion;
+        if (keysVersion != version) {
+            buildKeys(source);
+            keysVersion = version;
+            lastQuery = null;
+            lastMatches = null;
+            permutations.clear();
+        }
+        if (isStale(seq)) return null;
+
+        // Start from the previous matches when the new query can only shrink them
+        boolean narrowing = lastMatches != null && lastMatchesVersion == version && query.narrows(lastQuery);
+        List<SearchKey> candidates = narrowing ? lastMatches : Arrays.asList(keys);
+
+        // Hex search goes through the collection LAB index instead of a ΔE per row
+        Map<String, CollectionLabIndex.Result> hits = Collections.emptyMap();
+        if (query.hexSearch != null) {
+            Arrays.fill(searchDeltaE, Double.POSITIVE_INFINITY); // Values of earlier searches never leak into this one
+            hits = new HashMap<>();
+            for (CollectionLabIndex.Result hit : searchSnapshot.get().getLabIndex().withinRadius(query.hexSearch, 5.0)) {
+                hits.put(hit.uuid, hit);
+            }
+        }
+
+        List<SearchKey> matches = filter(candidates, query, hits, seq);
+        if (matches == null) return null; // Cancelled
+
+        lastQuery = query;
+        lastMatches = matches;
+        lastMatchesVersion = version;
+
+        return new FilterResult(sort(matches, query), hits);
+    }
+
+    private void buildKeys(List<ArmorPiece> pieces) {
+        SearchKey[] built = new SearchKey[pieces.size()];
+        Map<String, Integer> hexCounts = new HashMap<>();
+
+        for (int i = 0; i < built.length; i++) {
+            ArmorPiece piece = pieces.get(i);
+            ArmorPiece.BestMatch best = piece.getBestMatch();
+            boolean isFade = best != null && best.colorName != null && isFadeDyeName(best.colorName);
+            built[i] = new SearchKey(i, piece, isFade);
+            hexCounts.merge(built[i].hexUpper, 1, Integer::sum);
+        }
+
+        for (SearchKey key : built) {
+            key.isDupe = hexCounts.getOrDefault(key.hexUpper, 0) > 1;
+        }
+
+        keys = built;
+        searchDeltaE = new double[built.length];
+        included = new boolean[built.length];
+    }
+
+    /**
+     * Order the matches for the query's sort column
+     * Static columns walk a cached permutation of all keys (O(n), no comparisons);
+     * the search distance column changes with every hex search so it is sorted directly
+     * Ties keep source order in both directions, like the old stable comparator sorts
+     */
+    private List<ArmorPiece> sort(List<SearchKey> matches, Query query) {
+        List<ArmorPiece> result = new ArrayList<>(matches.size());
+        String column = query.sortColumn;
+
+        // Without a hex search every distance is equal, which keeps source order
+        if (column == null || (column.equals("distance") && query.hexSearch == null)) {
+            for (SearchKey key : matches) {
+                result.add(key.piece);
+            }
+            return result;
+        }
+
+        if (column.equals("distance")) {
+            int[] order = new int[matches.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = matches.get(i).index;
+            }
+            double[] distances = searchDeltaE;
+            sortIndices(order, query.sortAscending
+                ? (a, b) -> Double.compare(distances[a], distances[b])
+                : (a, b) -> Double.compare(distances[b], distances[a]));
+            for (int index : order) {
+                result.add(keys[index].piece);
+            }
+            return result;
+        }
+
+        Permutation permutation = permutations.computeIfAbsent(column, this::buildPermutation);
+        int[] order = permutation.order;
+
+        for (SearchKey key : matches) {
+            included[key.index] = true;
+        }
+        if (query.sortAscending) {
+            for (int index : order) {
+                if (included[index]) result.add(keys[index].piece);
+            }
+        } else {
+            // Runs from last to first, each run of equal keys in source order
+            int end = order.length - 1;
+            while (end >= 0) {
+                int start = permutation.runStart[end];
+                for (int i = start; i <= end; i++) {
+                    int index = order[i];
+                    if (included[index]) result.add(keys[index].piece);
+                }
+                end = start - 1;
+            }
+        }
+        for (SearchKey key : matches) {
+            included[key.index] = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Build the ascending order of all keys for a column from the precomputed sort keys
+     */
+    private Permutation buildPermutation(String column) {
+        SearchKey[] k = keys;
+        IndexComparator comparator = switch (column) {
+            case "name" -> (a, b) -> k[a].nameLower.compareTo(k[b].nameLower);
+            case "match" -> (a, b) -> k[a].matchSortKey().compareTo(k[b].matchSortKey());
+            case "deltaE" -> (a, b) -> Double.compare(k[a].deltaE, k[b].deltaE);
+            case "absolute" -> (a, b) -> Integer.compare(k[a].absoluteDistance, k[b].absoluteDistance);
+            default -> (a, b) -> k[a].hexUpper.compareTo(k[b].hexUpper);
+        };
+
+        int[] order = new int[k.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        sortIndices(order, comparator);
+
+        int[] runStart = new int[order.length];
+        for (int i = 1; i < order.length; i++) {
+            runStart[i] = comparator.compare(order[i - 1], order[i]) == 0 ? runStart[i - 1] : i;
+        }
+        return new Permutation(order, runStart);
+    }
+
+    /**
+     * Stable merge sort of primitive indices, halves forked on the common pool for large arrays
+     */
+    private static void sortIndices(int[] order, IndexComparator comparator) {
+        int[] buffer = order.clone();
+        if (order.length >= PARALLEL_SORT_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new MergeSortTask(buffer, order, 0, order.length, comparator));
+        } else {
+            mergeSort(buffer, order, 0, order.length, comparator);
+        }
+    }
+
+    /**
+     * Sort dest[from, to) - source holds the same values on entry and is used as scratch
+     */
+    private static void mergeSort(int[] source, int[] dest, int from, int to, IndexComparator comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dest, from, to, comparator);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dest, source, from, mid, comparator);
+        mergeSort(dest, source, mid, to, comparator);
+        merge(source, dest, from, mid, to, comparator);
+    }
+
+    private static void insertionSort(int[] a, int from, int to, IndexComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int value = a[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(a[j], value) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    /**
+     * Merge the sorted halves source[from, mid) and source[mid, to) into dest, left first on ties
+     */
+    private static void merge(int[] source, int[] dest, int from, int mid, int to, IndexComparator comparator) {
+        int left = from, right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(source[left], source[right]) <= 0)) {
+                dest[i] = source[left++];
+            } else {
+                dest[i] = source[right++];
+            }
+        }
+    }
+
+    private static class MergeSortTask extends RecursiveAction {
+        private final int[] source;
+        private final int[] dest;
+        private final int from;
+        private final int to;
+        private final IndexComparator comparator;
+
+        MergeSortTask(int[] source, int[] dest, int from, int to, IndexComparator comparator) {
+            this.source = source;
+            this.dest = dest;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_SORT_THRESHOLD) {
+                mergeSort(source, dest, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(dest, source, from, mid, comparator),
+                new MergeSortTask(dest, source, mid, to, comparator));
+            merge(source, dest, from, mid, to, comparator);
+        }
+    }
+
+    /**
+     * Apply all filters in a single pass
+     * @return matching keys in candidate order, or null if the query went stale
+     */
+    private List<SearchKey> filter(List<SearchKey> candidates, Query query,
+                                   Map<String, CollectionLabIndex.Result> hits, long seq) {
+        String searchLower = query.text.toLowerCase();
+        boolean hasText = !searchLower.isEmpty();
+        char[] wildcard = query.isWildcard() ? query.text.toUpperCase().toCharArray() : null;
+        boolean hasHexSearch = query.hexSearch != null;
+
+        List<SearchKey> matches = new ArrayList<>();
+        int n = candidates.size();
+
+        for (int i = 0; i < n; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && isStale(seq)) {
+                return null;
+            }
+
+            SearchKey key = candidates.get(i);
+
+            if (query.dupesOnly && !key.isDupe) continue;
+            if (!query.showFades && key.isFade) continue;
+
+            if (hasText) {
+                if (wildcard != null) {
+                    if (!matchesWildcard(key.hexUpper, wildcard)) continue;
+                } else if (!matchesText(key, searchLower)) {
+                    continue;
+                }
+            }
+
+            if (hasHexSearch) {
+                CollectionLabIndex.Result hit = hits.get(key.piece.getUuid());
+                if (hit == null) continue; // Outside ΔE 5
+                searchDeltaE[key.index] = hit.deltaE;
+            }
+
+            matches.add(key);
+        }
+
+        return matches;
+    }
+
+    private static boolean matchesText(SearchKey key, String searchLower) {
+        if (key.nameLower.contains(searchLower) || key.hexLower.contains(searchLower)) {
+            return true;
+        }
+        if (key.matchLower != null && key.matchLower.contains(searchLower)) {
+            return true;
+        }
+        return key.deltaText != null && key.deltaText.contains(searchLower);
+    }
+
+    private static boolean matchesWildcard(String hexUpper, char[] pattern) {
+        if (hexUpper.length() != pattern.length) return false;
+        for (int i = 0; i < pattern.length; i++) {
+            char c = hexUpper.charAt(i);
+            char p = pattern[i];
+            if (p == 'X') {
+                if (!isHexDigit(c)) return false;
+            } else if (c != p) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isHexOrX(String upper) {
+        for (int i = 0; i < upper.length(); i++) {
+            char c = upper.charAt(i);
+            if (c != 'X' && !isHexDigit(c)) return false;
+        }
+        return true;
+    }
+
+    private static final String[] FADE_DYES = {
+        "Aurora", "Black Ice", "Frog", "Hellebore", "Kingfisher", "Lava", "Lucky", "Marine",
+        "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
+        "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"
+    };
+
+    static boolean isFadeDyeName(String colorName) {
+        for (String fade : FADE_DYES) {
+            if (colorName.startsWith(fade + " - Stage")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
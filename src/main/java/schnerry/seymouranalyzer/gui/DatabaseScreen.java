@@ -14,11 +14,12 @@ import org.lwjgl.glfw.GLFW;
 import schnerry.seymouranalyzer.Seymouranalyzer;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.data.CollectionLabIndex;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.CollectionStats;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Database GUI showing all collected armor pieces with full sorting, filtering, and search
@@ -65,6 +66,12 @@ public class DatabaseScreen extends ModScreen {
 
     // Pending initial search (set before init())
     private String pendingInitialSearch = null;
+
+    // Filtering runs in the background; results are applied on the client thread
+    private final DatabaseFilterEngine filterEngine = new DatabaseFilterEngine(this::applyFilterResult);
+
+    // Hex search hits (uuid -> ΔE/distance) for the Closest column
+    private Map<String, CollectionLabIndex.Result> searchHits = Collections.emptyMap();
     public DatabaseScreen() {
         this(null);
     }
@@ -103,6 +110,7 @@ public class DatabaseScreen extends ModScreen {
 
         Seymouranalyzer.LOGGER.info("Loaded {} pieces into database GUI", allPieces.size());
         filteredPieces = new ArrayList<>(allPieces);
+        filterEngine.setSource(allPieces);
     }
 
     @Override
@@ -117,14 +125,14 @@ public class DatabaseScreen extends ModScreen {
         searchField = new TextFieldWidget(this.textRenderer, this.width - 255, 8, 235, 20, Text.literal("Search"));
         searchField.setMaxLength(50);
         searchField.setPlaceholder(Text.literal("Search hex/match/delta..."));
-        searchField.setChangedListener(text -> filterAndSort());
+        searchField.setChangedListener(text -> filterAndSort(true));
         this.addDrawableChild(searchField);
 
         // Hex search field (below search)
         hexSearchField = new TextFieldWidget(this.textRenderer, this.width - 145, 35, 125, 20, Text.literal("Hex Search"));
         hexSearchField.setMaxLength(6);
         hexSearchField.setPlaceholder(Text.literal("Hex search (ΔE<5)..."));
-        hexSearchField.setChangedListener(text -> filterAndSort());
+        hexSearchField.setChangedListener(text -> filterAndSort(true));
         this.addDrawableChild(hexSearchField);
 
         // Checklist button (top left)
@@ -262,42 +270,10 @@ public class DatabaseScreen extends ModScreen {
             context.drawTextWithShadow(this.textRenderer, filteredEnd, infoX, 19, 0xFF888888);
         }
 
-        // Calculate tier counts
-        int t1Normal = 0, t1Fade = 0, t2Normal = 0, t2Fade = 0, dupes = 0;
-        Map<String, Integer> hexCounts = new HashMap<>();
-
-        for (ArmorPiece piece : allPieces) {
-            // Count hex occurrences for dupes
-            String hex = piece.getHexcode();
-            hexCounts.put(hex, hexCounts.getOrDefault(hex, 0) + 1);
-
-            if (piece.getBestMatch() != null) {
-                double deltaE = piece.getBestMatch().deltaE;
-                boolean isFade = checkFadeDye(piece.getBestMatch().colorName);
-                boolean isCustom = ClothConfig.getInstance().getCustomColors().containsKey(piece.getBestMatch().colorName);
-
-                if (deltaE <= 2) {
-                    if (isCustom || !isFade) {
-                        t1Normal++;
-                    } else {
-                        t1Fade++;
-                    }
-                } else if (deltaE <= 5) {
-                    if (isFade && !isCustom) {
-                        t2Fade++;
-                    } else {
-                        t2Normal++;
-                    }
-                }
-            }
-        }
-
-        // Count actual dupes
-        for (ArmorPiece piece : allPieces) {
-            if (hexCounts.getOrDefault(piece.getHexcode(), 0) > 1) {
-                dupes++;
-            }
-        }
+        // Tier counts - cached per collection generation/config version
+        CollectionStats stats = CollectionStats.get();
+        int t1Normal = stats.t1Normal, t1Fade = stats.t1Fade, t2Normal = stats.t2Normal, t2Fade = stats.t2Fade;
+        int dupes = stats.totalDupes;
 
         // Display tier counts (two rows) - calculate total width first, then center
         // Row 1: T1, T2, Dupes
@@ -541,9 +517,10 @@ public class DatabaseScreen extends ModScreen {
         String hexSearchText = hexSearchField != null ? hexSearchField.getText().replace("#", "") : "";
         boolean showClosestColumn = hexSearchText.length() == 6 && hexSearchText.matches("[0-9A-Fa-f]{6}");
 
-        if (showClosestColumn && piece.getCachedSearchDeltaE() != null && piece.getCachedSearchDistance() != null) {
-            double searchDeltaE = piece.getCachedSearchDeltaE();
-            int searchDistance = piece.getCachedSearchDistance();
+        CollectionLabIndex.Result searchHit = showClosestColumn ? searchHits.get(piece.getUuid()) : null;
+        if (searchHit != null) {
+            double searchDeltaE = searchHit.deltaE;
+            int searchDistance = searchHit.absoluteDistance;
 
             // Draw highlight behind the Closest column based on deltaE
             int closestHighlight = 0;
@@ -715,6 +692,8 @@ public class DatabaseScreen extends ModScreen {
 
             // Rebuild filtered pieces list
             allPieces.removeIf(p -> p.getUuid().equals(uuid));
+            filteredPieces.removeIf(p -> p.getUuid().equals(uuid));
+            filterEngine.setSource(allPieces);
             filterAndSort();
 
             if (client != null && client.player != null) {
@@ -807,159 +786,38 @@ public class DatabaseScreen extends ModScreen {
     }
 
     private void filterAndSort() {
-        // Start with all pieces
-        List<ArmorPiece> result = new ArrayList<>(allPieces);
-
-        // Apply dupes filter first if enabled
-        if (showDupesOnly) {
-            Map<String, Integer> hexCounts = new HashMap<>();
-            for (ArmorPiece piece : result) {
-                String hex = piece.getHexcode();
-                hexCounts.put(hex, hexCounts.getOrDefault(hex, 0) + 1);
-            }
-
-            result = result.stream()
-                .filter(piece -> hexCounts.getOrDefault(piece.getHexcode(), 0) > 1)
-                .collect(Collectors.toList());
-        }
-
-        // Apply fades filter
-        if (!showFades) {
-            result = result.stream()
-                .filter(piece -> {
-                    if (piece.getBestMatch() == null) return true;
-                    return !checkFadeDye(piece.getBestMatch().colorName);
-                })
-                .collect(Collectors.toList());
-        }
+        filterAndSort(false);
+    }
 
-        // Apply text search filter
+    /**
+     * Queue a background filter/sort of allPieces with the current search fields and toggles
+     * @param debounce true when triggered by typing - waits for the burst to end
+     */
+    private void filterAndSort(boolean debounce) {
         String searchText = searchField != null ? searchField.getText() : "";
-        if (!searchText.isEmpty()) {
-            String searchLower = searchText.toLowerCase();
-            String searchUpper = searchText.toUpperCase();
-
-            // Check if this is a hex pattern with wildcards (X represents any hex digit)
-            boolean hasWildcard = searchUpper.contains("X") && searchUpper.length() == 6 && searchUpper.matches("[0-9A-FX]+");
-
-            if (hasWildcard) {
-                // Build regex pattern from wildcard search
-                StringBuilder regexPattern = new StringBuilder("^");
-                for (int i = 0; i < 6; i++) {
-                    char c = searchUpper.charAt(i);
-                    if (c == 'X') {
-                        regexPattern.append("[0-9A-F]");
-                    } else {
-                        regexPattern.append(c);
-                    }
-                }
-                regexPattern.append("$");
-                String pattern = regexPattern.toString();
-
-                result = result.stream()
-                    .filter(piece -> {
-                        String hexClean = piece.getHexcode().replace("#", "").toUpperCase();
-                        return hexClean.matches(pattern);
-                    })
-                    .collect(Collectors.toList());
-            } else {
-                // Normal text search
-                result = result.stream()
-                    .filter(piece -> {
-                        String name = piece.getPieceName().toLowerCase();
-                        String hex = piece.getHexcode().toLowerCase();
-
-                        if (name.contains(searchLower) || hex.contains(searchLower)) {
-                            return true;
-                        }
-
-                        if (piece.getBestMatch() != null) {
-                            String match = piece.getBestMatch().colorName.toLowerCase();
-                            if (match.contains(searchLower)) {
-                                return true;
-                            }
-
-                            String delta = String.format("%.2f", piece.getBestMatch().deltaE);
-                            return delta.contains(searchLower);
-                        }
-
-                        return false;
-                    })
-                    .collect(Collectors.toList());
-            }
-        }
 
         // Apply hex search filter (only with exactly 6 hex digits)
         String hexSearchText = hexSearchField != null ? hexSearchField.getText().toUpperCase().replace("#", "") : "";
         boolean hasActiveHexSearch = hexSearchText.length() == 6 && hexSearchText.matches("[0-9A-F]{6}");
 
         if (hasActiveHexSearch) {
-            final String searchHex = hexSearchText;
-            result = result.stream()
-                .filter(piece -> {
-                    // Calculate and cache deltaE and distance for this search
-                    if (!searchHex.equals(piece.getCachedSearchHex())) {
-                        double deltaE = ColorMath.calculateDeltaE(searchHex, piece.getHexcode());
-                        int distance = ColorMath.calculateAbsoluteDistance(searchHex, piece.getHexcode());
-
-                        piece.setCachedSearchHex(searchHex);
-                        piece.setCachedSearchDeltaE(deltaE);
-                        piece.setCachedSearchDistance(distance);
-                    }
-
-                    return piece.getCachedSearchDeltaE() <= 5.0;
-                })
-                .collect(Collectors.toList());
-
             // Automatically sort by distance when hex search is active
             sortColumn = "distance";
             sortAscending = true;
         }
 
-        // Apply sorting
-        if (sortColumn != null) {
-            result.sort(getComparator(sortColumn, sortAscending));
-        }
-
-        filteredPieces = result;
-        scrollOffset = 0;
+        filterEngine.submit(new DatabaseFilterEngine.Query(searchText, hasActiveHexSearch ? hexSearchText : null,
+            showDupesOnly, showFades, sortColumn, sortAscending), debounce);
     }
 
-    private Comparator<ArmorPiece> getComparator(String column, boolean ascending) {
-        Comparator<ArmorPiece> comparator = switch (column) {
-            case "name" -> Comparator.comparing(p -> p.getPieceName().toLowerCase());
-            case "hex" -> Comparator.comparing(ArmorPiece::getHexcode);
-            case "match" -> Comparator.comparing(p ->
-                p.getBestMatch() != null ? p.getBestMatch().colorName.toLowerCase() : ""
-            );
-            case "deltaE" -> Comparator.comparingDouble(p ->
-                p.getBestMatch() != null ? p.getBestMatch().deltaE : 999.0
-            );
-            case "absolute" -> Comparator.comparingInt(p ->
-                p.getBestMatch() != null ? p.getBestMatch().absoluteDistance : 999
-            );
-            case "distance" -> Comparator.comparingDouble(p ->
-                p.getCachedSearchDeltaE() != null ? p.getCachedSearchDeltaE() : 999.0
-            );
-            default -> Comparator.comparing(ArmorPiece::getHexcode);
-        };
-
-        return ascending ? comparator : comparator.reversed();
+    private void applyFilterResult(DatabaseFilterEngine.FilterResult result) {
+        filteredPieces = result.pieces;
+        searchHits = result.searchHits;
+        scrollOffset = 0;
     }
 
     private boolean checkFadeDye(String colorName) {
-        String[] fadeDyes = {
-            "Aurora", "Black Ice", "Frog", "Hellebore", "Kingfisher", "Lava", "Lucky", "Marine",
-            "Oasis", "Ocean", "Pastel Sky", "Portal", "Red Tulip", "Rose",
-            "Snowflake", "Spooky", "Sunflower", "Sunset", "Warden"
-        };
-
-        for (String fade : fadeDyes) {
-            if (colorName.startsWith(fade + " - Stage")) {
-                return true;
-            }
-        }
-        return false;
+        return DatabaseFilterEngine.isFadeDyeName(colorName);
     }
 
     private void updateExpandedPiece(int mouseX, int mouseY) {
@@ -1125,12 +983,11 @@ public class DatabaseScreen extends ModScreen {
 
     @Override
     public boolean keyPressed(KeyInput keyInput) {
+        // Text changes are picked up by the fields' changed listeners (debounced)
         if (searchField != null && searchField.keyPressed(keyInput)) {
-            filterAndSort();
             return true;
         }
         if (hexSearchField != null && hexSearchField.keyPressed(keyInput)) {
-            filterAndSort();
             return true;
         }
         return super.keyPressed(keyInput);
@@ -1139,11 +996,9 @@ public class DatabaseScreen extends ModScreen {
     @Override
     public boolean charTyped(CharInput charInput) {
         if (searchField != null && searchField.charTyped(charInput)) {
-            filterAndSort();
             return true;
         }
         if (hexSearchField != null && hexSearchField.charTyped(charInput)) {
-            filterAndSort();
             return true;
         }
         return super.charTyped(charInput);
@@ -1151,6 +1006,7 @@ public class DatabaseScreen extends ModScreen {
 
     @Override
     public void close() {
+        filterEngine.cancel();
         if (this.client != null) {
             this.client.setScreen(parent);
         }
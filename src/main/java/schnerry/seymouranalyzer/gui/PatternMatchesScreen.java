@@ -5,9 +5,9 @@ import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.Click;
 import net.minecraft.text.Text;
-import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.CollectionSnapshot;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.*;
@@ -49,23 +49,27 @@ public class PatternMatchesScreen extends ModScreen {
     }
 
     private void loadPatternMatches() {
-        Map<String, PatternMatchEntry> patternMap = new HashMap<>();
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
-        PatternDetector detector = PatternDetector.getInstance();
-
-        for (ArmorPiece piece : collection.values()) {
-            String pattern = detector.detectPattern(piece.getHexcode());
-            if (pattern != null) {
-                PatternMatchEntry entry = patternMap.computeIfAbsent(pattern, k -> {
-                    PatternMatchEntry e = new PatternMatchEntry();
-                    e.patternType = k;
-                    return e;
-                });
-                entry.pieces.add(piece);
+        // Patterns are precomputed per row in the collection snapshot - group by pattern id
+        CollectionSnapshot snapshot = CollectionManager.getInstance().getSnapshot();
+        PatternMatchEntry[] byId = new PatternMatchEntry[snapshot.patternCount()];
+
+        for (int row = 0; row < snapshot.size(); row++) {
+            int patternId = snapshot.patternId(row);
+            if (patternId == CollectionSnapshot.NONE) continue;
+
+            PatternMatchEntry entry = byId[patternId];
+            if (entry == null) {
+                entry = new PatternMatchEntry();
+                entry.patternType = snapshot.patternById(patternId);
+                byId[patternId] = entry;
             }
+            entry.pieces.add(snapshot.piece(row));
         }
 
-        patternMatches = new ArrayList<>(patternMap.values());
+        patternMatches = new ArrayList<>();
+        for (PatternMatchEntry entry : byId) {
+            if (entry != null) patternMatches.add(entry);
+        }
 
         // Sort: AxBxCx patterns by hex character, then others alphabetically
         patternMatches.sort((a, b) -> {
@@ -7,6 +7,7 @@ import net.minecraft.client.gui.Click;
 import net.minecraft.text.Text;
 import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.data.CollectionSnapshot;
 import schnerry.seymouranalyzer.util.ColorMath;
 
 import java.util.*;
@@ -47,22 +48,27 @@ public class WordMatchesScreen extends ModScreen {
     }
 
     private void loadWordMatches() {
-        Map<String, WordMatchEntry> wordMap = new HashMap<>();
-        Map<String, ArmorPiece> collection = CollectionManager.getInstance().getCollection();
-
-        for (ArmorPiece piece : collection.values()) {
-            String wordMatch = piece.getWordMatch();
-            if (wordMatch != null && !wordMatch.isEmpty()) {
-                WordMatchEntry entry = wordMap.computeIfAbsent(wordMatch, k -> {
-                    WordMatchEntry e = new WordMatchEntry();
-                    e.word = k;
-                    return e;
-                });
-                entry.pieces.add(piece);
+        // Word matches are interned per row in the collection snapshot - group by word id
+        CollectionSnapshot snapshot = CollectionManager.getInstance().getSnapshot();
+        WordMatchEntry[] byId = new WordMatchEntry[snapshot.wordCount()];
+
+        for (int row = 0; row < snapshot.size(); row++) {
+            int wordId = snapshot.wordId(row);
+            if (wordId == CollectionSnapshot.NONE) continue;
+
+            WordMatchEntry entry = byId[wordId];
+            if (entry == null) {
+                entry = new WordMatchEntry();
+                entry.word = snapshot.wordById(wordId);
+                byId[wordId] = entry;
             }
+            entry.pieces.add(snapshot.piece(row));
         }
 
-        wordMatches = new ArrayList<>(wordMap.values());
+        wordMatches = new ArrayList<>();
+        for (WordMatchEntry entry : byId) {
+            if (entry != null) wordMatches.add(entry);
+        }
         wordMatches.sort(Comparator.comparing(e -> e.word));
     }
 
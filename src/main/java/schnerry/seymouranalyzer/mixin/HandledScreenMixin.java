@@ -10,6 +10,7 @@ import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 import schnerry.seymouranalyzer.render.InfoBoxRenderer;
 import schnerry.seymouranalyzer.render.ItemSlotHighlighter;
 
@@ -29,13 +30,18 @@ public abstract class HandledScreenMixin {
     private static Slot lastHoveredSlot = null;
     @Unique
     private static ItemStack lastHoveredStack = ItemStack.EMPTY;
+    @Unique
+    private static ItemStack lastHoveredSource = null; // Instance lastHoveredStack was copied from
+    @Unique
+    private static boolean highlightsPending = false;
 
     @Shadow
     protected Slot focusedSlot;
 
     /**
-     * Inject before each slot is drawn to render our highlight behind the item
-     * This runs in the exact coordinate space as the slot, so no offset calculations needed
+     * Inject before each slot is drawn
+     * The first slot of a frame emits every highlight quad at once, behind all items - this runs in
+     * the exact coordinate space as the slots, so no offset calculations needed
      * ALSO track the hovered slot here since we KNOW it exists at this point
      */
     @Inject(
@@ -43,25 +49,32 @@ public abstract class HandledScreenMixin {
         at = @At("HEAD")
     )
     private void onDrawSlot(DrawContext context, Slot slot, CallbackInfo ci) {
+        long perfStart = PerfMonitor.start();
+        trackDrawSlot(context, slot);
+        PerfMonitor.stop(PerfMonitor.DRAW_SLOT, perfStart);
+    }
+
+    @Unique
+    private void trackDrawSlot(DrawContext context, Slot slot) {
+        if (highlightsPending) {
+            highlightsPending = false;
+            HandledScreen<?> screen = (HandledScreen<?>) (Object) this;
+            ItemSlotHighlighter.getInstance().renderSlotHighlights(context, screen.getScreenHandler());
+        }
+
         ItemStack stack = slot.getStack();
         if (stack.isEmpty()) return;
 
-        // Let the highlighter render the highlight for this slot
-        ItemSlotHighlighter.getInstance().renderSlotHighlight(context, slot);
-
         // Track the slot being drawn if it matches the focused slot
         // This captures the data BEFORE any other mod can modify it
         if (this.focusedSlot != null && this.focusedSlot == slot) {
-            lastHoveredSlot = slot;
-            lastHoveredStack = stack.copy(); // Copy to preserve the data
-
-            String itemName = stack.getName().getString();
+            captureHovered(slot, stack);
             if (DEBUG) {
-                System.out.println("[Mixin] Captured hover in drawSlot: " + itemName);
+                System.out.println("[Mixin] Captured hover in drawSlot: " + stack.getName().getString());
             }
 
-            // Update InfoBox immediately while we have valid data
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            // Update InfoBox immediately while we have valid data (no-op unless the piece changed)
+            InfoBoxRenderer.getInstance().setHoveredItem(stack);
         }
     }
 
@@ -75,6 +88,7 @@ public abstract class HandledScreenMixin {
     )
     private void onRenderHead(DrawContext context, int mouseX, int mouseY, float delta, CallbackInfo ci) {
         HandledScreen<?> screen = (HandledScreen<?>) (Object) this;
+        highlightsPending = true;
 
         // Reset logging flag when screen changes
         if (lastScreen != screen) {
@@ -86,24 +100,23 @@ public abstract class HandledScreenMixin {
             lastScreen = screen;
             lastHoveredSlot = null;
             lastHoveredStack = ItemStack.EMPTY;
+            lastHoveredSource = null;
         }
 
         // Early capture of focusedSlot before any other mod can modify it
         if (this.focusedSlot != null && !this.focusedSlot.getStack().isEmpty()) {
             ItemStack stack = this.focusedSlot.getStack();
-            String itemName = stack.getName().getString();
 
             if (DEBUG) {
                 System.out.println("[Mixin] Early capture in render HEAD:");
                 System.out.println("[Mixin]   Slot #" + this.focusedSlot.id);
-                System.out.println("[Mixin]   Item: " + itemName);
+                System.out.println("[Mixin]   Item: " + stack.getName().getString());
             }
 
-            lastHoveredSlot = this.focusedSlot;
-            lastHoveredStack = stack.copy();
+            captureHovered(this.focusedSlot, stack);
 
             // Update InfoBox with early captured data
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            InfoBoxRenderer.getInstance().setHoveredItem(stack);
         } else if (this.focusedSlot == null) {
             // Only clear if we truly have no focused slot
             if (lastHoveredSlot != null) {
@@ -112,6 +125,7 @@ public abstract class HandledScreenMixin {
                 }
                 lastHoveredSlot = null;
                 lastHoveredStack = ItemStack.EMPTY;
+                lastHoveredSource = null;
             }
             InfoBoxRenderer.getInstance().clearHoveredItem();
         }
@@ -128,15 +142,13 @@ public abstract class HandledScreenMixin {
     private void onRenderTail(DrawContext context, int mouseX, int mouseY, float delta, CallbackInfo ci) {
         // If focusedSlot exists and is still valid, re-update with current data
         if (this.focusedSlot != null && !this.focusedSlot.getStack().isEmpty()) {
-            ItemStack stack = this.focusedSlot.getStack();
-            String itemName = stack.getName().getString();
-            InfoBoxRenderer.getInstance().setHoveredItem(stack, itemName);
+            InfoBoxRenderer.getInstance().setHoveredItem(this.focusedSlot.getStack());
         } else if (lastHoveredSlot != null && !lastHoveredStack.isEmpty()) {
             // Use cached data if focusedSlot was cleared but we still have valid cached data
             if (DEBUG) {
                 System.out.println("[Mixin] Using cached hover data in TAIL");
             }
-            InfoBoxRenderer.getInstance().setHoveredItem(lastHoveredStack, lastHoveredStack.getName().getString());
+            InfoBoxRenderer.getInstance().setHoveredItem(lastHoveredStack);
         }
     }
 
@@ -155,11 +167,21 @@ public abstract class HandledScreenMixin {
 
             // Only update if changed to reduce overhead
             if (lastHoveredSlot != this.focusedSlot) {
-                lastHoveredSlot = this.focusedSlot;
-                lastHoveredStack = stack.copy();
-                InfoBoxRenderer.getInstance().setHoveredItem(stack, stack.getName().getString());
+                captureHovered(this.focusedSlot, stack);
+                InfoBoxRenderer.getInstance().setHoveredItem(stack);
             }
         }
     }
-}
 
+    /**
+     * Remember the hovered slot, copying the stack only when the slot holds a new instance
+     */
+    @Unique
+    private static void captureHovered(Slot slot, ItemStack stack) {
+        lastHoveredSlot = slot;
+        if (stack != lastHoveredSource) {
+            lastHoveredSource = stack;
+            lastHoveredStack = stack.copy(); // Copy to preserve the data
+        }
+    }
+}
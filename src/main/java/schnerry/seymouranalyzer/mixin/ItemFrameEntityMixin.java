@@ -0,0 +1,33 @@
+package schnerry.seymouranalyzer.mixin;
+
+import net.minecraft.entity.data.TrackedData;
+import net.minecraft.entity.decoration.ItemFrameEntity;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import schnerry.seymouranalyzer.scanner.ItemFrameTracker;
+
+/**
+ * Mixin to notify the item frame tracker when a frame's held stack is synced from the server
+ */
+@Mixin(ItemFrameEntity.class)
+public abstract class ItemFrameEntityMixin {
+
+    @Shadow
+    @Final
+    private static TrackedData<ItemStack> ITEM_STACK;
+
+    @Inject(
+        method = "onTrackedDataSet",
+        at = @At("TAIL")
+    )
+    private void onTrackedDataSet(TrackedData<?> data, CallbackInfo ci) {
+        if (ITEM_STACK.equals(data)) {
+            ItemFrameTracker.getInstance().onHeldStackChanged((ItemFrameEntity) (Object) this);
+        }
+    }
+}
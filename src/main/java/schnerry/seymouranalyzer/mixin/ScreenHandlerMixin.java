@@ -0,0 +1,59 @@
+package schnerry.seymouranalyzer.mixin;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import schnerry.seymouranalyzer.SeymouranalyzerClient;
+import schnerry.seymouranalyzer.render.ItemSlotHighlighter;
+import schnerry.seymouranalyzer.scanner.ChestScanner;
+
+import java.util.List;
+
+/**
+ * Mixin to forward server slot updates to the chest scanner and slot highlighter
+ * Lets them re-examine only the slots that changed instead of polling the whole container
+ */
+@Mixin(ScreenHandler.class)
+public abstract class ScreenHandlerMixin {
+
+    /**
+     * Single slot update (ScreenHandlerSlotUpdateS2CPacket)
+     */
+    @Inject(
+        method = "setStackInSlot",
+        at = @At("TAIL")
+    )
+    private void onSetStackInSlot(int slot, int revision, ItemStack stack, CallbackInfo ci) {
+        // The integrated server shares these classes - only react to the client's own handlers
+        if (!MinecraftClient.getInstance().isOnThread()) return;
+
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ChestScanner scanner = SeymouranalyzerClient.getScanner();
+        if (scanner != null) {
+            scanner.onSlotUpdate(handler, slot);
+        }
+        ItemSlotHighlighter.getInstance().onSlotUpdate(handler, slot);
+    }
+
+    /**
+     * Full contents update (InventoryS2CPacket)
+     */
+    @Inject(
+        method = "updateSlotStacks",
+        at = @At("TAIL")
+    )
+    private void onUpdateSlotStacks(int revision, List<ItemStack> stacks, ItemStack cursorStack, CallbackInfo ci) {
+        if (!MinecraftClient.getInstance().isOnThread()) return;
+
+        ScreenHandler handler = (ScreenHandler) (Object) this;
+        ChestScanner scanner = SeymouranalyzerClient.getScanner();
+        if (scanner != null) {
+            scanner.onContentsUpdate(handler);
+        }
+        ItemSlotHighlighter.getInstance().onContentsUpdate(handler);
+    }
+}
@@ -7,6 +7,7 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import org.joml.Matrix4f;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -72,6 +73,13 @@ public class BlockHighlighter {
     public void renderHighlights(MatrixStack matrices, VertexConsumerProvider vertexConsumers, Vec3d cameraPos) {
         if (highlightedBlocks.isEmpty()) return;
 
+        long perfStart = PerfMonitor.start();
+        drawHighlights(matrices, vertexConsumers, cameraPos);
+        PerfMonitor.stop(PerfMonitor.BLOCK_HIGHLIGHTS, perfStart);
+    }
+
+    private void drawHighlights(MatrixStack matrices, VertexConsumerProvider vertexConsumers, Vec3d cameraPos) {
+
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.world == null) return;
 
@@ -9,6 +9,7 @@ import net.minecraft.item.tooltip.TooltipType;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 import schnerry.seymouranalyzer.scanner.ChestScanner;
 
 import java.util.List;
@@ -25,8 +26,11 @@ public class HexTooltipRenderer {
     private HexTooltipRenderer() {
         // Register tooltip callback
         // ItemTooltipCallback signature: getTooltip(ItemStack stack, TooltipContext context, TooltipType type, List<Text> lines)
-        ItemTooltipCallback.EVENT.register((stack, tooltipContext, tooltipType, lines) ->
-            onTooltip(stack, tooltipType, lines));
+        ItemTooltipCallback.EVENT.register((stack, tooltipContext, tooltipType, lines) -> {
+            long perfStart = PerfMonitor.start();
+            onTooltip(stack, tooltipType, lines);
+            PerfMonitor.stop(PerfMonitor.TOOLTIP, perfStart);
+        });
     }
 
     public static HexTooltipRenderer getInstance() {
@@ -73,7 +77,7 @@ public class HexTooltipRenderer {
         if (displayHex == null) return;
 
         String itemName = stack.getName().getString();
-        boolean isSeymourArmor = ChestScanner.isSeymourArmor(itemName);
+        boolean isSeymourArmor = ChestScanner.isSeymourArmor(stack);
 
         // Parse hex to RGB for coloring the text
         int rgb = hexToRgb(displayHex);
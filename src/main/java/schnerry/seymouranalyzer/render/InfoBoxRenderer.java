@@ -11,6 +11,7 @@ import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ChecklistCache;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 import schnerry.seymouranalyzer.scanner.ChestScanner;
 
 /**
@@ -28,6 +29,12 @@ public class InfoBoxRenderer {
     private static int dragOffsetX = 0;
     private static int dragOffsetY = 0;
     private static Object currentOpenGui = null; // Track which GUI is open
+    private static final ChestScanner SCANNER = new ChestScanner();
+
+    // Hover gating - analysis only reruns when the hovered piece (uuid + hex) or a data version changes
+    private static ItemStack gateStack = null;
+    private static long gateConfigVersion = -1;
+    private static long gateGeneration = -1;
 
     public static void resetPosition() {
         boxX = 50;
@@ -47,8 +54,11 @@ public class InfoBoxRenderer {
 
         // Register screen render callback to render AFTER screen elements
         ScreenEvents.AFTER_INIT.register((client, screen, scaledWidth, scaledHeight) ->
-            ScreenEvents.afterRender(screen).register((scr, context, mouseX, mouseY, delta) ->
-                render(context, delta, scr)));
+            ScreenEvents.afterRender(screen).register((scr, context, mouseX, mouseY, delta) -> {
+                long perfStart = PerfMonitor.start();
+                render(context, delta, scr);
+                PerfMonitor.stop(PerfMonitor.INFO_BOX, perfStart);
+            }));
     }
 
     public static InfoBoxRenderer getInstance() {
@@ -61,24 +71,47 @@ public class InfoBoxRenderer {
     /**
      * Called by mixin to set the currently hovered item directly
      * This avoids timing issues where the slot might be empty by the time we check it
+     * Called several times per frame - returns immediately unless the hovered stack instance changed,
+     * and only re-analyzes when the piece itself (uuid + hex) or the config/collection changed
      */
-    public void setHoveredItem(ItemStack stack, String itemName) {
-        if (DEBUG) {
-            System.out.println("[InfoBox] setHoveredItem() called");
-            System.out.println("[InfoBox]   Item: " + itemName);
-        }
+    public void setHoveredItem(ItemStack stack) {
+        if (stack == gateStack && isDataCurrent()) return;
 
-        // Store the stack for debugger access
-        lastHoveredStack = stack.copy();
+        if (stack != gateStack) {
+            gateStack = stack;
+            // Store the stack for debugger access
+            lastHoveredStack = stack.copy();
+        }
 
         // Check if it's a Seymour armor piece
-        if (ChestScanner.isSeymourArmor(itemName)) {
-            if (DEBUG) System.out.println("[InfoBox] Is Seymour armor, analyzing...");
-            setHoveredItemData(stack, itemName);
-        } else {
+        if (!ChestScanner.isSeymourArmor(stack)) {
             if (DEBUG) System.out.println("[InfoBox] Not Seymour armor, ignoring");
             // Don't clear data here - let it persist
+            return;
         }
+
+        String hex = SCANNER.extractHex(stack);
+        if (hex == null) return;
+        String uuid = SCANNER.getOrCreateItemUUID(stack);
+
+        // Same piece in a new stack instance (server resent the slot) - keep the current data
+        if (isDataCurrent() && hex.equals(hoveredItemData.itemHex) && java.util.Objects.equals(uuid, hoveredItemData.uuid)) {
+            return;
+        }
+
+        if (DEBUG) System.out.println("[InfoBox] Is Seymour armor, analyzing...");
+        setHoveredItemData(stack.getName().getString(), hex, uuid);
+        gateConfigVersion = ClothConfig.getInstance().getVersion();
+        gateGeneration = CollectionManager.getInstance().getGeneration();
+    }
+
+    /**
+     * Whether the shown data was computed against the current config and collection
+     */
+    private static boolean isDataCurrent() {
+        return hoveredItemData != null &&
+               gateConfigVersion == ClothConfig.getInstance().getVersion() &&
+               gateGeneration == CollectionManager.getInstance().getGeneration();
     }
 
     /**
@@ -96,6 +129,7 @@ public class InfoBoxRenderer {
     public static void forceCloseHoveredDataCache() {
         hoveredItemData = null;
         lastHoveredStack = null;
+        gateStack = null;
         if (DEBUG) System.out.println("[InfoBox] Forced clear of hovered item data cache");
     }
 
@@ -106,25 +140,28 @@ public class InfoBoxRenderer {
         return lastHoveredStack;
     }
 
-    private static class HoveredItemData {
-        String bestMatchName;
-        String bestMatchHex;
-        double deltaE;
-        int absoluteDist;
-        int tier;
-        boolean isFadeDye;
-        boolean isCustom;
-        String itemHex;
-        ColorAnalyzer.AnalysisResult analysisResult;
-        String wordMatch;
-        String specialPattern;
-        String uuid;
-        String itemName;
-        long timestamp;
-        int dupeCount;
-        boolean isOwned;
-        boolean isNeededForChecklist;
-        int matchTier; // Tier of the assigned match in checklist
+    /**
+     * Immutable analysis of one hovered piece - reused every frame until the piece or data changes
+     */
+    private static final class HoveredItemData {
+        final String bestMatchName;
+        final String bestMatchHex;
+        final double deltaE;
+        final int absoluteDist;
+        final int tier;
+        final boolean isFadeDye;
+        final boolean isCustom;
+        final String itemHex;
+        final ColorAnalyzer.AnalysisResult analysisResult;
+        final String wordMatch;
+        final String specialPattern;
+        final String uuid;
+        final String itemName;
+        final long timestamp;
+        final int dupeCount;
+        final boolean isOwned;
+        final boolean isNeededForChecklist;
+        final int matchTier; // Tier of the assigned match in checklist
 
         HoveredItemData(String bestMatchName, String bestMatchHex, double deltaE, int absoluteDist,
                        int tier, boolean isFadeDye, boolean isCustom, String itemHex,
@@ -188,13 +225,7 @@ public class InfoBoxRenderer {
         }
     }
 
-    private static void setHoveredItemData(ItemStack stack, String itemName) {
-        ChestScanner scanner = new ChestScanner();
-        String hex = scanner.extractHex(stack);
-        if (hex == null) return;
-
-        String uuid = scanner.getOrCreateItemUUID(stack);
-
+    private static void setHoveredItemData(String itemName, String hex, String uuid) {
         var analysis = ColorAnalyzer.getInstance().analyzeArmorColor(hex, itemName);
         if (analysis == null || analysis.bestMatch == null) return;
 
@@ -343,19 +374,16 @@ public class InfoBoxRenderer {
     }
 
     private static int checkDupeCount(String hex, String uuid) {
-        var collection = CollectionManager.getInstance().getCollection();
-        String hexUpper = hex.toUpperCase();
-        int dupeCount = 0;
+        // Exact-color lookup in the snapshot's LAB index instead of scanning the whole collection
+        var hits = CollectionManager.getInstance().getSnapshot().getLabIndex().exact(hex);
+        int dupeCount = hits.size();
         boolean isThisItemInCollection = false;
 
-        for (var entry : collection.entrySet()) {
-            if (entry.getValue().getHexcode().toUpperCase().equals(hexUpper)) {
-                dupeCount++;
-
-                // Check if the hovered item IS this collection piece
-                if (java.util.Objects.equals(uuid, entry.getKey())) {
-                    isThisItemInCollection = true;
-                }
+        for (var hit : hits) {
+            // Check if the hovered item IS this collection piece
+            if (java.util.Objects.equals(uuid, hit.uuid)) {
+                isThisItemInCollection = true;
+                break;
             }
         }
 
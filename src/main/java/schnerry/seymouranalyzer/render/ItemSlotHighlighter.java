@@ -1,20 +1,23 @@
 package schnerry.seymouranalyzer.render;
 
-import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
 import net.minecraft.client.gui.DrawContext;
-import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.slot.Slot;
 import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
 import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.config.ClothConfig;
-import schnerry.seymouranalyzer.data.ArmorPiece;
+import schnerry.seymouranalyzer.config.ConfigSnapshot;
 import schnerry.seymouranalyzer.data.CollectionManager;
 import schnerry.seymouranalyzer.scanner.ChestScanner;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 /**
  * Highlights armor pieces in inventory GUIs based on tier, custom colors, fade dyes, etc.
@@ -25,12 +28,35 @@ public class ItemSlotHighlighter {
     private final Set<String> searchHexes = new HashSet<>();
     private final ChestScanner scanner = new ChestScanner(); // Reuse scanner instance
 
-    // Cache analyzed item data to avoid re-processing every frame
-    // WeakHashMap allows garbage collection of ItemStack keys when no longer referenced
-    private final WeakHashMap<ItemStack, CachedItemData> itemCache = new WeakHashMap<>();
-
-    // Debug mode - set to true to log position info and show visual debug
-    private static final boolean DEBUG_POSITIONS = false;
+    // Level 1: highlight colors per (uuid, rgb) - survives the server resending new stack instances
+    // Only the dupe flag depends on the collection, so these are kept across collection changes
+    private final Map<HighlightKey, Highlight> highlightByPiece = new HashMap<>();
+
+    // Level 2: slot -> color for the open screen, valid while the slot holds the same stack instance
+    private ScreenHandler slotHandler = null;
+    private ItemStack[] slotStacks = new ItemStack[0];
+    private int[] slotColors = new int[0];
+    private boolean[] slotEnabled = new boolean[0]; // Slot.isEnabled() when the quads were built
+    private Highlight[] slotHighlights = new Highlight[0]; // null for slots without a Seymour piece
+    private String[] slotHexes = new String[0];
+    private String[] slotUuids = new String[0];
+    private int[] slotHexCounts = new int[0]; // Collection pieces with the slot's hex when its dupe flag was checked
+
+    // Precomputed highlight quads for the open screen, emitted together once per frame
+    private int[] quadX = new int[0];
+    private int[] quadY = new int[0];
+    private int[] quadColor = new int[0];
+    private int quadCount = 0;
+    private boolean quadsDirty = false;
+
+    // Inputs the cached colors depend on - any change invalidates both levels
+    private long localVersion = 0; // Bumped by search changes and explicit clears
+    private long cachedLocalVersion = -1;
+    private long cachedConfigVersion = -1;
+    // Collection generation the slot dupe flags were last checked at
+    private long cachedGeneration = -1;
+
+    private static final int NO_HIGHLIGHT = 0;
 
     // Priority order: Dupe > Search > Word > Pattern > Tier
     // Color definitions from old module
@@ -55,17 +81,40 @@ public class ItemSlotHighlighter {
     private static final int COLOR_NORMAL_T2 = 0x78FFA500;      // Orange (120 alpha)
 
     /**
-     * Cached data for an item to avoid re-analysis every frame
+     * Highlight of one piece without and with the dupe flag - the flag is resolved per slot
+     */
+    private static final class Highlight {
+        final int color;
+        final int dupeColor;
+
+        Highlight(int color, int dupeColor) {
+            this.color = color;
+            this.dupeColor = dupeColor;
+        }
+    }
+
+    /**
+     * Identity of a piece for highlight purposes - the same uuid and color always highlight the same
      */
-    private static class CachedItemData {
-        final String hex;
+    private static final class HighlightKey {
         final String uuid;
-        final Integer highlightColor;
+        final int rgb;
 
-        CachedItemData(String hex, String uuid, Integer highlightColor) {
-            this.hex = hex;
+        HighlightKey(String uuid, int rgb) {
             this.uuid = uuid;
-            this.highlightColor = highlightColor;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof HighlightKey other)) return false;
+            return rgb == other.rgb && Objects.equals(uuid, other.uuid);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(uuid) + rgb;
         }
     }
 
@@ -85,8 +134,8 @@ public class ItemSlotHighlighter {
      */
     public void addSearchHex(String hex) {
         searchHexes.add(hex.toUpperCase());
-        // Clear cache when search changes since highlight colors will change
-        itemCache.clear();
+        // Highlight colors depend on the search - recomputed on next render
+        localVersion++;
     }
 
     /**
@@ -94,8 +143,7 @@ public class ItemSlotHighlighter {
      */
     public void clearSearchHexes() {
         searchHexes.clear();
-        // Clear cache when search changes since highlight colors will change
-        itemCache.clear();
+        localVersion++;
     }
 
     /**
@@ -106,324 +154,205 @@ public class ItemSlotHighlighter {
     }
 
     /**
-     * Clear the item cache (used when priorities or config changes)
+     * Clear the highlight caches (used when priorities or config changes)
      */
     public void clearCache() {
-        itemCache.clear();
+        localVersion++;
     }
 
     /**
-     * Render highlight for a single slot (called by mixin)
-     * This method is called during slot rendering, so it's in the correct coordinate space
+     * Slot update hook (ScreenHandlerMixin) - forget the cached color of one slot
      */
-    public void renderSlotHighlight(DrawContext context, Slot slot) {
-        ClothConfig config = ClothConfig.getInstance();
-        if (!config.isHighlightsEnabled()) return;
-
-        ItemStack stack = slot.getStack();
-        if (stack.isEmpty()) return;
-
-        // Check if it's a Seymour armor piece (fast name check)
-        String itemName = stack.getName().getString();
-        if (!ChestScanner.isSeymourArmor(itemName)) return;
-
-        // Check cache first
-        CachedItemData cachedData = itemCache.get(stack);
-
-        if (cachedData == null) {
-            // Not in cache - analyze and cache it
-            String hex = scanner.extractHex(stack);
-            if (hex == null) return;
-
-            String uuid = scanner.getOrCreateItemUUID(stack);
-            Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
-
-            // Cache for next frame
-            cachedData = new CachedItemData(hex, uuid, highlightColor);
-            itemCache.put(stack, cachedData);
+    public void onSlotUpdate(ScreenHandler handler, int slot) {
+        if (handler == slotHandler && slot >= 0 && slot < slotStacks.length) {
+            slotStacks[slot] = null;
         }
+    }
 
-        // Use cached highlight color
-        if (cachedData.highlightColor != null) {
-            // Use slot.x and slot.y directly - we're already in the correct coordinate space
-            int slotX = slot.x;
-            int slotY = slot.y;
-
-            drawSlotHighlight(context, slotX, slotY, cachedData.highlightColor);
+    /**
+     * Full inventory update hook (ScreenHandlerMixin) - forget the cached colors of every slot
+     */
+    public void onContentsUpdate(ScreenHandler handler) {
+        if (handler == slotHandler) {
+            Arrays.fill(slotStacks, null);
         }
     }
 
     /**
-     * Render highlights in slot coordinate space
-     * This is called during beforeRenderForeground which already has the correct translation applied
+     * Render all slot highlights of a screen in one pass (called by mixin before the first slot is drawn)
+     * Runs in slot coordinate space, so slot.x / slot.y are used directly
+     * The quad list is only rebuilt when a slot's stack or a cache version changed
      */
-    private void renderHighlightsInSlotSpace(HandledScreen<?> screen, DrawContext context) {
+    public void renderSlotHighlights(DrawContext context, ScreenHandler handler) {
         ClothConfig config = ClothConfig.getInstance();
         if (!config.isHighlightsEnabled()) return;
 
-        try {
-            if (DEBUG_POSITIONS) {
-                System.out.println("=== DEBUG POSITIONS (Slot Space) ===");
-                System.out.println("Total slots: " + screen.getScreenHandler().slots.size());
-            }
+        validateCaches(handler);
 
-            int debugCount = 0;
-            // Iterate through all slots in the screen
-            for (Slot slot : screen.getScreenHandler().slots) {
-                ItemStack stack = slot.getStack();
-
-                // Debug first 3 slots regardless of content
-                if (DEBUG_POSITIONS && debugCount < 3) {
-                    System.out.println("\nSlot #" + slot.id + ":");
-                    System.out.println("  slot.x=" + slot.x + ", slot.y=" + slot.y);
-                    System.out.println("  (using slot position directly, no offset needed)");
-                    System.out.println("  has item: " + !stack.isEmpty());
-                    if (!stack.isEmpty()) {
-                        System.out.println("  item: " + stack.getName().getString());
-                    }
-                    debugCount++;
-                }
-
-                if (stack.isEmpty()) continue;
-
-                // Check if it's a Seymour armor piece (fast name check)
-                String itemName = stack.getName().getString();
-                if (!ChestScanner.isSeymourArmor(itemName)) continue;
+        long generation = CollectionManager.getInstance().getGeneration();
+        if (generation != cachedGeneration) {
+            refreshDupes();
+            cachedGeneration = generation;
+        }
 
-                // Check cache first - if we've already analyzed this ItemStack, use cached data
-                CachedItemData cachedData = itemCache.get(stack);
+        // Identity check per slot - catches client-side slot edits that bypass the update hooks
+        List<Slot> slots = handler.slots;
+        for (int i = 0; i < slotStacks.length; i++) {
+            Slot slot = slots.get(i);
+            ItemStack stack = slot.getStack();
+            if (slotStacks[i] != stack) {
+                slotColors[i] = computeColor(i, stack);
+                slotStacks[i] = stack;
+                quadsDirty = true;
+            }
+            // Vanilla skips drawing disabled slots, so they get no highlight either
+            boolean enabled = slot.isEnabled();
+            if (slotEnabled[i] != enabled) {
+                slotEnabled[i] = enabled;
+                quadsDirty = true;
+            }
+        }
 
-                if (cachedData == null) {
-                    // Not in cache - analyze and cache it
-                    String hex = scanner.extractHex(stack);
-                    if (hex == null) continue;
+        if (quadsDirty) {
+            rebuildQuads(slots);
+        }
 
-                    String uuid = scanner.getOrCreateItemUUID(stack);
-                    Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
+        for (int q = 0; q < quadCount; q++) {
+            drawSlotHighlight(context, quadX[q], quadY[q], quadColor[q]);
+        }
+    }
 
-                    // Cache for next frame
-                    cachedData = new CachedItemData(hex, uuid, highlightColor);
-                    itemCache.put(stack, cachedData);
-                }
+    private void rebuildQuads(List<Slot> slots) {
+        int count = 0;
+        for (int i = 0; i < slotColors.length; i++) {
+            if (slotColors[i] != NO_HIGHLIGHT && slotEnabled[i]) count++;
+        }
+        if (quadX.length < count) {
+            quadX = new int[count];
+            quadY = new int[count];
+            quadColor = new int[count];
+        }
 
-                // Use cached highlight color
-                if (cachedData.highlightColor != null) {
-                    // In slot coordinate space, we use slot.x and slot.y directly
-                    // No screen offset needed - the coordinate system is already transformed
-                    int slotX = slot.x;
-                    int slotY = slot.y;
-
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("\n*** HIGHLIGHTING SEYMOUR PIECE ***");
-                        System.out.println("Item: " + itemName);
-                        System.out.println("Slot #" + slot.id + " at x=" + slotX + ", y=" + slotY);
-                        System.out.println("Color: " + Integer.toHexString(cachedData.highlightColor));
-                    }
+        int q = 0;
+        for (int i = 0; i < slotColors.length; i++) {
+            if (slotColors[i] == NO_HIGHLIGHT || !slotEnabled[i]) continue;
+            Slot slot = slots.get(i);
+            quadX[q] = slot.x;
+            quadY[q] = slot.y;
+            quadColor[q] = slotColors[i];
+            q++;
+        }
+        quadCount = count;
+        quadsDirty = false;
+    }
 
-                    drawSlotHighlight(context, slotX, slotY, cachedData.highlightColor);
+    private void validateCaches(ScreenHandler handler) {
+        long configVersion = ClothConfig.getInstance().getVersion();
 
-                    // Draw debug markers
-                    if (DEBUG_POSITIONS) {
-                        // Draw a bright cyan border to show where we're drawing
-                        context.fill(slotX, slotY, slotX + 16, slotY + 1, 0xFF00FFFF); // Top
-                        context.fill(slotX, slotY + 15, slotX + 16, slotY + 16, 0xFF00FFFF); // Bottom
-                        context.fill(slotX, slotY, slotX + 1, slotY + 16, 0xFF00FFFF); // Left
-                        context.fill(slotX + 15, slotY, slotX + 16, slotY + 16, 0xFF00FFFF); // Right
-                    }
-                }
-            }
+        if (configVersion != cachedConfigVersion || localVersion != cachedLocalVersion) {
+            highlightByPiece.clear();
+            Arrays.fill(slotStacks, null);
+            cachedConfigVersion = configVersion;
+            cachedLocalVersion = localVersion;
+        }
 
-            if (DEBUG_POSITIONS) {
-                System.out.println("======================\n");
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.err.println("Error in renderHighlightsInSlotSpace: " + e.getMessage());
-                e.printStackTrace();
-            }
+        int slotCount = handler.slots.size();
+        if (handler != slotHandler || slotStacks.length != slotCount) {
+            slotHandler = handler;
+            slotStacks = new ItemStack[slotCount];
+            slotColors = new int[slotCount];
+            slotEnabled = new boolean[slotCount];
+            slotHighlights = new Highlight[slotCount];
+            slotHexes = new String[slotCount];
+            slotUuids = new String[slotCount];
+            slotHexCounts = new int[slotCount];
+            quadCount = 0;
         }
     }
 
     /**
-     * Old render method - kept for reference, can be removed later
+     * Collection changed - re-check the dupe flag of slots whose hex gained or lost pieces
+     * A slot's flag can only flip when the count of its hex moves, so other slots keep their color
      */
-    private void renderHighlights(HandledScreen<?> screen, DrawContext context, int mouseX, int mouseY, float delta) {
-        ClothConfig config = ClothConfig.getInstance();
-        if (!config.isHighlightsEnabled()) return;
-
-        try {
-            // Get screen position - try multiple field names for compatibility
-            int screenX = getScreenX(screen);
-            int screenY = getScreenY(screen);
-
-            if (DEBUG_POSITIONS) {
-                System.out.println("=== DEBUG POSITIONS ===");
-                System.out.println("Screen dimensions: " + screen.width + "x" + screen.height);
-                System.out.println("Calculated screen position: x=" + screenX + ", y=" + screenY);
-                System.out.println("Total slots: " + screen.getScreenHandler().slots.size());
+    private void refreshDupes() {
+        CollectionManager manager = CollectionManager.getInstance();
+        for (int i = 0; i < slotHighlights.length; i++) {
+            Highlight highlight = slotHighlights[i];
+            if (highlight == null || highlight.dupeColor == highlight.color) continue;
+            if (manager.getHexCount(slotHexes[i]) == slotHexCounts[i]) continue;
+
+            int color = resolveDupe(i);
+            if (color != slotColors[i]) {
+                slotColors[i] = color;
+                quadsDirty = true;
             }
+        }
+    }
 
-            int debugCount = 0;
-            // Iterate through all slots in the screen
-            for (Slot slot : screen.getScreenHandler().slots) {
-                ItemStack stack = slot.getStack();
-
-                // Debug first 3 slots regardless of content
-                if (DEBUG_POSITIONS && debugCount < 3) {
-                    System.out.println("\nSlot #" + slot.id + ":");
-                    System.out.println("  slot.x=" + slot.x + ", slot.y=" + slot.y);
-                    System.out.println("  calculated screen pos: " + (screenX + slot.x) + ", " + (screenY + slot.y));
-                    System.out.println("  has item: " + !stack.isEmpty());
-                    if (!stack.isEmpty()) {
-                        System.out.println("  item: " + stack.getName().getString());
-                    }
-                    debugCount++;
-                }
-
-                if (stack.isEmpty()) continue;
-
-                // Check if it's a Seymour armor piece (fast name check)
-                String itemName = stack.getName().getString();
-                if (!ChestScanner.isSeymourArmor(itemName)) continue;
-
-                // Check cache first - if we've already analyzed this ItemStack, use cached data
-                CachedItemData cachedData = itemCache.get(stack);
-
-                if (cachedData == null) {
-                    // Not in cache - analyze and cache it
-                    String hex = scanner.extractHex(stack);
-                    if (hex == null) continue;
-
-                    String uuid = scanner.getOrCreateItemUUID(stack);
-                    Integer highlightColor = getHighlightColor(stack, hex, itemName, uuid);
-
-                    // Cache for next frame
-                    cachedData = new CachedItemData(hex, uuid, highlightColor);
-                    itemCache.put(stack, cachedData);
-                }
-
-                // Use cached highlight color
-                if (cachedData.highlightColor != null) {
-                    // Use the slot's own x/y coordinates plus the screen offset
-                    int slotScreenX = screenX + slot.x;
-                    int slotScreenY = screenY + slot.y;
-
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("\n*** HIGHLIGHTING SEYMOUR PIECE ***");
-                        System.out.println("Item: " + itemName);
-                        System.out.println("Slot #" + slot.id + " at slot.x=" + slot.x + ", slot.y=" + slot.y);
-                        System.out.println("Final highlight position: " + slotScreenX + ", " + slotScreenY);
-                        System.out.println("Color: " + Integer.toHexString(cachedData.highlightColor));
-                    }
+    /**
+     * Level 1 lookup - highlight of a stack via its (uuid, rgb) key, then the slot's dupe flag
+     */
+    private int computeColor(int slot, ItemStack stack) {
+        slotHighlights[slot] = null;
+        if (stack.isEmpty() || !ChestScanner.isSeymourArmor(stack)) return NO_HIGHLIGHT;
 
-                    drawSlotHighlight(context, slotScreenX, slotScreenY, cachedData.highlightColor);
+        String hex = scanner.extractHex(stack);
+        if (hex == null) return NO_HIGHLIGHT;
 
-                    // Draw debug markers
-                    if (DEBUG_POSITIONS) {
-                        // Draw a bright cyan border to show where we're drawing
-                        context.fill(slotScreenX, slotScreenY, slotScreenX + 16, slotScreenY + 1, 0xFF00FFFF); // Top
-                        context.fill(slotScreenX, slotScreenY + 15, slotScreenX + 16, slotScreenY + 16, 0xFF00FFFF); // Bottom
-                        context.fill(slotScreenX, slotScreenY, slotScreenX + 1, slotScreenY + 16, 0xFF00FFFF); // Left
-                        context.fill(slotScreenX + 15, slotScreenY, slotScreenX + 16, slotScreenY + 16, 0xFF00FFFF); // Right
-                    }
-                }
-            }
+        String uuid = scanner.getOrCreateItemUUID(stack);
+        HighlightKey key = new HighlightKey(uuid, Integer.parseInt(hex, 16));
 
-            if (DEBUG_POSITIONS) {
-                System.out.println("======================\n");
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.err.println("Error in renderHighlights: " + e.getMessage());
-                e.printStackTrace();
-            }
+        Highlight highlight = highlightByPiece.get(key);
+        if (highlight == null) {
+            highlight = computeHighlight(hex, stack.getName().getString(), uuid);
+            highlightByPiece.put(key, highlight);
         }
+
+        slotHighlights[slot] = highlight;
+        slotHexes[slot] = hex;
+        slotUuids[slot] = uuid;
+        return resolveDupe(slot);
     }
 
     /**
-     * Get the screen X position using reflection, trying multiple field names
+     * Color of a slot's piece given whether its hex is currently a dupe in the collection
      */
-    private int getScreenX(HandledScreen<?> screen) {
-        try {
-            // Try common field names used in different mappings
-            String[] fieldNames = {"x", "field_2888", "backgroundLeft"};
-            for (String fieldName : fieldNames) {
-                try {
-                    var field = HandledScreen.class.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    int value = (int) field.get(screen);
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("Found screen X using field '" + fieldName + "': " + value);
-                    }
-                    return value;
-                } catch (NoSuchFieldException ignored) {
-                    // Try next field name
-                }
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.out.println("Exception getting screen X: " + e.getMessage());
-            }
+    private int resolveDupe(int slot) {
+        Highlight highlight = slotHighlights[slot];
+        if (highlight.dupeColor == highlight.color) {
+            return highlight.color; // Dupe flag can't change this piece's color
         }
 
-        // Fallback calculation
-        int fallback = (screen.width - 176) / 2;
-        if (DEBUG_POSITIONS) {
-            System.out.println("Using fallback screen X calculation: " + fallback);
-        }
-        return fallback;
+        CollectionManager manager = CollectionManager.getInstance();
+        slotHexCounts[slot] = manager.getHexCount(slotHexes[slot]);
+        return manager.isDuplicateHex(slotHexes[slot], slotUuids[slot]) ? highlight.dupeColor : highlight.color;
     }
 
     /**
-     * Get the screen Y position using reflection, trying multiple field names
+     * Highlight colors of a piece without and with the dupe flag
      */
-    private int getScreenY(HandledScreen<?> screen) {
-        try {
-            // Try common field names used in different mappings
-            String[] fieldNames = {"y", "field_2890", "backgroundTop"};
-            for (String fieldName : fieldNames) {
-                try {
-                    var field = HandledScreen.class.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    int value = (int) field.get(screen);
-                    if (DEBUG_POSITIONS) {
-                        System.out.println("Found screen Y using field '" + fieldName + "': " + value);
-                    }
-                    return value;
-                } catch (NoSuchFieldException ignored) {
-                    // Try next field name
-                }
-            }
-        } catch (Exception e) {
-            if (DEBUG_POSITIONS) {
-                System.out.println("Exception getting screen Y: " + e.getMessage());
-            }
-        }
+    private Highlight computeHighlight(String hex, String itemName, String uuid) {
+        ConfigSnapshot config = ClothConfig.getInstance().getSnapshot();
+        Map<schnerry.seymouranalyzer.config.MatchPriority, Integer> possibleMatches = getPossibleMatches(config, hex, itemName);
+        int color = resolvePriority(config, possibleMatches);
 
-        // Fallback calculation
-        int fallback = (screen.height - 166) / 2;
-        if (DEBUG_POSITIONS) {
-            System.out.println("Using fallback screen Y calculation: " + fallback);
+        int dupeColor = color;
+        if (config.isDupesEnabled() && uuid != null) {
+            possibleMatches.put(schnerry.seymouranalyzer.config.MatchPriority.DUPE, COLOR_DUPE);
+            dupeColor = resolvePriority(config, possibleMatches);
         }
-        return fallback;
+        return new Highlight(color, dupeColor);
     }
 
     /**
-     * Determine highlight color based on item properties using the priority system
-     * Returns null if no highlight should be drawn
+     * Every highlight that applies to a piece except dupe, keyed by priority
      */
-    private Integer getHighlightColor(ItemStack stack, String hex, String itemName, String uuid) {
-        ClothConfig config = ClothConfig.getInstance();
+    private Map<schnerry.seymouranalyzer.config.MatchPriority, Integer> getPossibleMatches(ConfigSnapshot config, String hex, String itemName) {
         String hexUpper = hex.toUpperCase();
 
         // Collect all possible matches with their priorities
         java.util.Map<schnerry.seymouranalyzer.config.MatchPriority, Integer> possibleMatches = new java.util.HashMap<>();
 
-        // Check dupe
-        if (config.isDupesEnabled() && uuid != null && isDuplicateHex(hex, uuid)) {
-            possibleMatches.put(schnerry.seymouranalyzer.config.MatchPriority.DUPE, COLOR_DUPE);
-        }
-
         // Check search match
         if (!searchHexes.isEmpty() && searchHexes.contains(hexUpper)) {
             possibleMatches.put(schnerry.seymouranalyzer.config.MatchPriority.SEARCH, COLOR_SEARCH);
@@ -476,9 +405,16 @@ public class ItemSlotHighlighter {
             }
         }
 
-        // If no matches, return null
+        return possibleMatches;
+    }
+
+    /**
+     * Determine highlight color from the possible matches using the priority system
+     * Returns NO_HIGHLIGHT if no highlight should be drawn
+     */
+    private int resolvePriority(ConfigSnapshot config, Map<schnerry.seymouranalyzer.config.MatchPriority, Integer> possibleMatches) {
         if (possibleMatches.isEmpty()) {
-            return null;
+            return NO_HIGHLIGHT;
         }
 
         // Find the highest priority match based on user's priority order
@@ -517,32 +453,6 @@ public class ItemSlotHighlighter {
         return 3;
     }
 
-    /**
-     * Check if a hex+uuid combination is a duplicate
-     * An item is a DUPE only if:
-     * - Another item in collection has the SAME hex
-     * - But has a DIFFERENT uuid (it's a different item)
-     */
-    private boolean isDuplicateHex(String hex, String uuid) {
-        var collection = CollectionManager.getInstance().getCollection();
-        String hexUpper = hex.toUpperCase();
-
-        for (var entry : collection.entrySet()) {
-            String entryUuid = entry.getKey();
-            ArmorPiece piece = entry.getValue();
-
-            // Check if hex matches
-            if (piece.getHexcode().toUpperCase().equals(hexUpper)) {
-                // Only mark as dupe if UUID is DIFFERENT (different item, same color)
-                if (!entryUuid.equals(uuid)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Draw a colored highlight overlay on a slot
      */
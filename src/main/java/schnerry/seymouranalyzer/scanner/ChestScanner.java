@@ -8,6 +8,7 @@ import net.minecraft.component.type.NbtComponent;
 import net.minecraft.entity.decoration.ItemFrameEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.slot.Slot;
 import net.minecraft.text.Text;
 import net.minecraft.util.hit.BlockHitResult;
@@ -16,12 +17,14 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import schnerry.seymouranalyzer.Seymouranalyzer;
 import schnerry.seymouranalyzer.analyzer.ColorAnalyzer;
-import schnerry.seymouranalyzer.analyzer.PatternDetector;
 import schnerry.seymouranalyzer.config.ClothConfig;
 import schnerry.seymouranalyzer.data.ArmorPiece;
 import schnerry.seymouranalyzer.data.CollectionManager;
+import schnerry.seymouranalyzer.debug.PerfMonitor;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Scans chests and item frames for Seymour armor pieces
@@ -34,7 +37,49 @@ public class ChestScanner {
     private long lastChestOpenTime = 0;
     private long lastItemFrameScanTime = 0;
     private static final long SCAN_DELAY_MS = 250;
-    private static final long ITEM_FRAME_SCAN_INTERVAL_MS = 5000;
+    private static final long ITEM_FRAME_SCAN_INTERVAL_MS = SCAN_DELAY_MS;
+
+    // Color analysis for scanned batches - results are committed back on the client thread
+    private static final ExecutorService SCAN_EXECUTOR = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), r -> {
+            Thread t = new Thread(r, "SeymourScanWorker");
+            t.setDaemon(true);
+            return t;
+        });
+
+    // All possible Seymour armor pieces
+    private static final String[] SEYMOUR_NAMES = {
+        "Velvet Top Hat", "Cashmere Jacket", "Satin Trousers", "Oxford Shoes"
+    };
+
+    // ItemStack identity -> Seymour check (ItemStack doesn't override equals/hashCode)
+    private static final Map<ItemStack, Boolean> SEYMOUR_STACK_CACHE = new WeakHashMap<>();
+
+    // Uuids submitted to a worker but not yet committed, so repeated ticks don't resubmit them
+    private final Set<String> pendingUuids = new HashSet<>();
+
+    // Open container tracking - slots are only re-examined after a slot update marks them dirty
+    private ScreenHandler trackedHandler = null;
+    private ArmorPiece.ChestLocation trackedChestLoc = null;
+    private int[] slotFingerprints = new int[0];
+    private final BitSet dirtySlots = new BitSet();
+
+    /**
+     * Immutable per-item data captured on the tick thread for off-thread analysis
+     */
+    private static final class ScanCandidate {
+        final String uuid;
+        final int rgb;
+        final String name;
+        final ArmorPiece.ChestLocation location;
+
+        ScanCandidate(String uuid, int rgb, String name, ArmorPiece.ChestLocation location) {
+            this.uuid = uuid;
+            this.rgb = rgb;
+            this.name = name;
+            this.location = location;
+        }
+    }
 
     public void startScan() {
         if (exportingEnabled) {
@@ -42,14 +87,16 @@ public class ChestScanner {
             return;
         }
         scanningEnabled = true;
+        resetContainerTracking();
+        ItemFrameTracker.getInstance().markAllPending();
     }
 
     public void stopScan() {
         scanningEnabled = false;
-        // Force save any pending changes when stopping scan
-        CollectionManager.getInstance().forceSync();
+        // Save any pending changes when stopping scan - written on the saver thread
+        CollectionManager.getInstance().requestSave();
         // Cache will automatically regenerate on next tick when collection size change is detected
-        Seymouranalyzer.LOGGER.info("Scanning stopped, collection saved");
+        Seymouranalyzer.LOGGER.info("Scanning stopped, collection save queued");
     }
 
     public boolean isScanningEnabled() {
@@ -63,6 +110,8 @@ public class ChestScanner {
         }
         exportCollection.clear();
         exportingEnabled = true;
+        resetContainerTracking();
+        ItemFrameTracker.getInstance().markAllPending();
     }
 
     public void stopExport() {
@@ -83,6 +132,13 @@ public class ChestScanner {
     public void tick(MinecraftClient client) {
         if (!scanningEnabled && !exportingEnabled) return;
 
+        long perfStart = PerfMonitor.start();
+        tickScan(client);
+        PerfMonitor.stop(PerfMonitor.SCANNER_TICK, perfStart);
+    }
+
+    private void tickScan(MinecraftClient client) {
+
         long now = System.currentTimeMillis();
 
         // Check for chest GUI opened
@@ -91,9 +147,11 @@ public class ChestScanner {
                 lastChestOpenTime = now;
                 scanChestContents(screen, client);
             }
+        } else if (trackedHandler != null) {
+            resetContainerTracking();
         }
 
-        // Check for item frame scanning (every 5 seconds)
+        // Check for item frames that loaded or changed (coalesced to the scan delay)
         if (ClothConfig.getInstance().isItemFramesEnabled() && now - lastItemFrameScanTime >= ITEM_FRAME_SCAN_INTERVAL_MS) {
             lastItemFrameScanTime = now;
             readItemFrames(client);
@@ -102,121 +160,83 @@ public class ChestScanner {
 
     /**
      * Scan chest contents - exact port from index.js scanChestContents()
+     * Only slots marked dirty by slot updates since the last pass are examined, and only if
+     * their stack identity actually changed; analysis runs on the scan workers
      */
     private void scanChestContents(GenericContainerScreen screen, MinecraftClient client) {
         if (!scanningEnabled && !exportingEnabled) return;
 
         try {
-            if (screen.getScreenHandler() == null) return;
-
-            ArmorPiece.ChestLocation chestLoc = getChestLocationFromLooking(client);
-            List<Slot> slots = screen.getScreenHandler().slots;
-            int scannedCount = 0;
-
-            for (Slot slot : slots) {
-                ItemStack stack = slot.getStack();
-                if (stack.isEmpty()) continue;
-
-                String itemName = stack.getName().getString();
-                if (!isSeymourArmor(itemName)) continue;
-
-                String uuid = extractUuidFromItem(stack);
-                if (uuid == null) continue;
-
-                // Check if already in collection/export
-                if (CollectionManager.getInstance().hasPiece(uuid) && !exportingEnabled) continue;
-                if (exportingEnabled && exportCollection.containsKey(uuid)) continue;
-
-                String itemHex = extractHexFromItem(stack);
-                if (itemHex == null) continue;
-
-                ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.getInstance().analyzeArmorColor(itemHex, itemName);
-                if (analysis == null) continue;
-
-                ColorAnalyzer.ColorMatch best = analysis.bestMatch;
-                int itemRgb = Integer.parseInt(itemHex, 16);
-                int targetRgb = Integer.parseInt(best.targetHex, 16);
-                int absoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((targetRgb >> 16) & 0xFF)) +
-                                  Math.abs(((itemRgb >> 8) & 0xFF) - ((targetRgb >> 8) & 0xFF)) +
-                                  Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
-
-                String wordMatch = PatternDetector.getInstance().detectWordMatch(itemHex);
-                String specialPattern = PatternDetector.getInstance().detectPattern(itemHex);
-
-                // Store top 3 matches
-                List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
-                for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
-                    ColorAnalyzer.ColorMatch match = analysis.top3Matches.get(m);
-                    int matchRgb = Integer.parseInt(match.targetHex, 16);
-                    int matchAbsoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((matchRgb >> 16) & 0xFF)) +
-                                           Math.abs(((itemRgb >> 8) & 0xFF) - ((matchRgb >> 8) & 0xFF)) +
-                                           Math.abs((itemRgb & 0xFF) - (matchRgb & 0xFF));
-
-                    top3Matches.add(new ArmorPiece.ColorMatch(
-                        match.name,
-                        match.targetHex,
-                        match.deltaE,
-                        matchAbsoluteDist,
-                        match.tier
-                    ));
-                }
+            ScreenHandler handler = screen.getScreenHandler();
+            if (handler == null) return;
+
+            List<Slot> slots = handler.slots;
+            if (handler != trackedHandler || slotFingerprints.length != slots.size()) {
+                // New container - fingerprints start unknown so every slot is examined once
+                trackedHandler = handler;
+                trackedChestLoc = getChestLocationFromLooking(client);
+                slotFingerprints = new int[slots.size()];
+                Arrays.fill(slotFingerprints, -1);
+                dirtySlots.set(0, slots.size());
+            }
 
-                // Create armor piece
-                ArmorPiece piece = new ArmorPiece();
-                piece.setPieceName(removeFormatting(itemName));
-                piece.setUuid(uuid);
-                piece.setHexcode(itemHex);
-                piece.setSpecialPattern(specialPattern);
-                piece.setBestMatch(new ArmorPiece.BestMatch(
-                    best.name,
-                    best.targetHex,
-                    best.deltaE,
-                    absoluteDist,
-                    analysis.tier
-                ));
-                piece.setAllMatches(top3Matches);
-                piece.setWordMatch(wordMatch);
-                piece.setChestLocation(chestLoc);
-                piece.setTimestamp(System.currentTimeMillis());
-
-                if (!exportingEnabled) {
-                    CollectionManager.getInstance().addPiece(piece);
-                } else {
-                    exportCollection.put(uuid, piece);
-                }
+            if (dirtySlots.isEmpty()) return;
 
-                scannedCount++;
-            }
+            List<ScanCandidate> candidates = new ArrayList<>();
+            for (int i = dirtySlots.nextSetBit(0); i >= 0 && i < slots.size(); i = dirtySlots.nextSetBit(i + 1)) {
+                ItemStack stack = slots.get(i).getStack();
+                int fingerprint = fingerprint(stack);
+                if (fingerprint == slotFingerprints[i]) continue;
+                slotFingerprints[i] = fingerprint;
 
-            if (scannedCount > 0 && !exportingEnabled) {
-                int total = CollectionManager.getInstance().size();
-                if (client.player != null) {
-                    client.player.sendMessage(
-                        Text.literal("§a[Seymour Analyzer] §7Scanned §e" + scannedCount +
-                            "§7 new piece" + (scannedCount == 1 ? "" : "s") +
-                            "! Total: §e" + total),
-                        false
-                    );
-                }
-            } else if (scannedCount > 0) {
-                // exportingEnabled is true here
-                if (client.player != null) {
-                    client.player.sendMessage(
-                        Text.literal("§a[Seymour Analyzer] §7Added §e" + scannedCount +
-                            "§7 piece" + (scannedCount == 1 ? "" : "s") +
-                            " to export collection! Total: §e" + exportCollection.size()),
-                        false
-                    );
-                }
+                ScanCandidate candidate = snapshotCandidate(stack, trackedChestLoc);
+                if (candidate != null) candidates.add(candidate);
             }
+            dirtySlots.clear();
 
+            submitBatch(candidates, "");
         } catch (Exception e) {
             Seymouranalyzer.LOGGER.error("Error scanning chest contents", e);
         }
     }
 
+    /**
+     * Cheap identity hash of a slot's contents - the client replaces the ItemStack instance
+     * whenever the server sends a slot change, so identity plus count is enough to detect edits
+     */
+    private static int fingerprint(ItemStack stack) {
+        if (stack.isEmpty()) return 0;
+        return (System.identityHashCode(stack) * 31 + stack.getCount()) & 0x7FFFFFFF;
+    }
+
+    /**
+     * Slot update hook (ScreenHandlerMixin) - marks one slot of the tracked container for rescanning
+     */
+    public void onSlotUpdate(ScreenHandler handler, int slot) {
+        if (handler == trackedHandler && slot >= 0) {
+            dirtySlots.set(slot);
+        }
+    }
+
+    /**
+     * Full inventory update hook (ScreenHandlerMixin) - marks every slot of the tracked container
+     */
+    public void onContentsUpdate(ScreenHandler handler) {
+        if (handler == trackedHandler) {
+            dirtySlots.set(0, handler.slots.size());
+        }
+    }
+
+    private void resetContainerTracking() {
+        trackedHandler = null;
+        trackedChestLoc = null;
+        slotFingerprints = new int[0];
+        dirtySlots.clear();
+    }
+
     /**
      * Read item frames - exact port from index.js readItemFrames()
+     * Only frames that loaded or changed their held stack since the last pass are examined
      */
     private void readItemFrames(MinecraftClient client) {
         if (!ClothConfig.getInstance().isItemFramesEnabled() || (!scanningEnabled && !exportingEnabled)) {
@@ -227,137 +247,139 @@ public class ChestScanner {
             World world = client.world;
             if (world == null) return;
 
-            List<ItemFrameEntity> itemFrames = new ArrayList<>();
-
-            // Create a bounding box around the player (64 block radius in all directions)
-            if (client.player != null) {
-                double x = client.player.getX();
-                double y = client.player.getY();
-                double z = client.player.getZ();
-                double radius = 64.0;
-
-                net.minecraft.util.math.Box searchBox = new net.minecraft.util.math.Box(
-                    x - radius, y - radius, z - radius,
-                    x + radius, y + radius, z + radius
-                );
-
-                // Use entity selector to find all item frame entities within the box
-                itemFrames.addAll(world.getEntitiesByClass(ItemFrameEntity.class, searchBox, frame -> true));
-            }
-
-            if (itemFrames.isEmpty()) return;
-
-            int pieceCount = 0;
+            ItemFrameTracker tracker = ItemFrameTracker.getInstance();
+            if (!tracker.hasPending()) return;
 
-            for (ItemFrameEntity frame : itemFrames) {
-                ItemStack stack = frame.getHeldItemStack();
+            List<ScanCandidate> candidates = new ArrayList<>();
 
-                if (stack.isEmpty()) continue;
-
-                ArmorPiece.ChestLocation chestLoc = new ArmorPiece.ChestLocation(
+            // Unload events drop frames from old worlds, so everything drained is in the current world
+            for (ItemFrameEntity frame : tracker.drainPending()) {
+                ArmorPiece.ChestLocation frameLoc = new ArmorPiece.ChestLocation(
                     (int) Math.floor(frame.getX()),
                     (int) Math.floor(frame.getY()),
                     (int) Math.floor(frame.getZ())
                 );
 
-                String itemName = stack.getName().getString();
+                ScanCandidate candidate = snapshotCandidate(frame.getHeldItemStack(), frameLoc);
+                if (candidate != null) candidates.add(candidate);
+            }
+
+            submitBatch(candidates, " from item frames");
+        } catch (Exception e) {
+            Seymouranalyzer.LOGGER.error("Error scanning item frames", e);
+        }
+    }
 
-                if (!isSeymourArmor(itemName)) continue;
+    /**
+     * Capture the immutable fields needed for analysis, or null if the stack should not be scanned
+     * Runs on the tick thread, so keep this to name checks and component reads
+     */
+    private ScanCandidate snapshotCandidate(ItemStack stack, ArmorPiece.ChestLocation location) {
+        if (stack.isEmpty()) return null;
 
-                String uuid = extractUuidFromItem(stack);
+        if (!isSeymourArmor(stack)) return null;
+        String itemName = stack.getName().getString();
 
-                if (uuid == null) continue;
+        String uuid = extractUuidFromItem(stack);
+        if (uuid == null) return null;
 
-                if (CollectionManager.getInstance().hasPiece(uuid) && !exportingEnabled) continue;
-                if (exportingEnabled && exportCollection.containsKey(uuid)) continue;
+        // Check if already in collection/export or waiting on a worker
+        if (CollectionManager.getInstance().hasPiece(uuid) && !exportingEnabled) return null;
+        if (exportingEnabled && exportCollection.containsKey(uuid)) return null;
+        if (pendingUuids.contains(uuid)) return null;
 
-                String itemHex = extractHexFromItem(stack);
+        String itemHex = extractHexFromItem(stack);
+        if (itemHex == null) return null;
 
-                if (itemHex == null) continue;
+        // Reserve the uuid now so a duplicate later in the same batch is skipped too
+        pendingUuids.add(uuid);
+        return new ScanCandidate(uuid, Integer.parseInt(itemHex, 16), itemName, location);
+    }
 
-                ColorAnalyzer.AnalysisResult analysis = ColorAnalyzer.getInstance().analyzeArmorColor(itemHex, itemName);
-                if (analysis == null) continue;
+    /**
+     * Hand a batch of candidates to the scan workers
+     * The built pieces are committed back on the client thread in one go
+     */
+    private void submitBatch(List<ScanCandidate> candidates, String sourceSuffix) {
+        if (candidates.isEmpty()) return;
+
+        boolean export = exportingEnabled;
+        SCAN_EXECUTOR.submit(() -> {
+            List<ArmorPiece> pieces = new ArrayList<>(candidates.size());
+            try {
+                long now = System.currentTimeMillis();
+                for (ScanCandidate candidate : candidates) {
+                    ArmorPiece piece = buildPiece(candidate, now);
+                    if (piece != null) pieces.add(piece);
+                }
+            } catch (Exception e) {
+                Seymouranalyzer.LOGGER.error("Error analyzing scanned pieces", e);
+            }
 
-                ColorAnalyzer.ColorMatch best = analysis.bestMatch;
-                int itemRgb = Integer.parseInt(itemHex, 16);
-                int targetRgb = Integer.parseInt(best.targetHex, 16);
-                int absoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((targetRgb >> 16) & 0xFF)) +
-                                  Math.abs(((itemRgb >> 8) & 0xFF) - ((targetRgb >> 8) & 0xFF)) +
-                                  Math.abs((itemRgb & 0xFF) - (targetRgb & 0xFF));
+            MinecraftClient.getInstance().execute(() -> commitBatch(candidates, pieces, export, sourceSuffix));
+        });
+    }
 
-                String wordMatch = PatternDetector.getInstance().detectWordMatch(itemHex);
-                String specialPattern = PatternDetector.getInstance().detectPattern(itemHex);
+    /**
+     * Analyze one candidate into an ArmorPiece - runs on a scan worker
+     */
+    private static ArmorPiece buildPiece(ScanCandidate candidate, long timestamp) {
+        ArmorPiece piece = ColorAnalyzer.getInstance().analyzePiece(candidate.uuid, candidate.name, candidate.rgb, timestamp);
+        if (piece == null) return null;
 
-                // Store top 3 matches
-                List<ArmorPiece.ColorMatch> top3Matches = new ArrayList<>();
-                for (int m = 0; m < 3 && m < analysis.top3Matches.size(); m++) {
-                    ColorAnalyzer.ColorMatch match = analysis.top3Matches.get(m);
-                    int matchRgb = Integer.parseInt(match.targetHex, 16);
-                    int matchAbsoluteDist = Math.abs(((itemRgb >> 16) & 0xFF) - ((matchRgb >> 16) & 0xFF)) +
-                                           Math.abs(((itemRgb >> 8) & 0xFF) - ((matchRgb >> 8) & 0xFF)) +
-                                           Math.abs((itemRgb & 0xFF) - (matchRgb & 0xFF));
+        piece.setPieceName(removeFormatting(candidate.name));
+        piece.setChestLocation(candidate.location);
+        return piece;
+    }
 
-                    top3Matches.add(new ArmorPiece.ColorMatch(
-                        match.name,
-                        match.targetHex,
-                        match.deltaE,
-                        matchAbsoluteDist,
-                        match.tier
-                    ));
-                }
+    /**
+     * Commit an analyzed batch - runs on the client thread
+     */
+    private void commitBatch(List<ScanCandidate> candidates, List<ArmorPiece> pieces, boolean export, String sourceSuffix) {
+        for (ScanCandidate candidate : candidates) {
+            pendingUuids.remove(candidate.uuid);
+        }
 
-                // Create armor piece
-                ArmorPiece piece = new ArmorPiece();
-                piece.setPieceName(removeFormatting(itemName));
-                piece.setUuid(uuid);
-                piece.setHexcode(itemHex);
-                piece.setSpecialPattern(specialPattern);
-                piece.setBestMatch(new ArmorPiece.BestMatch(
-                    best.name,
-                    best.targetHex,
-                    best.deltaE,
-                    absoluteDist,
-                    analysis.tier
-                ));
-                piece.setAllMatches(top3Matches);
-                piece.setWordMatch(wordMatch);
-                piece.setChestLocation(chestLoc);
-                piece.setTimestamp(System.currentTimeMillis());
-
-                if (scanningEnabled && !exportingEnabled) {
-                    CollectionManager.getInstance().addPiece(piece);
-                } else if (exportingEnabled) {
-                    exportCollection.put(uuid, piece);
-                }
+        MinecraftClient client = MinecraftClient.getInstance();
 
-                pieceCount++;
+        if (!export) {
+            // Another batch may have committed the same piece while this one was in flight
+            List<ArmorPiece> added = new ArrayList<>(pieces.size());
+            for (ArmorPiece piece : pieces) {
+                if (!CollectionManager.getInstance().hasPiece(piece.getUuid())) added.add(piece);
             }
+            if (added.isEmpty()) return;
 
+            CollectionManager.getInstance().addPieces(added);
 
-            if (pieceCount > 0 && !exportingEnabled) {
-                int total = CollectionManager.getInstance().size();
-                if (client.player != null) {
-                    client.player.sendMessage(
-                        Text.literal("§a[Seymour Analyzer] §7Scanned §e" + pieceCount +
-                            "§7 new piece" + (pieceCount == 1 ? "" : "s") +
-                            " from item frames! Total: §e" + total),
-                        false
-                    );
-                }
-            } else if (pieceCount > 0) {
-                // exportingEnabled is true here
-                if (client.player != null) {
-                    client.player.sendMessage(
-                        Text.literal("§a[Seymour Analyzer] §7Added §e" + pieceCount +
-                            "§7 piece" + (pieceCount == 1 ? "" : "s") +
-                            " from item frames to export collection! Total: §e" + exportCollection.size()),
-                        false
-                    );
-                }
+            int scannedCount = added.size();
+            int total = CollectionManager.getInstance().size();
+            if (client.player != null) {
+                client.player.sendMessage(
+                    Text.literal("§a[Seymour Analyzer] §7Scanned §e" + scannedCount +
+                        "§7 new piece" + (scannedCount == 1 ? "" : "s") +
+                        sourceSuffix + "! Total: §e" + total),
+                    false
+                );
             }
+        } else {
+            // Export was stopped (and copied) while this batch was being analyzed
+            if (!exportingEnabled) return;
 
-        } catch (Exception e) {
-            Seymouranalyzer.LOGGER.error("Error scanning item frames", e);
+            int scannedCount = 0;
+            for (ArmorPiece piece : pieces) {
+                if (exportCollection.putIfAbsent(piece.getUuid(), piece) == null) scannedCount++;
+            }
+            if (scannedCount == 0) return;
+
+            if (client.player != null) {
+                client.player.sendMessage(
+                    Text.literal("§a[Seymour Analyzer] §7Added §e" + scannedCount +
+                        "§7 piece" + (scannedCount == 1 ? "" : "s") + sourceSuffix +
+                        " to export collection! Total: §e" + exportCollection.size()),
+                    false
+                );
+            }
         }
     }
 
@@ -452,23 +474,78 @@ public class ChestScanner {
         return null;
     }
 
+    /**
+     * Check if a stack is Seymour armor
+     * Cached per ItemStack instance - slots keep the same instance until the server replaces it,
+     * so the per-frame highlight path only pays for a WeakHashMap lookup
+     */
+    public static boolean isSeymourArmor(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+
+        Boolean cached = SEYMOUR_STACK_CACHE.get(stack);
+        if (cached == null) {
+            cached = isSeymourArmor(stack.getName().getString());
+            SEYMOUR_STACK_CACHE.put(stack, cached);
+        }
+        return cached;
+    }
+
     /**
      * Check if item is Seymour armor (matches old module logic)
+     * Matches the names directly against the raw text, skipping formatting codes, without allocating
      */
     public static boolean isSeymourArmor(String itemName) {
-        String cleanName = removeFormatting(itemName);
-        // All possible Seymour armor pieces
-        return cleanName.contains("Velvet Top Hat") ||
-               cleanName.contains("Cashmere Jacket") ||
-               cleanName.contains("Satin Trousers") ||
-               cleanName.contains("Oxford Shoes");
+        for (String name : SEYMOUR_NAMES) {
+            if (containsIgnoringFormatting(itemName, name)) return true;
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoringFormatting(String text, String needle) {
+        int length = text.length();
+        int needleLength = needle.length();
+
+        for (int start = 0; start < length; start++) {
+            int i = start;
+            int j = 0;
+            while (j < needleLength && i < length) {
+                char c = text.charAt(i);
+                if (c == '§' && i + 1 < length && isFormattingCode(text.charAt(i + 1))) {
+                    i += 2;
+                    continue;
+                }
+                if (c != needle.charAt(j)) break;
+                i++;
+                j++;
+            }
+            if (j == needleLength) return true;
+        }
+        return false;
+    }
+
+    private static boolean isFormattingCode(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r';
     }
 
     /**
      * Remove formatting codes (§)
+     * Returns the input itself when it has no formatting codes
      */
     private static String removeFormatting(String text) {
-        return text.replaceAll("§[0-9a-fk-or]", "");
+        int first = text.indexOf('§');
+        if (first < 0) return text;
+
+        StringBuilder result = new StringBuilder(text.length());
+        result.append(text, 0, first);
+        for (int i = first; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '§' && i + 1 < text.length() && isFormattingCode(text.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            result.append(c);
+        }
+        return result.toString();
     }
 }
 
@@ -0,0 +1,131 @@
+package schnerry.seymouranalyzer.scanner;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.decoration.ItemFrameEntity;
+import net.minecraft.item.ItemStack;
+
+import java.util.*;
+
+/**
+ * Tracks loaded item frames via entity load/unload events instead of polling the world
+ * Frames are registered per chunk; a frame only becomes pending for the scanner when it loads
+ * or its held stack changes, so idle display halls cost nothing between changes
+ *
+ * All methods run on the client thread
+ */
+public class ItemFrameTracker {
+    private static ItemFrameTracker instance;
+
+    // Chunk (ChunkPos.toLong) -> frames loaded in that chunk
+    private final Map<Long, Set<ItemFrameEntity>> framesByChunk = new HashMap<>();
+    // Chunk -> frames last seen holding Seymour armor
+    private final Map<Long, Set<ItemFrameEntity>> seymourFramesByChunk = new HashMap<>();
+    // Frames loaded or changed since the scanner last drained them
+    private final Set<ItemFrameEntity> pendingFrames = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ItemFrameTracker() {
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof ItemFrameEntity frame) {
+                onFrameLoad(frame);
+            }
+        });
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof ItemFrameEntity frame) {
+                onFrameUnload(frame);
+            }
+        });
+    }
+
+    public static ItemFrameTracker getInstance() {
+        if (instance == null) {
+            instance = new ItemFrameTracker();
+        }
+        return instance;
+    }
+
+    private void onFrameLoad(ItemFrameEntity frame) {
+        framesByChunk.computeIfAbsent(frame.getChunkPos().toLong(), k -> new HashSet<>()).add(frame);
+        pendingFrames.add(frame);
+    }
+
+    private void onFrameUnload(ItemFrameEntity frame) {
+        long chunk = frame.getChunkPos().toLong();
+        removeFrom(framesByChunk, chunk, frame);
+        removeFrom(seymourFramesByChunk, chunk, frame);
+        pendingFrames.remove(frame);
+    }
+
+    private static void removeFrom(Map<Long, Set<ItemFrameEntity>> registry, long chunk, ItemFrameEntity frame) {
+        Set<ItemFrameEntity> frames = registry.get(chunk);
+        if (frames != null && frames.remove(frame) && frames.isEmpty()) {
+            registry.remove(chunk);
+        }
+    }
+
+    /**
+     * Held stack changed (ItemFrameEntityMixin) - queue the frame if it belongs to the client world
+     */
+    public void onHeldStackChanged(ItemFrameEntity frame) {
+        if (!MinecraftClient.getInstance().isOnThread()) return;
+
+        Set<ItemFrameEntity> frames = framesByChunk.get(frame.getChunkPos().toLong());
+        if (frames != null && frames.contains(frame)) {
+            pendingFrames.add(frame);
+        }
+    }
+
+    /**
+     * Re-queue every loaded frame, e.g. when scanning starts or item frame scanning is enabled
+     */
+    public void markAllPending() {
+        framesByChunk.values().forEach(pendingFrames::addAll);
+    }
+
+    public boolean hasPending() {
+        return !pendingFrames.isEmpty();
+    }
+
+    /**
+     * Take the frames queued since the last call
+     * Frames are re-filed in the Seymour registry based on what they hold now
+     */
+    public List<ItemFrameEntity> drainPending() {
+        if (pendingFrames.isEmpty()) return Collections.emptyList();
+
+        List<ItemFrameEntity> drained = new ArrayList<>(pendingFrames.size());
+        for (ItemFrameEntity frame : pendingFrames) {
+            if (frame.isRemoved()) continue;
+
+            long chunk = frame.getChunkPos().toLong();
+            ItemStack stack = frame.getHeldItemStack();
+            if (ChestScanner.isSeymourArmor(stack)) {
+                seymourFramesByChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(frame);
+                drained.add(frame);
+            } else {
+                removeFrom(seymourFramesByChunk, chunk, frame);
+            }
+        }
+        pendingFrames.clear();
+        return drained;
+    }
+
+    /**
+     * Number of loaded frames currently holding Seymour armor
+     */
+    public int getSeymourFrameCount() {
+        int count = 0;
+        for (Set<ItemFrameEntity> frames : seymourFramesByChunk.values()) {
+            count += frames.size();
+        }
+        return count;
+    }
+
+    public int getTrackedFrameCount() {
+        int count = 0;
+        for (Set<ItemFrameEntity> frames : framesByChunk.values()) {
+            count += frames.size();
+        }
+        return count;
+    }
+}